@@ -0,0 +1,64 @@
+// Package: puts the benchmarks in their own "benchmarks" folder
+package com.ma.movie_tracker_app.benchmarks;
+
+// JMH annotations
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+// Jackson, configured the way Spring Boot configures it
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.UserMovieListDTO;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// AddListMappingBenchmark: the non-database work of POST /api/user/movielist/{type}/add.
+//
+//   readDto      → request body bytes → UserMovieListDTO (what @RequestBody does)
+//   dtoToEntity  → UserMovieListDTO → Movies (the row inserted for a title we don't know yet)
+//   addRequest   → all of it: read the body, build the entity, write the {"message": ...} response
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AddListMappingBenchmark {
+
+    private ObjectMapper json;
+    private ObjectReader dtoReader;
+    private byte[] body;
+    private UserMovieListDTO dto;
+
+    @Setup
+    public void setUp() throws Exception {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        dtoReader = json.readerFor(UserMovieListDTO.class);
+        dto = Fixtures.dto("bench-user", 42, "watchlist");
+        body = json.writeValueAsBytes(dto);
+    }
+
+    @Benchmark
+    public UserMovieListDTO readDto() throws Exception {
+        return dtoReader.readValue(body);
+    }
+
+    @Benchmark
+    public Movies dtoToEntity() {
+        return dto.toMovie();
+    }
+
+    @Benchmark
+    public byte[] addRequest(Blackhole blackhole) throws Exception {
+        UserMovieListDTO request = dtoReader.readValue(body);
+        blackhole.consume(request.toMovie());
+        Map<String, String> response = new HashMap<>();
+        response.put("message", "Has been added to " + request.type());
+        return json.writeValueAsBytes(response);
+    }
+}
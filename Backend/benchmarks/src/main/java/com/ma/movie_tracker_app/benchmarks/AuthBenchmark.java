@@ -0,0 +1,110 @@
+// Package: puts the benchmarks in their own "benchmarks" folder
+package com.ma.movie_tracker_app.benchmarks;
+
+// JMH annotations
+import org.openjdk.jmh.annotations.*;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import com.ma.movie_tracker_app.controller.AuthenticationController;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.service.RateLimiter;
+import com.ma.movie_tracker_app.service.SessionTokens;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+
+import java.util.Base64;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// AuthBenchmark: the authentication path, in stateless token mode.
+//
+//   login              → POST /api/user/login through the controller: user lookup, bcrypt check,
+//                        token issue ("strength" is the bcrypt cost factor)
+//   loginWrongPassword → the same with a bad password (what a credential-stuffing burst costs)
+//   verifyToken        → HMAC check of a session token
+//   resolveFromToken   → what every list request does to find its user id
+//   rateLimit          → one token-bucket check, spread over 1024 client keys
+//
+// login and loginWrongPassword run on the bounded hashing pool, like in production.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthBenchmark {
+
+    @Param({"4", "10"})
+    public int strength;
+
+    private ConfigurableApplicationContext context;
+    private AuthenticationController auth;
+    private SessionTokens tokens;
+    private UserIdResolver userIds;
+    private RateLimiter limiter;
+
+    private User credentials;
+    private User wrongCredentials;
+    private String token;
+    private int client;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String key = Base64.getEncoder().encodeToString("benchmark-signing-key-0123456789".getBytes());
+        context = BenchmarkApp.start(Map.of(
+                "auth.mode", "token",
+                "auth.tokens.keys", "bench:" + key,
+                "auth.bcrypt.strength", String.valueOf(strength)));
+        auth = context.getBean(AuthenticationController.class);
+        tokens = context.getBean(SessionTokens.class);
+        userIds = context.getBean(UserIdResolver.class);
+        limiter = new RateLimiter(60, 5, 100_000);
+
+        credentials = user("bench-user", "correct horse battery staple");
+        wrongCredentials = user("bench-user", "wrong password");
+        ResponseEntity<Map<String, String>> registered = auth.register(
+                user("bench-user", "correct horse battery staple"), new MockHttpServletRequest());
+        token = registered.getBody().get("token");
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> login() {
+        return auth.login(credentials, new MockHttpServletRequest());
+    }
+
+    @Benchmark
+    public ResponseEntity<Map<String, String>> loginWrongPassword() {
+        return auth.login(wrongCredentials, new MockHttpServletRequest());
+    }
+
+    @Benchmark
+    public SessionTokens.TokenUser verifyToken() {
+        return tokens.verify(token);
+    }
+
+    @Benchmark
+    public Long resolveFromToken() {
+        MockHttpServletRequest request = new MockHttpServletRequest();
+        request.addHeader("Authorization", "Bearer " + token);
+        return userIds.resolve("bench-user", request);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision rateLimit() {
+        return limiter.tryAcquire("10.0.0." + (client++ & 1023));
+    }
+
+    private static User user(String username, String password) {
+        User user = new User();
+        user.setUsername(username);
+        user.setPassword(password);
+        return user;
+    }
+}
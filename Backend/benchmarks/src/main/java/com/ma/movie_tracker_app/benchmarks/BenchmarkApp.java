@@ -0,0 +1,47 @@
+// Package: puts the benchmarks in their own "benchmarks" folder
+package com.ma.movie_tracker_app.benchmarks;
+
+// Spring Boot bootstrapping
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ma.movie_tracker_app.MediaApp;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.UUID;
+
+// BenchmarkApp starts the real application context (all services and repositories) against an
+// in-memory H2 database in PostgreSQL mode, without a web server.
+// The app's application.properties is not on the benchmark classpath, so every setting it needs is
+// given here (same JDBC batching and id settings as production).
+final class BenchmarkApp {
+
+    private BenchmarkApp() {}
+
+    static ConfigurableApplicationContext start(Map<String, Object> extraProperties) {
+        Map<String, Object> properties = new HashMap<>();
+        // Fresh database per context, so benchmarks don't see each other's rows
+        properties.put("spring.datasource.url", "jdbc:h2:mem:bench-" + UUID.randomUUID()
+                + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.database-platform", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create-drop");
+        properties.put("spring.jpa.show-sql", "false");
+        properties.put("spring.jpa.open-in-view", "false");
+        properties.put("spring.jpa.properties.hibernate.jdbc.batch_size", "50");
+        properties.put("spring.jpa.properties.hibernate.order_inserts", "true");
+        properties.put("spring.jpa.properties.hibernate.order_updates", "true");
+        properties.put("spring.jpa.properties.hibernate.id.optimizer.pooled.preferred", "pooled");
+        properties.put("logging.level.root", "WARN");
+        properties.put("spring.main.banner-mode", "off");
+        properties.putAll(extraProperties);
+
+        SpringApplication app = new SpringApplication(MediaApp.class);
+        app.setWebApplicationType(WebApplicationType.NONE);
+        app.setDefaultProperties(properties);
+        return app.run();
+    }
+}
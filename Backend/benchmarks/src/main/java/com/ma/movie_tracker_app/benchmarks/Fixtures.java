@@ -0,0 +1,24 @@
+// Package: puts the benchmarks in their own "benchmarks" folder
+package com.ma.movie_tracker_app.benchmarks;
+
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.UserMovieListDTO;
+
+// Fixtures builds realistic-looking rows (TMDB-like titles, genres and poster paths) for the benchmarks
+final class Fixtures {
+
+    private static final String[] GENRES = {"Action, Adventure", "Drama", "Comedy, Romance", "Science Fiction", "Horror, Thriller"};
+
+    private Fixtures() {}
+
+    static Movies movie(int i) {
+        return dto("bench-user", i, "watchlist").toMovie();
+    }
+
+    static UserMovieListDTO dto(String username, int i, String type) {
+        return new UserMovieListDTO(username, 100_000L + i, type, "Benchmark Movie " + i,
+                "A long enough overview of benchmark movie " + i + ", roughly the length TMDB returns for most titles.",
+                1980 + i % 45, GENRES[i % GENRES.length], "Director " + (i % 97),
+                "https://image.tmdb.org/t/p/w500/poster" + i + ".jpg");
+    }
+}
@@ -0,0 +1,145 @@
+// Package: puts the benchmarks in their own "benchmarks" folder
+package com.ma.movie_tracker_app.benchmarks;
+
+// JMH annotations
+import org.openjdk.jmh.annotations.*;
+
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ma.movie_tracker_app.model.*;
+import com.ma.movie_tracker_app.service.CatalogService;
+import com.ma.movie_tracker_app.service.UserListBulkService;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+// RepositoryBenchmark: the queries behind the list endpoints, through the real repositories and an
+// embedded H2 database (PostgreSQL mode). Absolute numbers differ from PostgreSQL over the network;
+// use them to compare releases, not to predict production latency.
+//
+//   readList       → GET /api/user/movielist/{type} (one join query, projection)
+//   readLibrary    → GET /api/user/library (all lists in one query)
+//   resolveUser    → username → id lookup (when the id isn't in the session or cache)
+//   findMovie      → catalog lookup by TMDB id for an add of a known title
+//   addThenRemove  → one add + one remove round trip (INSERT ... ON CONFLICT, DELETE)
+//   addOneByOne    → BATCH_SIZE titles added then removed through the per-item /add and /remove path
+//   addInBulk      → the same titles added then removed through /bulk (two transactions in total)
+//
+// "listSize" is the number of movies in the user's watchlist (favourites/watched get half each).
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositoryBenchmark {
+
+    @Param({"50", "500"})
+    public int listSize;
+
+    // Titles per addOneByOne / addInBulk invocation
+    private static final int BATCH_SIZE = 50;
+
+    private ConfigurableApplicationContext context;
+    private UserMovieListRepository listRepo;
+    private UserRepository userRepo;
+    private CatalogService catalogService;
+    private UserListBulkService bulkService;
+
+    private Long userId;
+    private Long spareMovieId;
+    private long spareTmdbId;
+    private UserMovieListDTO knownMovie;
+    private List<UserMovieListDTO> batch;
+    private List<Long> batchTmdbIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApp.start(Map.of());
+        listRepo = context.getBean(UserMovieListRepository.class);
+        userRepo = context.getBean(UserRepository.class);
+        catalogService = context.getBean(CatalogService.class);
+        bulkService = context.getBean(UserListBulkService.class);
+
+        User user = new User();
+        user.setUsername("bench-user");
+        user.setPassword("unused");
+        userId = userRepo.save(user).getId();
+
+        // Fill the lists with the same batched path the import uses
+        List<UserMovieListDTO> watchlist = new ArrayList<>();
+        for (int i = 0; i < listSize; i++) {
+            watchlist.add(Fixtures.dto("bench-user", i, "watchlist"));
+        }
+        bulkService.applyMovieChanges(userId, "watchlist", watchlist, List.of());
+        bulkService.applyMovieChanges(userId, "favourites", watchlist.subList(0, listSize / 2), List.of());
+        bulkService.applyMovieChanges(userId, "watched", watchlist.subList(listSize / 2, listSize), List.of());
+
+        // A movie that exists in the catalog but in none of the lists (for add/remove)
+        UserMovieListDTO spare = Fixtures.dto("bench-user", listSize + 1, "none");
+        spareTmdbId = spare.tmdbId();
+        spareMovieId = catalogService.findOrCreateMovie(spare).getId();
+        knownMovie = watchlist.get(0);
+
+        // Titles in the catalog but in none of the lists (for addOneByOne/addInBulk)
+        batch = new ArrayList<>();
+        for (int i = 0; i < BATCH_SIZE; i++) {
+            batch.add(Fixtures.dto("bench-user", listSize + 2 + i, "bench"));
+        }
+        batchTmdbIds = batch.stream().map(UserMovieListDTO::tmdbId).toList();
+        catalogService.findOrCreateMovies(batch, List.of());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<UserListItem> readList() {
+        return listRepo.findItemsByUserIdAndType(userId, "watchlist");
+    }
+
+    @Benchmark
+    public List<UserLibraryRow> readLibrary() {
+        return listRepo.findLibraryRowsByUserId(userId);
+    }
+
+    @Benchmark
+    public Long resolveUser() {
+        return userRepo.findIdByUsername("bench-user");
+    }
+
+    @Benchmark
+    public Movies findMovie() {
+        return catalogService.findOrCreateMovie(knownMovie);
+    }
+
+    @Benchmark
+    public int addThenRemove() {
+        return listRepo.insertIfAbsent(userId, spareMovieId, "bench")
+                + listRepo.deleteByUserIdAndTmdbIdAndType(userId, spareTmdbId, "bench");
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int addOneByOne() {
+        int changed = 0;
+        for (UserMovieListDTO dto : batch) {
+            changed += listRepo.insertIfAbsent(userId, catalogService.findOrCreateMovie(dto).getId(), "bench");
+        }
+        for (Long tmdbId : batchTmdbIds) {
+            changed += listRepo.deleteByUserIdAndTmdbIdAndType(userId, tmdbId, "bench");
+        }
+        return changed;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH_SIZE)
+    public int addInBulk() {
+        return bulkService.applyMovieChanges(userId, "bench", batch, List.of()).added()
+                + bulkService.applyMovieChanges(userId, "bench", List.of(), batchTmdbIds).removed();
+    }
+}
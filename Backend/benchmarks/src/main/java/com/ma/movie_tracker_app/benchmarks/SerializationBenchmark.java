@@ -0,0 +1,107 @@
+// Package: puts the benchmarks in their own "benchmarks" folder
+package com.ma.movie_tracker_app.benchmarks;
+
+// JMH annotations
+import org.openjdk.jmh.annotations.*;
+
+// Jackson, configured the way Spring Boot configures it
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.ma.movie_tracker_app.config.ContentNegotiationConfig;
+import com.ma.movie_tracker_app.model.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// SerializationBenchmark: turning list payloads into response bytes.
+//
+//   movies*      → a list of Movies entities as JSON, CBOR and Smile (catalog endpoints)
+//   entries*     → UserMovieList entities (entry + user + movie) as JSON, i.e. what returning the
+//                  entities directly would cost
+//   items*       → the UserListItem projection the list endpoints actually return, as JSON, CBOR and Smile
+//
+// "size" is the number of rows in the list.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private ObjectMapper json;
+    private ObjectMapper cbor;
+    private ObjectMapper smile;
+
+    private List<Movies> movies;
+    private List<UserMovieList> entries;
+    private List<UserListItem> items;
+
+    @Setup
+    public void setUp() {
+        json = Jackson2ObjectMapperBuilder.json().build();
+        cbor = ContentNegotiationConfig.cborMapper(Jackson2ObjectMapperBuilder.json());
+        smile = ContentNegotiationConfig.smileMapper(Jackson2ObjectMapperBuilder.json());
+
+        User user = new User();
+        user.setUsername("bench-user");
+        user.setPassword("$2a$10$abcdefghijklmnopqrstuuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ01");
+
+        movies = new ArrayList<>(size);
+        entries = new ArrayList<>(size);
+        items = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Movies movie = Fixtures.movie(i);
+            movies.add(movie);
+
+            UserMovieList entry = new UserMovieList();
+            entry.setUser(user);
+            entry.setMovie(movie);
+            entry.setType("watchlist");
+            entries.add(entry);
+
+            items.add(new UserListItem(movie.getTmdbId(), movie.getTitle(), movie.getReleaseYear(),
+                    movie.getGenre(), movie.getImageUrl()));
+        }
+    }
+
+    @Benchmark
+    public byte[] moviesJson() throws Exception {
+        return json.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] moviesCbor() throws Exception {
+        return cbor.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] moviesSmile() throws Exception {
+        return smile.writeValueAsBytes(movies);
+    }
+
+    @Benchmark
+    public byte[] entriesJson() throws Exception {
+        return json.writeValueAsBytes(entries);
+    }
+
+    @Benchmark
+    public byte[] itemsJson() throws Exception {
+        return json.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] itemsCbor() throws Exception {
+        return cbor.writeValueAsBytes(items);
+    }
+
+    @Benchmark
+    public byte[] itemsSmile() throws Exception {
+        return smile.writeValueAsBytes(items);
+    }
+}
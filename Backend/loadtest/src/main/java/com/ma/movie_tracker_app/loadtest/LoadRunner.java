@@ -0,0 +1,289 @@
+// Package: puts the load-test harness in its own "loadtest" folder
+package com.ma.movie_tracker_app.loadtest;
+
+// Latency recording
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// LoadRunner replays a realistic request mix against a running app (see LoadTest "run").
+//
+// Each of --concurrency simulated clients (one virtual thread each) logs in as a random seeded user,
+// keeps its session cookie or token, and then loops over operations picked by --mix:
+//
+//   login    POST /api/user/login (a fresh login; bcrypt on the server)
+//   library  GET  /api/user/library (what the list pages load)
+//   list     GET  /api/user/{movielist|showlist}/{type}
+//   toggle   POST .../watchlist/add or .../remove for a popular title (add if not added yet, else remove)
+//
+// Closed loop by default: a client sends its next request as soon as the last one finished.
+// With --rate R (requests per second, all clients together) requests are scheduled at fixed
+// intervals instead, and latency is measured from the scheduled time, so a stalled server shows up
+// as latency instead of silently lowering the request rate (no coordinated omission).
+//
+// Latencies go into one HdrHistogram per operation (microseconds, 3 significant digits). The first
+// --warmup seconds are not recorded.
+class LoadRunner {
+
+    static final String[] OPERATIONS = {"login", "library", "list", "toggle"};
+    private static final String[] TYPES = {"watchlist", "watched", "favourites"};
+
+    private final String baseUrl;
+    private final long users;
+    private final long titles;
+    private final int concurrency;
+    private final long durationNanos;
+    private final long warmupNanos;
+    private final double rate;
+    private final String out;
+    private final long seed;
+    private final int[] mix; // cumulative percentages, same order as OPERATIONS
+
+    // Per operation: latencies, successes, 429s and other failures
+    private final Map<String, Recorder> recorders = new LinkedHashMap<>();
+    private final Map<String, LongAdder> ok = new HashMap<>();
+    private final Map<String, LongAdder> limited = new HashMap<>();
+    private final Map<String, LongAdder> failed = new HashMap<>();
+    private final AtomicLong firstError = new AtomicLong();
+
+    private final HttpClient http;
+    private volatile boolean recording;
+
+    LoadRunner(LoadTest.Args args) {
+        this.baseUrl = args.get("base-url", "http://localhost:8080");
+        this.users = args.getLong("users", 10_000);
+        this.titles = args.getLong("titles", 20_000);
+        this.concurrency = (int) args.getLong("concurrency", 200);
+        this.durationNanos = TimeUnit.SECONDS.toNanos(args.getLong("duration", 60));
+        this.warmupNanos = TimeUnit.SECONDS.toNanos(args.getLong("warmup", 10));
+        this.rate = Double.parseDouble(args.get("rate", "0"));
+        this.out = args.get("out", "target/loadtest-result.json");
+        this.seed = args.getLong("seed", 7);
+        this.mix = parseMix(args.get("mix", "login:5,library:30,list:45,toggle:20"));
+
+        for (String operation : OPERATIONS) {
+            recorders.put(operation, new Recorder(3));
+            ok.put(operation, new LongAdder());
+            limited.put(operation, new LongAdder());
+            failed.put(operation, new LongAdder());
+        }
+        this.http = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+    }
+
+    void run() throws Exception {
+        System.out.printf("Running %d clients against %s for %ds (+%ds warmup), %s%n", concurrency, baseUrl,
+                TimeUnit.NANOSECONDS.toSeconds(durationNanos), TimeUnit.NANOSECONDS.toSeconds(warmupNanos),
+                rate > 0 ? "open model at " + rate + " req/s" : "closed loop");
+
+        long start = System.nanoTime();
+        long recordFrom = start + warmupNanos;
+        long end = recordFrom + durationNanos;
+        // Each client's share of the target rate (open model)
+        long intervalNanos = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) * concurrency / rate) : 0;
+
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < concurrency; i++) {
+                long clientSeed = seed * 1_000_003 + i;
+                // Spread the first requests of the open model over one interval
+                long firstAt = start + (intervalNanos == 0 ? 0 : intervalNanos * i / concurrency);
+                clients.submit(() -> client(new Random(clientSeed), firstAt, intervalNanos, end));
+            }
+
+            // Start recording after the warmup; forget everything recorded before
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(Math.max(0, recordFrom - System.nanoTime())));
+            recorders.values().forEach(Recorder::reset);
+            List.of(ok, limited, failed).forEach(counts -> counts.values().forEach(LongAdder::reset));
+            recording = true;
+            long measuredFrom = System.nanoTime();
+
+            Thread.sleep(TimeUnit.NANOSECONDS.toMillis(Math.max(0, end - System.nanoTime())));
+            recording = false;
+            double seconds = (System.nanoTime() - measuredFrom) / 1e9;
+
+            Map<String, Histogram> histograms = new LinkedHashMap<>();
+            recorders.forEach((operation, recorder) -> histograms.put(operation, recorder.getIntervalHistogram()));
+            Report report = Report.of(histograms, ok, limited, failed, seconds, describe());
+            report.print();
+            report.save(out);
+            clients.shutdownNow(); // in-flight requests are abandoned, not waited for
+        }
+    }
+
+    // One simulated user
+    private void client(Random random, long firstAt, long intervalNanos, long end) {
+        Session session = new Session("user" + (1 + (long) (random.nextDouble() * users)));
+        long scheduled = firstAt;
+
+        while (System.nanoTime() < end) {
+            if (intervalNanos > 0) {
+                long wait = scheduled - System.nanoTime();
+                if (wait > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            }
+            String operation = session.loggedIn() ? pick(random) : "login";
+            long started = intervalNanos > 0 ? scheduled : System.nanoTime();
+            try {
+                int status = execute(operation, session, random);
+                record(operation, status, started);
+            } catch (InterruptedException e) {
+                return; // the run is over
+            } catch (Exception e) {
+                record(operation, -1, started);
+                if (firstError.compareAndSet(0, 1)) {
+                    System.err.println("First request error (more are counted, not printed): " + e);
+                }
+            }
+            scheduled += intervalNanos;
+        }
+    }
+
+    private int execute(String operation, Session session, Random random) throws Exception {
+        return switch (operation) {
+            case "login" -> login(session);
+            case "library" -> send(session.request("/api/user/library?username=" + session.username).GET());
+            case "list" -> send(session.request("/api/user/" + (random.nextBoolean() ? "movielist" : "showlist") + "/"
+                    + TYPES[random.nextInt(TYPES.length)] + "?username=" + session.username).GET());
+            default -> toggle(session, random);
+        };
+    }
+
+    private int login(Session session) throws Exception {
+        String body = "{\"username\":\"" + session.username + "\",\"password\":\"" + LoadTest.PASSWORD + "\"}";
+        HttpResponse<String> response = http.send(session.request("/api/user/login")
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)).build(), HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() == 200) {
+            session.loggedIn(response);
+        }
+        return response.statusCode();
+    }
+
+    // Add a popular title to the watchlist, or remove it if this client added it before
+    private int toggle(Session session, Random random) throws Exception {
+        boolean movie = random.nextBoolean();
+        long tmdbId = Seeder.popular(random, Math.max(1, movie ? titles / 2 : titles - titles / 2));
+        Set<Long> added = movie ? session.addedMovies : session.addedShows;
+        String action = added.remove(tmdbId) ? "remove" : "add";
+        if (action.equals("add")) {
+            added.add(tmdbId);
+        }
+        String body = "{\"username\":\"" + session.username + "\",\"tmdbId\":" + tmdbId
+                + ",\"title\":\"Load test title " + tmdbId + "\"}";
+        return send(session.request("/api/user/" + (movie ? "movielist" : "showlist") + "/watchlist/" + action)
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body)));
+    }
+
+    private int send(HttpRequest.Builder request) throws Exception {
+        return http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+
+    private void record(String operation, int status, long started) {
+        if (!recording) {
+            return;
+        }
+        long micros = Math.max(1, (System.nanoTime() - started) / 1_000);
+        recorders.get(operation).recordValue(Math.min(micros, TimeUnit.MINUTES.toMicros(10)));
+        if (status >= 200 && status < 400) {
+            ok.get(operation).increment();
+        } else if (status == 429) {
+            limited.get(operation).increment();
+        } else {
+            failed.get(operation).increment();
+        }
+    }
+
+    private String pick(Random random) {
+        int roll = random.nextInt(100);
+        for (int i = 0; i < mix.length; i++) {
+            if (roll < mix[i]) {
+                return OPERATIONS[i];
+            }
+        }
+        return OPERATIONS[OPERATIONS.length - 1];
+    }
+
+    // "login:5,library:30,list:45,toggle:20" → cumulative {5, 35, 80, 100}
+    private static int[] parseMix(String spec) {
+        Map<String, Integer> weights = new HashMap<>();
+        for (String part : spec.split(",")) {
+            String[] pair = part.trim().split(":");
+            weights.put(pair[0], Integer.parseInt(pair[1]));
+        }
+        int total = weights.values().stream().mapToInt(Integer::intValue).sum();
+        int[] cumulative = new int[OPERATIONS.length];
+        int sum = 0;
+        for (int i = 0; i < OPERATIONS.length; i++) {
+            sum += weights.getOrDefault(OPERATIONS[i], 0);
+            cumulative[i] = total == 0 ? 0 : sum * 100 / total;
+        }
+        return cumulative;
+    }
+
+    private Map<String, Object> describe() {
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("baseUrl", baseUrl);
+        settings.put("users", users);
+        settings.put("titles", titles);
+        settings.put("concurrency", concurrency);
+        settings.put("durationSeconds", TimeUnit.NANOSECONDS.toSeconds(durationNanos));
+        settings.put("rate", rate);
+        settings.put("mix", mix);
+        return settings;
+    }
+
+    // What one simulated user keeps between requests: the session cookie or token, and what it added
+    private final class Session {
+        final String username;
+        final Set<Long> addedMovies = new HashSet<>();
+        final Set<Long> addedShows = new HashSet<>();
+        String cookie;   // JSESSIONID=... (session mode)
+        String token;    // signed token (token mode)
+
+        Session(String username) {
+            this.username = username;
+        }
+
+        boolean loggedIn() {
+            return cookie != null || token != null;
+        }
+
+        // Cookies are set over plain HTTP here, so they are sent by hand (the app marks them Secure)
+        void loggedIn(HttpResponse<String> response) {
+            for (String setCookie : response.headers().allValues("Set-Cookie")) {
+                if (setCookie.startsWith("JSESSIONID=")) {
+                    cookie = setCookie.substring(0, setCookie.indexOf(';') < 0 ? setCookie.length() : setCookie.indexOf(';'));
+                }
+            }
+            int at = response.body().indexOf("\"token\":\"");
+            if (at >= 0) {
+                token = response.body().substring(at + 9, response.body().indexOf('"', at + 9));
+            }
+        }
+
+        HttpRequest.Builder request(String path) {
+            HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path)).timeout(Duration.ofSeconds(60));
+            if (token != null) {
+                builder.header("Authorization", "Bearer " + token);
+            } else if (cookie != null) {
+                builder.header("Cookie", cookie);
+            }
+            return builder;
+        }
+    }
+}
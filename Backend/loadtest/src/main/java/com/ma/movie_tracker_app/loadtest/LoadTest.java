@@ -0,0 +1,140 @@
+// Package: puts the load-test harness in its own "loadtest" folder
+package com.ma.movie_tracker_app.loadtest;
+
+// Spring Boot bootstrapping (to run the real app)
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.ma.movie_tracker_app.MediaApp;
+
+import java.util.*;
+
+// LoadTest is the entry point of the load-test harness. Everything runs on one box, offline:
+//
+//   seed     → create the schema and fill the database with synthetic users, titles and list rows
+//   serve    → start the app against that database (platform or virtual threads)
+//   run      → replay a mix of login, list reads and add/remove toggles; print HdrHistogram
+//              percentiles and throughput per endpoint, and save them as JSON
+//   compare  → put two saved results side by side (e.g. platform vs virtual threads, or two releases)
+//
+// Database (seed and serve): an H2 file in target/ by default (AUTO_SERVER, so seed/serve/psql-like
+// tools can share it), or a local PostgreSQL with --jdbc-url jdbc:postgresql://localhost/db
+// --db-user ... --db-password ... (seeded with COPY, much closer to production).
+//
+// Typical session (three terminals, from Backend/loadtest):
+//   mvn -q compile exec:exec -Dloadtest.args="seed --users 100000 --titles 50000 --entries 5000000"
+//   mvn -q exec:exec -Dloadtest.args="serve --auth-mode token"
+//   mvn -q exec:exec -Dloadtest.args="run --users 100000 --titles 50000 --concurrency 500 --duration 120"
+// Production scale: seed --users 1000000 --titles 500000 --entries 50000000 (use PostgreSQL).
+public class LoadTest {
+
+    static final String DEFAULT_H2_URL = "jdbc:h2:file:./target/loadtest-db;AUTO_SERVER=TRUE"
+            + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+    // Every seeded user has this password (hashed once, see Seeder)
+    static final String PASSWORD = "loadtest-password";
+
+    public static void main(String[] argv) throws Exception {
+        Args args = Args.parse(argv);
+        switch (args.command()) {
+            case "seed" -> {
+                try (ConfigurableApplicationContext context = startApp(args, WebApplicationType.NONE)) {
+                    new Seeder(args).seed(context);
+                }
+            }
+            case "serve" -> startApp(args, WebApplicationType.SERVLET);
+            case "run" -> new LoadRunner(args).run();
+            case "compare" -> Report.compare(args.positional(0), args.positional(1));
+            default -> {
+                System.out.println("""
+                        Usage: LoadTest <seed|serve|run|compare> [--option value ...]
+
+                        seed     --users 10000 --titles 20000 --entries 500000 --seed 42 --bcrypt-strength 10
+                        serve    --port 8080 --virtual-threads --auth-mode session|token --rate-limit
+                                 --bcrypt-strength 10 (use the seed's value, or every first login re-hashes)
+                        run      --base-url http://localhost:8080 --users 10000 --titles 20000
+                                 --concurrency 200 --duration 60 --warmup 10 --rate 0 (0 = closed loop)
+                                 --mix login:5,library:30,list:45,toggle:20 --out target/loadtest-result.json
+                        compare  <baseline.json> <candidate.json>
+
+                        seed/serve database: --jdbc-url (default H2 file in target/) --db-user --db-password
+                        """);
+            }
+        }
+    }
+
+    // Start the real app (the same code and application.properties as production) against the
+    // load-test database. Command-line properties override application.properties.
+    static ConfigurableApplicationContext startApp(Args args, WebApplicationType type) {
+        String url = args.get("jdbc-url", DEFAULT_H2_URL);
+        boolean postgres = url.startsWith("jdbc:postgresql:");
+
+        List<String> properties = new ArrayList<>(List.of(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + args.get("db-user", postgres ? "postgres" : "sa"),
+                "--spring.datasource.password=" + args.get("db-password", ""),
+                "--spring.jpa.database-platform=org.hibernate.dialect." + (postgres ? "PostgreSQLDialect" : "H2Dialect"),
+                "--spring.jpa.hibernate.ddl-auto=update",
+                "--spring.jpa.show-sql=false",
+                "--server.port=" + args.get("port", "8080"),
+                "--server.virtual-threads=" + args.flag("virtual-threads"),
+                // One client IP sends everything, so the per-IP limits are off unless asked for
+                "--rate-limit.enabled=" + args.flag("rate-limit"),
+                "--auth.mode=" + args.get("auth-mode", "session"),
+                // Same cost as the seeded hashes: a lower-cost hash is upgraded (re-hashed and saved) on login
+                "--auth.bcrypt.strength=" + args.get("bcrypt-strength", "10"),
+                "--auth.tokens.keys=loadtest:" + Base64.getEncoder().encodeToString(
+                        "load-test-only-signing-key-0123456789".getBytes())));
+        if (args.has("hikari-pool-size")) {
+            properties.add("--spring.datasource.hikari.maximum-pool-size=" + args.get("hikari-pool-size", "10"));
+        }
+
+        SpringApplication app = new SpringApplication(MediaApp.class);
+        app.setWebApplicationType(type);
+        return app.run(properties.toArray(String[]::new));
+    }
+
+    // Minimal "--name value" / "--flag" command-line parsing
+    record Args(String command, List<String> positionals, Map<String, String> options) {
+
+        static Args parse(String[] argv) {
+            String command = argv.length == 0 ? "help" : argv[0];
+            List<String> positionals = new ArrayList<>();
+            Map<String, String> options = new HashMap<>();
+            for (int i = 1; i < argv.length; i++) {
+                if (argv[i].startsWith("--")) {
+                    String name = argv[i].substring(2);
+                    boolean hasValue = i + 1 < argv.length && !argv[i + 1].startsWith("--");
+                    options.put(name, hasValue ? argv[++i] : "true");
+                } else {
+                    positionals.add(argv[i]);
+                }
+            }
+            return new Args(command, positionals, options);
+        }
+
+        String get(String name, String fallback) {
+            return options.getOrDefault(name, fallback);
+        }
+
+        long getLong(String name, long fallback) {
+            return options.containsKey(name) ? Long.parseLong(options.get(name).replace("_", "")) : fallback;
+        }
+
+        boolean flag(String name) {
+            return Boolean.parseBoolean(options.getOrDefault(name, "false"));
+        }
+
+        boolean has(String name) {
+            return options.containsKey(name);
+        }
+
+        String positional(int index) {
+            if (index >= positionals.size()) {
+                throw new IllegalArgumentException(command + " needs " + (index + 1) + " file arguments");
+            }
+            return positionals.get(index);
+        }
+    }
+}
@@ -0,0 +1,111 @@
+// Package: puts the load-test harness in its own "loadtest" folder
+package com.ma.movie_tracker_app.loadtest;
+
+// Latency histograms
+import org.HdrHistogram.Histogram;
+
+// JSON for saved results
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.PrintStream;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+// Report holds the result of one load-test run: per operation the request counts, throughput and
+// latency percentiles (milliseconds).
+//
+// save() writes it as JSON (for "compare" and for tracking runs over time) and, next to it, one
+// HdrHistogram percentile distribution per operation (<out>-<operation>.hgrm) that can be plotted
+// with HdrHistogram's online plotter to compare whole latency curves, not just a few percentiles.
+record Report(Map<String, Object> settings, double seconds, Map<String, Endpoint> endpoints,
+              Map<String, Histogram> histograms) {
+
+    static final double[] PERCENTILES = {50, 90, 99, 99.9};
+
+    // One operation's numbers
+    record Endpoint(long ok, long rateLimited, long failed, double throughput,
+                    double p50, double p90, double p99, double p999, double max) {}
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    static Report of(Map<String, Histogram> histograms, Map<String, LongAdder> ok, Map<String, LongAdder> limited,
+                     Map<String, LongAdder> failed, double seconds, Map<String, Object> settings) {
+        Map<String, Endpoint> endpoints = new LinkedHashMap<>();
+        histograms.forEach((operation, histogram) -> {
+            long total = histogram.getTotalCount();
+            endpoints.put(operation, new Endpoint(
+                    ok.get(operation).sum(), limited.get(operation).sum(), failed.get(operation).sum(),
+                    total / seconds,
+                    millis(histogram, PERCENTILES[0]), millis(histogram, PERCENTILES[1]),
+                    millis(histogram, PERCENTILES[2]), millis(histogram, PERCENTILES[3]),
+                    histogram.getMaxValue() / 1000.0));
+        });
+        return new Report(settings, seconds, endpoints, histograms);
+    }
+
+    void print() {
+        System.out.printf("%n%-8s %9s %7s %7s %9s %9s %9s %9s %9s %9s%n",
+                "op", "ok", "429", "errors", "req/s", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        double totalThroughput = 0;
+        for (Map.Entry<String, Endpoint> entry : endpoints.entrySet()) {
+            Endpoint e = entry.getValue();
+            totalThroughput += e.throughput();
+            System.out.printf("%-8s %9d %7d %7d %9.1f %9.2f %9.2f %9.2f %9.2f %9.2f%n", entry.getKey(),
+                    e.ok(), e.rateLimited(), e.failed(), e.throughput(), e.p50(), e.p90(), e.p99(), e.p999(), e.max());
+        }
+        System.out.printf("%-8s %45.1f req/s over %.0fs%n", "total", totalThroughput, seconds);
+    }
+
+    void save(String out) throws Exception {
+        File file = new File(out);
+        if (file.getParentFile() != null) {
+            file.getParentFile().mkdirs();
+        }
+        Map<String, Object> json = new LinkedHashMap<>();
+        json.put("settings", settings);
+        json.put("seconds", seconds);
+        json.put("endpoints", endpoints);
+        JSON.writeValue(file, json);
+
+        String base = out.endsWith(".json") ? out.substring(0, out.length() - 5) : out;
+        for (Map.Entry<String, Histogram> entry : histograms.entrySet()) {
+            try (PrintStream hgrm = new PrintStream(new FileOutputStream(base + "-" + entry.getKey() + ".hgrm"))) {
+                entry.getValue().outputPercentileDistribution(hgrm, 1000.0); // in milliseconds
+            }
+        }
+        System.out.println("Saved " + out + " (and " + base + "-<op>.hgrm)");
+    }
+
+    // Print two saved runs side by side: throughput and percentiles, with the candidate's change in %
+    static void compare(String baselineFile, String candidateFile) throws Exception {
+        JsonNode baseline = JSON.readTree(new File(baselineFile)).path("endpoints");
+        JsonNode candidate = JSON.readTree(new File(candidateFile)).path("endpoints");
+        String[] metrics = {"throughput", "p50", "p90", "p99", "p999", "max"};
+
+        System.out.printf("Baseline:  %s%nCandidate: %s%n%n", baselineFile, candidateFile);
+        System.out.printf("%-8s %-10s %12s %12s %9s%n", "op", "metric", "baseline", "candidate", "change");
+        for (var fields = baseline.fields(); fields.hasNext(); ) {
+            var entry = fields.next();
+            JsonNode other = candidate.path(entry.getKey());
+            if (other.isMissingNode()) {
+                continue;
+            }
+            for (String metric : metrics) {
+                double a = entry.getValue().path(metric).asDouble();
+                double b = other.path(metric).asDouble();
+                String change = a == 0 ? "-" : String.format("%+.1f%%", (b - a) * 100 / a);
+                System.out.printf("%-8s %-10s %12.2f %12.2f %9s%n", entry.getKey(),
+                        metric.equals("throughput") ? "req/s" : metric + " ms", a, b, change);
+            }
+        }
+    }
+
+    private static double millis(Histogram histogram, double percentile) {
+        return histogram.getValueAtPercentile(percentile) / 1000.0;
+    }
+}
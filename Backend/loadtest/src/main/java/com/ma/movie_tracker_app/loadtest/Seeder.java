@@ -0,0 +1,267 @@
+// Package: puts the load-test harness in its own "loadtest" folder
+package com.ma.movie_tracker_app.loadtest;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+// PostgreSQL's COPY API (used when seeding a PostgreSQL database)
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.*;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+// Seeder fills an empty database with synthetic data of a chosen size:
+//
+//   --users N     users "user1".."userN", all with the password LoadTest.PASSWORD
+//   --titles N    catalog titles, half movies and half shows (tmdbId = 1..N/2 for each kind)
+//   --entries N   list rows in total (about; repeats are skipped), half movie lists and half show lists
+//   --seed N      random seed: the same options always produce the same data
+//
+// The data is skewed like real usage: list sizes per user follow an exponential distribution
+// (a few users with very long lists), titles are picked with a strong bias towards low ids
+// ("popular" titles), and the list types are 50% watchlist, 35% watched, 15% favourites.
+//
+// The app context is started first (ddl-auto=update creates the schema, exactly as in production),
+// then rows are written with plain JDBC: COPY on PostgreSQL, batched INSERTs elsewhere.
+// Finally the id sequences are moved past the seeded ids so the app can insert new rows.
+class Seeder {
+
+    private static final String[] TYPES = {"watchlist", "watched", "favourites"};
+    private static final String[] GENRES = {"Action, Adventure", "Drama", "Comedy, Romance", "Science Fiction",
+            "Horror, Thriller", "Animation, Family", "Crime, Mystery", "Documentary"};
+    private static final String[] WORDS = {"Last", "Night", "Star", "Dark", "City", "Love", "War", "Secret",
+            "Blue", "Storm", "King", "Road", "Shadow", "Fire", "River", "Dream", "Ghost", "Silent", "Wild", "Home"};
+
+    private final long users;
+    private final long titles;
+    private final long entries;
+    private final long seed;
+    private final int bcryptStrength;
+
+    Seeder(LoadTest.Args args) {
+        this.users = args.getLong("users", 10_000);
+        this.titles = args.getLong("titles", 20_000);
+        this.entries = args.getLong("entries", 500_000);
+        this.seed = args.getLong("seed", 42);
+        this.bcryptStrength = (int) args.getLong("bcrypt-strength", 10);
+    }
+
+    void seed(ConfigurableApplicationContext context) throws Exception {
+        DataSource dataSource = context.getBean(DataSource.class);
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            if (count(connection, "user_table") > 0 || count(connection, "movies") > 0) {
+                throw new IllegalStateException("The database already has data. Seed into an empty database "
+                        + "(delete target/loadtest-db* for the default H2 file).");
+            }
+
+            long start = System.nanoTime();
+            Random random = new Random(seed);
+            long movies = titles / 2;
+            long shows = titles - movies;
+
+            // One bcrypt hash for everyone: hashing a million passwords would take hours
+            String hash = new BCryptPasswordEncoder(bcryptStrength).encode(LoadTest.PASSWORD);
+            try (RowSink sink = RowSink.open(connection, "user_table", "id", "username", "password")) {
+                for (long id = 1; id <= users; id++) {
+                    sink.add(id, "user" + id, hash);
+                }
+            }
+            progress("users", users, start);
+
+            writeTitles(connection, "movies", movies, "Movie", random);
+            writeTitles(connection, "shows", shows, "Show", random);
+            progress("titles", titles, start);
+
+            long[] written = {
+                    writeLists(connection, "user_movie_list", "movie_id", movies, random, start),
+                    writeLists(connection, "user_show_list", "show_id", shows, random, start)};
+            progress("list rows", written[0] + written[1], start);
+
+            // Sequences: with the pooled optimizer nextval() = N hands out ids N-49..N, so restart
+            // one pool above the seeded ids (same rule as db/sequence-ids.sql)
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("ALTER SEQUENCE user_table_seq RESTART WITH " + (users + 10));
+                statement.execute("ALTER SEQUENCE movies_seq RESTART WITH " + (movies + 50));
+                statement.execute("ALTER SEQUENCE shows_seq RESTART WITH " + (shows + 50));
+                statement.execute("ALTER SEQUENCE user_movie_list_seq RESTART WITH " + (written[0] + 50));
+                statement.execute("ALTER SEQUENCE user_show_list_seq RESTART WITH " + (written[1] + 50));
+            }
+            connection.commit();
+
+            System.out.printf("Seeded %,d users, %,d movies, %,d shows, %,d movie list rows, %,d show list rows in %ds%n",
+                    users, movies, shows, written[0], written[1], (System.nanoTime() - start) / 1_000_000_000L);
+        }
+    }
+
+    private void writeTitles(Connection connection, String table, long count, String kind, Random random) throws SQLException {
+        try (RowSink sink = RowSink.open(connection, table,
+                "id", "tmdb_id", "title", "description", "release_year", "genre", "director", "image_url")) {
+            for (long id = 1; id <= count; id++) {
+                String title = WORDS[random.nextInt(WORDS.length)] + " " + WORDS[random.nextInt(WORDS.length)] + " " + id;
+                sink.add(id, id, title,
+                        "A synthetic " + kind.toLowerCase() + " overview for " + title + ", about as long as a TMDB overview.",
+                        1950 + random.nextInt(76), GENRES[random.nextInt(GENRES.length)],
+                        "Director " + random.nextInt(5000), "https://image.tmdb.org/t/p/w500/" + kind.toLowerCase() + id + ".jpg");
+            }
+        }
+    }
+
+    // Write one kind of list rows (movie or show lists; one COPY at a time per connection).
+    // Each user gets an exponentially distributed number of rows, averaging half of --entries / users.
+    private long writeLists(Connection connection, String table, String titleColumn, long titleCount,
+                            Random random, long start) throws SQLException {
+        if (titleCount == 0) {
+            return 0;
+        }
+        double meanPerUser = entries / 2.0 / users;
+        long maxPerUser = titleCount * TYPES.length;
+        long rows = 0;
+
+        try (RowSink sink = RowSink.open(connection, table, "id", "user_id", titleColumn, "type")) {
+            Set<Long> taken = new HashSet<>();
+            for (long user = 1; user <= users; user++) {
+                long size = Math.min(maxPerUser, Math.round(-meanPerUser * Math.log(1 - random.nextDouble())));
+                taken.clear();
+                for (long i = 0; i < size; i++) {
+                    int type = pickType(random);
+                    long title = popular(random, titleCount);
+
+                    // A user has each title at most once per list (unique index); skip repeats
+                    if (!taken.add(title * TYPES.length + type)) {
+                        continue;
+                    }
+                    sink.add(++rows, user, title, TYPES[type]);
+                    if (rows % 1_000_000 == 0) {
+                        progress(table + " rows", rows, start);
+                    }
+                }
+            }
+        }
+        return rows;
+    }
+
+    // 50% watchlist, 35% watched, 15% favourites
+    private static int pickType(Random random) {
+        int roll = random.nextInt(100);
+        return roll < 50 ? 0 : roll < 85 ? 1 : 2;
+    }
+
+    // Title id in 1..count, heavily skewed towards small ids (a few titles are in most lists)
+    static long popular(Random random, long count) {
+        double u = random.nextDouble();
+        return 1 + (long) (count * u * u * u);
+    }
+
+    private static long count(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COUNT(*) FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    private static void progress(String what, long count, long start) {
+        System.out.printf("  %,d %s (%ds)%n", count, what, (System.nanoTime() - start) / 1_000_000_000L);
+    }
+
+    // Where rows go: COPY on PostgreSQL, batched INSERTs on other databases
+    abstract static class RowSink implements AutoCloseable {
+
+        static RowSink open(Connection connection, String table, String... columns) throws SQLException {
+            if (connection.isWrapperFor(PGConnection.class)) {
+                return new CopySink(connection, table, columns);
+            }
+            return new BatchSink(connection, table, columns);
+        }
+
+        abstract void add(Object... values) throws SQLException;
+
+        @Override
+        public abstract void close() throws SQLException;
+    }
+
+    // PostgreSQL: stream CSV rows into COPY ... FROM STDIN (one round trip per ~1 MB)
+    static final class CopySink extends RowSink {
+        private final Connection connection;
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(1 << 20);
+
+        CopySink(Connection connection, String table, String[] columns) throws SQLException {
+            this.connection = connection;
+            this.copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN WITH (FORMAT csv)");
+        }
+
+        @Override
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                String value = String.valueOf(values[i]);
+                if (value.indexOf(',') >= 0 || value.indexOf('"') >= 0) {
+                    buffer.append('"').append(value.replace("\"", "\"\"")).append('"');
+                } else {
+                    buffer.append(value);
+                }
+            }
+            buffer.append('\n');
+            if (buffer.length() >= 1 << 20) {
+                flush();
+            }
+        }
+
+        private void flush() throws SQLException {
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+
+        @Override
+        public void close() throws SQLException {
+            flush();
+            copy.endCopy();
+            connection.commit();
+        }
+    }
+
+    // Other databases (H2): batched prepared INSERTs, committed every 50k rows
+    static final class BatchSink extends RowSink {
+        private final Connection connection;
+        private final PreparedStatement insert;
+        private long pending;
+
+        BatchSink(Connection connection, String table, String[] columns) throws SQLException {
+            this.connection = connection;
+            this.insert = connection.prepareStatement("INSERT INTO " + table + " (" + String.join(", ", columns)
+                    + ") VALUES (" + "?, ".repeat(columns.length - 1) + "?)");
+        }
+
+        @Override
+        void add(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                insert.setObject(i + 1, values[i]);
+            }
+            insert.addBatch();
+            if (++pending % 5_000 == 0) {
+                insert.executeBatch();
+            }
+            if (pending % 50_000 == 0) {
+                connection.commit();
+            }
+        }
+
+        @Override
+        public void close() throws SQLException {
+            insert.executeBatch();
+            insert.close();
+            connection.commit();
+        }
+    }
+}
@@ -0,0 +1,114 @@
+// Package: puts this configuration class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Import Spring annotations for configuration and bean creation
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.WebRequest;
+
+// Jackson binary formats
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileGenerator;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+// ContentNegotiationConfig lets clients ask for a compact binary body instead of JSON:
+//   Accept: application/cbor              → CBOR
+//   Accept: application/x-jackson-smile   → Smile
+//   anything else (e.g. application/json) → JSON, as before
+//
+// Spring Boot picks up HttpMessageConverter beans and puts them in front of its defaults.
+// Both mappers are built from Boot's Jackson2ObjectMapperBuilder, so they use the same
+// settings and modules as the JSON one (same field names, dates, null handling).
+// On top of that, gzip compression of every text format is configured in application.properties.
+//
+// Because one URL now has several representations, the list and library GETs send "Vary: Accept"
+// (so shared and browser caches keep the formats apart) and give each format its own ETag
+// (see negotiatedETag): a 304 always refers to the format the client asked for.
+@Configuration
+public class ContentNegotiationConfig {
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2CborHttpMessageConverter(cborMapper(builder));
+    }
+
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileConverter(Jackson2ObjectMapperBuilder builder) {
+        return new MappingJackson2SmileHttpMessageConverter(smileMapper(builder));
+    }
+
+    // CBOR: small ints/lengths, no field-name tricks
+    public static ObjectMapper cborMapper(Jackson2ObjectMapperBuilder builder) {
+        return builder.createXmlMapper(false).factory(new CBORFactory()).build();
+    }
+
+    // Smile: repeated field names are always back-referenced; we also back-reference repeated short
+    // string values, which our payloads are full of ("watchlist", genre strings, image URL prefixes)
+    public static ObjectMapper smileMapper(Jackson2ObjectMapperBuilder builder) {
+        SmileFactory factory = SmileFactory.builder()
+                .enable(SmileGenerator.Feature.CHECK_SHARED_STRING_VALUES)
+                .build();
+        return builder.createXmlMapper(false).factory(factory).build();
+    }
+
+    private static final MediaType CBOR = MediaType.valueOf("application/cbor");
+    private static final MediaType SMILE = MediaType.valueOf("application/x-jackson-smile");
+
+    // Add "Vary: Accept" to the response and return the ETag for the format this request gets:
+    // JSON keeps "eTag" as is, CBOR and Smile get a suffix ("...-4-cbor"). Null stays null.
+    public static String negotiatedETag(String eTag, WebRequest request) {
+        if (request instanceof ServletWebRequest servlet && servlet.getResponse() != null) {
+            servlet.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+        }
+        if (eTag == null) {
+            return null;
+        }
+        String format = binaryFormat(request.getHeader(HttpHeaders.ACCEPT));
+        return format == null ? eTag : eTag.substring(0, eTag.length() - 1) + "-" + format + '"';
+    }
+
+    // "cbor" or "smile" when the Accept header makes Spring pick that converter, null for JSON.
+    // Same order as Spring's negotiation: highest quality first, then the most specific type; a
+    // wildcard that comes first is answered with JSON.
+    static String binaryFormat(String accept) {
+        if (accept == null || accept.isBlank()) {
+            return null;
+        }
+        List<MediaType> types;
+        try {
+            types = new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException e) {
+            return null;
+        }
+        types.sort(Comparator.comparingDouble(MediaType::getQualityValue).reversed()
+                .thenComparing(MediaType::isWildcardType)
+                .thenComparing(MediaType::isWildcardSubtype));
+        for (MediaType type : types) {
+            if (type.getQualityValue() == 0) {
+                continue;
+            }
+            if (type.equalsTypeAndSubtype(CBOR)) {
+                return "cbor";
+            }
+            if (type.equalsTypeAndSubtype(SMILE)) {
+                return "smile";
+            }
+            if (type.isCompatibleWith(MediaType.APPLICATION_JSON)) {
+                return null;
+            }
+        }
+        return null;
+    }
+}
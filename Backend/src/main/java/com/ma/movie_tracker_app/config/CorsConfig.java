@@ -34,6 +34,9 @@ public class CorsConfig {
         // Allow any headers (e.g., Content-Type, Authorization, etc.)
         cfg.setAllowedHeaders(List.of("*"));
 
+        // Let the frontend read the list/library ETags (it sends them back as If-None-Match)
+        cfg.setExposedHeaders(List.of("ETag"));
+
         // Allow sending cookies/credentials (e.g., JSESSIONID, authentication tokens)
         cfg.setAllowCredentials(true);
 
@@ -0,0 +1,85 @@
+// Package: puts this class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Our services
+import com.ma.movie_tracker_app.service.QueryStats;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+
+// InstrumentedDataSource wraps the app's DataSource so that every executed SQL statement is counted
+// and timed (see QueryStats). It works below Hibernate, so JPQL, derived queries, native queries and
+// batched inserts are all seen exactly as the database sees them.
+//
+// DataSource → Connection → Statement are wrapped with JDK dynamic proxies; only the execute*
+// methods do extra work (two System.nanoTime() calls). Everything else, including unwrap() to the
+// pool or driver classes, goes straight to the real object.
+final class InstrumentedDataSource {
+
+    private InstrumentedDataSource() {
+    }
+
+    static DataSource wrap(DataSource dataSource) {
+        if (Proxy.isProxyClass(dataSource.getClass())
+                && Proxy.getInvocationHandler(dataSource) instanceof Handler) {
+            return dataSource; // already wrapped
+        }
+        return proxy(DataSource.class, dataSource);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target) {
+        return (T) Proxy.newProxyInstance(InstrumentedDataSource.class.getClassLoader(),
+                new Class<?>[]{type}, new Handler(target));
+    }
+
+    // Forwards every call; wraps returned connections/statements and times statement executions
+    private record Handler(Object target) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals") && args != null && args.length == 1) {
+                return proxy == args[0];
+            }
+            boolean execute = target instanceof Statement && name.startsWith("execute");
+            long start = execute ? System.nanoTime() : 0;
+            Object result;
+            try {
+                result = method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                if (execute) {
+                    QueryStats.record(System.nanoTime() - start);
+                }
+            }
+
+            // Wrap what comes back, typed by what the method returns (so casts in callers still work)
+            Class<?> type = method.getReturnType();
+            if (result == null || name.equals("unwrap")) {
+                return result;
+            }
+            if (type == Connection.class) {
+                return proxy(Connection.class, (Connection) result);
+            }
+            if (type == CallableStatement.class) {
+                return proxy(CallableStatement.class, (CallableStatement) result);
+            }
+            if (type == PreparedStatement.class) {
+                return proxy(PreparedStatement.class, (PreparedStatement) result);
+            }
+            if (type == Statement.class && target instanceof Connection) {
+                return proxy(Statement.class, (Statement) result);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,83 @@
+// Package: puts this configuration class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Import Spring annotations and MVC configuration
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+// Our services
+import com.ma.movie_tracker_app.service.RateLimiter;
+import com.ma.movie_tracker_app.service.SessionTokens;
+
+// RateLimitConfig puts token-bucket limits (see RateLimiter) in front of the endpoints that are cheap
+// to call but cost database work:
+//   - "auth":     login and register (credential stuffing, sign-up spam; each call runs findByUsername
+//                 and a bcrypt hash)
+//   - "mutation": list add/remove/bulk and library import (scripted spam)
+// Read endpoints are not limited: they are answered from ETags and caches.
+//
+// Each group has its own burst size and refill rate, configured in application.properties.
+// Logins also count against the submitted username, from any IP, with a much looser budget
+// ("rate-limit.login-username"): enough to slow down guessing one account's password from many
+// addresses, without letting one client lock a user out (it would need more IPs than that budget
+// divided by the per-IP rate). AuthenticationController checks it, using the auth group's
+// interceptor (the "authRateLimit" bean).
+// Limits are per app instance (in memory). Turn everything off with rate-limit.enabled=false.
+@Configuration
+@ConditionalOnProperty(name = "rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+
+    @Autowired
+    private SessionTokens tokens;
+
+    // Max IPs/users tracked per group and limiter (bounds memory; idle entries are dropped first, then
+    // the least recently used)
+    @Value("${rate-limit.max-keys:100000}")
+    private int maxKeys;
+
+    @Value("${rate-limit.auth.capacity:10}")
+    private int authCapacity;
+    @Value("${rate-limit.auth.per-second:0.2}")
+    private double authPerSecond;
+
+    @Value("${rate-limit.login-username.capacity:100}")
+    private int loginUsernameCapacity;
+    @Value("${rate-limit.login-username.per-second:2}")
+    private double loginUsernamePerSecond;
+
+    @Value("${rate-limit.mutation.capacity:60}")
+    private int mutationCapacity;
+    @Value("${rate-limit.mutation.per-second:5}")
+    private double mutationPerSecond;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(authRateLimit())
+                .addPathPatterns("/api/user/login", "/api/user/register");
+
+        registry.addInterceptor(interceptor("mutation", mutationCapacity, mutationPerSecond, null))
+                .addPathPatterns(
+                        "/api/user/movielist/*/add", "/api/user/movielist/*/remove", "/api/user/movielist/*/bulk",
+                        "/api/user/showlist/*/add", "/api/user/showlist/*/remove", "/api/user/showlist/*/bulk",
+                        "/api/user/library/import");
+    }
+
+    @Bean
+    public RateLimitInterceptor authRateLimit() {
+        return interceptor("auth", authCapacity, authPerSecond,
+                new RateLimiter(loginUsernameCapacity, loginUsernamePerSecond, maxKeys));
+    }
+
+    private RateLimitInterceptor interceptor(String group, int capacity, double perSecond, RateLimiter perSubmittedUser) {
+        return new RateLimitInterceptor(group,
+                new RateLimiter(capacity, perSecond, maxKeys),
+                new RateLimiter(capacity, perSecond, maxKeys),
+                perSubmittedUser,
+                tokens);
+    }
+}
@@ -0,0 +1,102 @@
+// Package: puts this class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Spring MVC interceptor API
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+// Our services
+import com.ma.movie_tracker_app.service.RateLimiter;
+import com.ma.movie_tracker_app.service.SessionTokens;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+
+import java.io.IOException;
+
+// RateLimitInterceptor applies one group of limits (e.g. "auth" or "mutation") to the endpoints it
+// is registered for in RateLimitConfig. It runs BEFORE the controller, so a rejected call never
+// reaches a repository.
+//
+// Every call is counted against the caller's IP address; calls from a logged-in user (session or
+// token) are also counted against that user, so one user can't get around the limit by switching
+// networks. Over the limit → 429 Too Many Requests with Retry-After (seconds).
+//
+// Login has no logged-in user yet, and the username it targets is in the JSON body, which an
+// interceptor can't read without consuming it. So AuthenticationController calls tryAcquireUsername
+// with the submitted username before it looks anything up (a looser budget, see RateLimitConfig).
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final String group;
+    private final RateLimiter perIp;
+    private final RateLimiter perUser;
+    private final RateLimiter perSubmittedUser;
+    private final SessionTokens tokens;
+
+    public RateLimitInterceptor(String group, RateLimiter perIp, RateLimiter perUser,
+                                RateLimiter perSubmittedUser, SessionTokens tokens) {
+        this.group = group;
+        this.perIp = perIp;
+        this.perUser = perUser;
+        this.perSubmittedUser = perSubmittedUser;
+        this.tokens = tokens;
+    }
+
+    // Count one login attempt against the username in the request body (always allowed for groups
+    // without a per-username limit)
+    public RateLimiter.Decision tryAcquireUsername(String username) {
+        if (perSubmittedUser == null || username == null || username.isBlank()) {
+            return new RateLimiter.Decision(true, 0);
+        }
+        return perSubmittedUser.tryAcquire(username.trim());
+    }
+
+    // Retry-After is in whole seconds (rounded up)
+    public static long retryAfterSeconds(RateLimiter.Decision decision) {
+        return Math.max(1, (decision.retryAfterMillis() + 999) / 1000);
+    }
+
+    // Message of the 429 response
+    public String rejectionMessage(RateLimiter.Decision decision) {
+        return "Too many " + group + " requests, retry in " + retryAfterSeconds(decision) + "s";
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        // CORS preflights carry no credentials and do no work
+        if ("OPTIONS".equals(request.getMethod())) {
+            return true;
+        }
+
+        RateLimiter.Decision decision = perIp.tryAcquire(request.getRemoteAddr());
+        if (decision.allowed()) {
+            String username = loggedInUser(request);
+            if (username != null) {
+                decision = perUser.tryAcquire(username);
+            }
+        }
+        if (decision.allowed()) {
+            return true;
+        }
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(decision)));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"message\":\"" + rejectionMessage(decision) + "\"}");
+        return false;
+    }
+
+    // Username from the token (token mode) or the session (session mode), without creating a session
+    private String loggedInUser(HttpServletRequest request) {
+        SessionTokens.TokenUser tokenUser = tokens.authenticate(request);
+        if (tokenUser != null) {
+            return tokenUser.username();
+        }
+        HttpSession session = request.getSession(false);
+        return session == null ? null : (String) session.getAttribute(UserIdResolver.SESSION_USERNAME);
+    }
+}
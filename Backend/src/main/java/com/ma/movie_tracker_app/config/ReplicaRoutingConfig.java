@@ -0,0 +1,113 @@
+// Package: puts this configuration class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Import Spring annotations and Boot's DataSource settings (spring.datasource.*)
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnExpression;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+// Our services
+import com.ma.movie_tracker_app.service.ReadYourWrites;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+// ReplicaRoutingConfig moves read traffic (list GETs, /me, the catalog pages) to read replicas.
+// It's only active when datasource.replicas.urls lists at least one replica; otherwise Spring Boot
+// creates its usual single DataSource.
+//
+// The app's DataSource then becomes:
+//   LazyConnectionDataSourceProxy → ReplicaRoutingDataSource → primary pool (spring.datasource.*)
+//                                                            → one pool per replica
+//
+// Reads go to a replica only in GET requests, outside write transactions, and not for a user whose
+// lists changed in the last datasource.read-your-writes.window (see ReadYourWrites). Replicas are
+// health-checked every datasource.replicas.health-check-interval; a replica that is down is
+// skipped and its reads go to the primary.
+//
+// The pools are not beans of their own: only the outer DataSource is, so the per-request SQL
+// metrics (RequestMetricsConfig) count each statement once, wherever it runs.
+@Configuration
+@ConditionalOnExpression("!'${datasource.replicas.urls:}'.isBlank()")
+public class ReplicaRoutingConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingConfig.class);
+
+    // Comma-separated JDBC URLs of the replicas
+    @Value("${datasource.replicas.urls}")
+    private String[] replicaUrls;
+
+    // Replica credentials (default: the primary's)
+    @Value("${datasource.replicas.username:${spring.datasource.username:}}")
+    private String replicaUsername;
+
+    @Value("${datasource.replicas.password:${spring.datasource.password:}}")
+    private String replicaPassword;
+
+    // How often every replica is pinged
+    @Value("${datasource.replicas.health-check-interval:PT5S}")
+    private Duration healthCheckInterval;
+
+    // How long a read waits for a replica connection before it goes to the primary instead
+    @Value("${datasource.replicas.connection-timeout:PT2S}")
+    private Duration replicaConnectionTimeout;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    @Autowired
+    private Environment environment;
+
+    private ReplicaRoutingDataSource routing;
+
+    @Bean
+    public DataSource dataSource(DataSourceProperties properties) {
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        configurePool(primary, "primary");
+
+        List<HikariDataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setJdbcUrl(url.trim());
+            replica.setUsername(replicaUsername);
+            replica.setPassword(replicaPassword);
+            configurePool(replica, "replica-" + replicas.size());
+            replica.setConnectionTimeout(replicaConnectionTimeout.toMillis());
+            replica.setInitializationFailTimeout(-1); // a replica that's down at startup isn't fatal
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+        log.info("Routing reads of GET requests to {} read replica(s)", replicas.size());
+
+        routing = new ReplicaRoutingDataSource(primary, replicas, readYourWrites::replicaAllowed, healthCheckInterval);
+        return new LazyConnectionDataSourceProxy(routing);
+    }
+
+    // The outer DataSource bean has no close() of its own
+    @PreDestroy
+    void closePools() {
+        if (routing != null) {
+            routing.close();
+        }
+    }
+
+    // Every pool gets the spring.datasource.hikari.* settings (pool size, timeouts...), as Boot's would
+    private void configurePool(HikariDataSource pool, String name) {
+        Binder.get(environment).bind("spring.datasource.hikari", Bindable.ofInstance(pool));
+        pool.setPoolName(name);
+    }
+}
@@ -0,0 +1,159 @@
+// Package: puts this class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Connection pools (HikariCP, Spring Boot's default) and Spring's JDBC/transaction helpers
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BooleanSupplier;
+
+// ReplicaRoutingDataSource hands out connections to the primary database or to one of its read replicas.
+//
+// A connection comes from a replica when the caller allows it (replicaAllowed: a GET request, see
+// ReadYourWrites) and the statement doesn't belong to a write transaction, i.e. it runs in a
+// @Transactional(readOnly = true) one (Spring Data's findById/findAll...) or in none at all (our
+// @Query and derived finders, which Spring Data runs without a transaction). Everything else goes
+// to the primary.
+//
+// Replicas take turns (round-robin), skipping those that failed their last health check. A replica
+// that can't hand out a connection is marked down on the spot and the primary serves the read
+// instead; the health check brings it back once it answers again. With no healthy replica,
+// everything goes to the primary.
+//
+// Transactions ask for their connection before Spring marks them read-only, so this must sit behind
+// a LazyConnectionDataSourceProxy (see ReplicaRoutingConfig): the real connection is only fetched
+// when the first statement runs.
+final class ReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    private static final Logger log = LoggerFactory.getLogger(ReplicaRoutingDataSource.class);
+
+    // Seconds a health check waits for a replica to answer
+    private static final int VALIDATION_TIMEOUT_SECONDS = 2;
+
+    private final HikariDataSource primary;
+    private final List<Replica> replicas;
+    private final BooleanSupplier replicaAllowed;
+
+    // Round-robin position
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final ScheduledExecutorService healthChecks = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "replica-health-check");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    ReplicaRoutingDataSource(HikariDataSource primary, List<HikariDataSource> replicas,
+                             BooleanSupplier replicaAllowed, Duration healthCheckInterval) {
+        this.primary = primary;
+        this.replicas = replicas.stream().map(Replica::new).toList();
+        this.replicaAllowed = replicaAllowed;
+        // Replicas start out down: nothing is read from them until a first check succeeds
+        healthChecks.scheduleWithFixedDelay(this::checkReplicas, 0, healthCheckInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Replica replica = pickReplica();
+        if (replica != null) {
+            try {
+                return replica.pool.getConnection();
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage()); // fall through to the primary
+            }
+        }
+        return primary.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return primary.getConnection(username, password); // other credentials: not ours to route
+    }
+
+    // Ping every replica; called on a schedule (and directly by tests)
+    void checkReplicas() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection()) {
+                if (connection.isValid(VALIDATION_TIMEOUT_SECONDS)) {
+                    replica.markUp();
+                } else {
+                    replica.markDown("connection is not valid");
+                }
+            } catch (SQLException e) {
+                replica.markDown(e.getMessage());
+            }
+        }
+    }
+
+    // Number of replicas reads can go to right now
+    int healthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    @Override
+    public void close() {
+        healthChecks.shutdownNow();
+        replicas.forEach(replica -> replica.pool.close());
+        primary.close();
+    }
+
+    // A healthy replica for the current read, or null if it should go to the primary
+    private Replica pickReplica() {
+        boolean readOnly = TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+                || !TransactionSynchronizationManager.isActualTransactionActive();
+        if (replicas.isEmpty() || !readOnly || !replicaAllowed.getAsBoolean()) {
+            return null;
+        }
+        int start = Math.floorMod(next.getAndIncrement(), replicas.size());
+        for (int i = 0; i < replicas.size(); i++) {
+            Replica replica = replicas.get((start + i) % replicas.size());
+            if (replica.healthy) {
+                return replica;
+            }
+        }
+        return null;
+    }
+
+    // One replica's pool and its last known state
+    private static final class Replica {
+        final HikariDataSource pool;
+        volatile boolean healthy;
+
+        Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        synchronized void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info("Read replica {} is up", pool.getPoolName());
+            }
+        }
+
+        synchronized void markDown(String reason) {
+            if (healthy) {
+                healthy = false;
+                log.warn("Read replica {} is down, reading from the primary: {}", pool.getPoolName(), reason);
+            }
+            // Its pooled connections may be broken too: replace them once it's back
+            HikariPoolMXBean mxBean = pool.getHikariPoolMXBean();
+            if (mxBean != null) {
+                mxBean.softEvictConnections();
+            }
+        }
+    }
+}
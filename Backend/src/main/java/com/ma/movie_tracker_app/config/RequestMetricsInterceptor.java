@@ -0,0 +1,140 @@
+// Package: puts this class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Metrics (Micrometer, exported by Spring Boot Actuator)
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+// Spring MVC interceptor API
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+// Our services
+import com.ma.movie_tracker_app.service.QueryStats;
+
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+// RequestMetricsInterceptor measures every call to one of our controllers (the
+// com.ma.movie_tracker_app.controller package) and records, tagged with the handler
+// (e.g. "UserMovieListController.getList"):
+//
+//   app.requests.sql.statements   SQL statements executed by the request (histogram)
+//   app.requests.sql.time         time spent executing them (histogram)
+//   app.requests.time             total time in the controller, including view/JSON rendering (histogram)
+//   app.requests.sql.over-budget  requests that executed more than the threshold (counter)
+//
+// A request over the threshold is also logged as a warning: that many statements for one call
+// almost always means an N+1 pattern (one query per row of an earlier query).
+//
+// Statements run on other threads (import jobs, streamed export bodies) are not counted.
+public class RequestMetricsInterceptor implements AsyncHandlerInterceptor {
+
+    private static final Logger log = LoggerFactory.getLogger(RequestMetricsInterceptor.class);
+    private static final String CONTROLLER_PACKAGE = "com.ma.movie_tracker_app.controller";
+
+    // Request attributes holding this request's scope and start time
+    private static final String SCOPE = RequestMetricsInterceptor.class.getName() + ".SCOPE";
+    private static final String STARTED = RequestMetricsInterceptor.class.getName() + ".STARTED";
+
+    private final MeterRegistry registry;
+    private final int threshold;
+
+    // Handler method → its meters (looked up once, not on every request)
+    private final Map<Method, Meters> meters = new ConcurrentHashMap<>();
+
+    public RequestMetricsInterceptor(MeterRegistry registry, int threshold) {
+        this.registry = registry;
+        this.threshold = threshold;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // The dispatch that finishes an async request is part of the request measured already
+        if (request.getDispatcherType() == DispatcherType.ASYNC || !isOurs(handler)) {
+            return true;
+        }
+        request.setAttribute(STARTED, System.nanoTime());
+        request.setAttribute(SCOPE, QueryStats.start());
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        // Async/streamed response: the rest runs on another thread; record what ran on this one
+        afterCompletion(request, response, handler, null);
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        if (!(request.getAttribute(SCOPE) instanceof QueryStats.Scope scope)) {
+            return;
+        }
+        request.removeAttribute(SCOPE);
+        QueryStats.Snapshot stats = QueryStats.stop(scope);
+        long elapsed = System.nanoTime() - (Long) request.getAttribute(STARTED);
+
+        HandlerMethod method = (HandlerMethod) handler;
+        Meters m = meters.computeIfAbsent(method.getMethod(), key -> new Meters(registry, name(method)));
+        m.statements.record(stats.statements());
+        m.sqlTime.record(stats.jdbcNanos(), TimeUnit.NANOSECONDS);
+        m.time.record(elapsed, TimeUnit.NANOSECONDS);
+
+        if (stats.statements() > threshold) {
+            m.overBudget.increment();
+            log.warn("{} {} ({}) executed {} SQL statements (threshold {}), possible N+1",
+                    request.getMethod(), request.getRequestURI(), name(method), stats.statements(), threshold);
+        }
+    }
+
+    private static boolean isOurs(Object handler) {
+        return handler instanceof HandlerMethod method
+                && method.getBeanType().getPackageName().equals(CONTROLLER_PACKAGE);
+    }
+
+    private static String name(HandlerMethod method) {
+        return method.getBeanType().getSimpleName() + "." + method.getMethod().getName();
+    }
+
+    // The four meters of one handler
+    private static final class Meters {
+        final DistributionSummary statements;
+        final Timer sqlTime;
+        final Timer time;
+        final Counter overBudget;
+
+        Meters(MeterRegistry registry, String handler) {
+            statements = DistributionSummary.builder("app.requests.sql.statements")
+                    .description("SQL statements executed per request")
+                    .baseUnit("statements")
+                    .tag("handler", handler)
+                    .publishPercentileHistogram()
+                    .maximumExpectedValue(1000.0)
+                    .register(registry);
+            sqlTime = Timer.builder("app.requests.sql.time")
+                    .description("Time spent executing SQL per request")
+                    .tag("handler", handler)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            time = Timer.builder("app.requests.time")
+                    .description("Time spent handling the request")
+                    .tag("handler", handler)
+                    .publishPercentileHistogram()
+                    .register(registry);
+            overBudget = Counter.builder("app.requests.sql.over-budget")
+                    .description("Requests that executed more SQL statements than metrics.sql.statement-threshold")
+                    .tag("handler", handler)
+                    .register(registry);
+        }
+    }
+}
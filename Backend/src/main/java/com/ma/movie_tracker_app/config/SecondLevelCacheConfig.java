@@ -0,0 +1,95 @@
+// Package: puts this configuration class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Import Spring annotations
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// Hibernate's JCache integration and the Caffeine JCache provider
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.jcache.MissingCacheStrategy;
+import org.hibernate.cache.spi.RegionFactory;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import javax.cache.spi.CachingProvider;
+import java.net.URI;
+import java.util.OptionalLong;
+import java.util.UUID;
+
+// SecondLevelCacheConfig sets up Hibernate's second-level cache for the catalog (Movies and Shows).
+//
+// A catalog row is written once, when the first user adds the title, and never changes afterwards;
+// every list add/remove looks it up again by tmdbId. With the cache:
+//   - findByTmdbId goes through the natural-id cache (tmdbId → id) and the entity cache (id → row),
+//     so a hot title is served from memory with no query at all (see MoviesRepositoryCustomImpl)
+//   - findByTmdbIdIn (bulk list endpoints) is a cacheable query: its result ids stay in the query
+//     cache until the table is written to. The catalog pages are not cached: the search index
+//     rebuild walks every page once at startup, which would only churn the query cache.
+//
+// The caches are local to each app instance and bounded by entry count (Caffeine, LRU-like
+// eviction). Catalog rows are immutable, so one instance can't serve another's stale copy.
+// Hit/miss counts per region are exported as hibernate.second.level.cache.requests,
+// hibernate.cache.natural.id.requests and hibernate.cache.query.requests (see /actuator/metrics).
+@Configuration
+public class SecondLevelCacheConfig {
+
+    // Region names used by @Cache / @NaturalIdCache on the entities
+    public static final String MOVIES = "catalog.movies";
+    public static final String MOVIES_BY_TMDB_ID = "catalog.movies.tmdb-id";
+    public static final String SHOWS = "catalog.shows";
+    public static final String SHOWS_BY_TMDB_ID = "catalog.shows.tmdb-id";
+
+    // Max rows (and natural ids) kept per entity region
+    @Value("${catalog.l2-cache.max-entries:50000}")
+    private long maxEntries;
+
+    // Max cached query results
+    @Value("${catalog.l2-cache.query-max-entries:2000}")
+    private long queryMaxEntries;
+
+    @Bean(destroyMethod = "close")
+    CacheManager secondLevelCacheManager() {
+        CachingProvider provider = Caching.getCachingProvider(CaffeineCachingProvider.class.getName());
+        // A URI of its own: every Spring context (e.g. in tests) gets its own set of caches
+        CacheManager manager = provider.getCacheManager(
+                URI.create("urn:second-level-cache:" + UUID.randomUUID()), getClass().getClassLoader());
+
+        for (String region : new String[]{MOVIES, MOVIES_BY_TMDB_ID, SHOWS, SHOWS_BY_TMDB_ID}) {
+            manager.createCache(region, bounded(maxEntries));
+        }
+        manager.createCache(RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME, bounded(queryMaxEntries));
+        // Last write time per table (a handful of entries): must never be evicted, or cached
+        // query results could outlive a write
+        manager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, byReference());
+        return manager;
+    }
+
+    // Hand the caches to Hibernate. A region without a cache here is a startup error, not an
+    // unbounded cache created on the fly.
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager secondLevelCacheManager) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+            properties.put(ConfigSettings.MISSING_CACHE_STRATEGY, MissingCacheStrategy.FAIL.getExternalRepresentation());
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> bounded(long maxSize) {
+        CaffeineConfiguration<Object, Object> configuration = byReference();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        return configuration;
+    }
+
+    // Keep references: JCache's default (store by value) would serialize a copy on every get/put,
+    // and Hibernate's cache entries are already detached copies of the row
+    private static CaffeineConfiguration<Object, Object> byReference() {
+        CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setStoreByValue(false);
+        return configuration;
+    }
+}
@@ -0,0 +1,50 @@
+// Package: puts this configuration class in the "config" folder
+package com.ma.movie_tracker_app.config;
+
+// Import Spring annotations for configuration and bean creation
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.task.TaskExecutionAutoConfiguration;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+
+// Logging so it's obvious which mode the server runs in
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.Executors;
+
+// VirtualThreadsConfig is the opt-in "virtual threads" mode (server.virtual-threads=true, JDK 21+).
+//
+// By default Tomcat runs every request on a fixed pool of platform threads (server.tomcat.threads.max).
+// Our controllers block on JDBC and on TMDB calls, so when the database is slow all those threads sit
+// waiting and new requests queue, even though the CPU is idle.
+//
+// In this mode:
+//   - Tomcat hands every request to a new virtual thread (cheap, one per request, no pool to run out of)
+//   - Spring MVC async work (e.g. the streamed library export) also runs on virtual threads
+//   - TMDB requests made while handling a request run on that request's virtual thread
+//
+// The limit then moves to the JDBC pool (spring.datasource.hikari.maximum-pool-size): waiting for a
+// connection parks a virtual thread instead of holding a platform thread.
+@Configuration
+@ConditionalOnProperty(name = "server.virtual-threads", havingValue = "true")
+public class VirtualThreadsConfig {
+
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadsConfig.class);
+
+    // Run Tomcat's request processing on virtual threads
+    @Bean
+    public TomcatProtocolHandlerCustomizer<?> virtualThreadProtocolHandler() {
+        log.info("Handling requests on virtual threads");
+        return protocolHandler -> protocolHandler.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+    }
+
+    // Replace Boot's default task executor (used for MVC async requests like StreamingResponseBody)
+    @Bean(name = TaskExecutionAutoConfiguration.APPLICATION_TASK_EXECUTOR_BEAN_NAME)
+    public AsyncTaskExecutor applicationTaskExecutor() {
+        return new TaskExecutorAdapter(Executors.newVirtualThreadPerTaskExecutor());
+    }
+}
@@ -9,8 +9,15 @@ import org.springframework.http.*;
 // the model + repository for accessing users in the database
 import com.ma.movie_tracker_app.model.User;
 import com.ma.movie_tracker_app.model.UserRepository;
-
-// For working with the HTTP session (stores logged-in username)
+import com.ma.movie_tracker_app.config.RateLimitInterceptor;
+import com.ma.movie_tracker_app.service.RateLimiter;
+import com.ma.movie_tracker_app.service.PasswordHasher;
+import com.ma.movie_tracker_app.service.PasswordHasher.HashingBusyException;
+import com.ma.movie_tracker_app.service.SessionTokens;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+
+// For working with the HTTP session (stores logged-in username) in session mode
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpSession;
 
 // Utility types for building JSON-like responses
@@ -27,12 +34,28 @@ public class AuthenticationController {
     @Autowired
     private UserRepository userRepo;
 
+    // Remembers the logged-in user's id in the session, so list endpoints don't look it up again
+    @Autowired
+    private UserIdResolver userIds;
+
+    // bcrypt hashing on its own bounded thread pool (so login bursts can't starve other requests)
+    @Autowired
+    private PasswordHasher passwords;
+
+    // Signed tokens for the stateless mode (auth.mode=token) — no HttpSession is created then
+    @Autowired
+    private SessionTokens tokens;
+
+    // Login limit per submitted username (absent when rate-limit.enabled=false, see RateLimitConfig)
+    @Autowired(required = false)
+    private RateLimitInterceptor authRateLimit;
+
     // --------- Register ---------
     // POST /api/user/register
     @PostMapping("/register")
     // @RequestBody tells Spring to parse the JSON body into a User object
-    // HttpSession lets us store data (like USERNAME) across requests
-    public ResponseEntity<Map<String, String>> register(@RequestBody User user, HttpSession session) {
+    // The request gives access to the session (session mode) — it is only created when needed
+    public ResponseEntity<Map<String, String>> register(@RequestBody User user, HttpServletRequest request) {
         // We'll return a JSON map like {"message": "...", "username": "..."}
         Map<String, String> response = new HashMap<>();
 
@@ -43,37 +66,62 @@ public class AuthenticationController {
             return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
         }
 
+        // A password is required (there is nothing to hash otherwise)
+        if (user.getPassword() == null || user.getPassword().isEmpty()) {
+            response.put("message", "Password is required");
+            return ResponseEntity.badRequest().body(response);
+        }
+
+        // Store only a bcrypt hash of the password, never the password itself
+        try {
+            user.setPassword(passwords.hash(user.getPassword()));
+        } catch (HashingBusyException e) {
+            return busy(response, e);
+        }
+
         // Save the new user to the database
         userRepo.save(user);
 
-        // Log the user in immediately by storing the username in the session
-        session.setAttribute("USERNAME", user.getUsername());
-
-        // Build success response
+        // Log the user in immediately (session or token, see signIn)
         response.put("message", "Registration successful");
-        response.put("username", user.getUsername());
-        // 200 OK with JSON body
-        return ResponseEntity.ok(response);
+        return signIn(user, request, response);
     }
 
     // --------- Login ---------
     // POST /api/user/login
     @PostMapping("/login")
-    public ResponseEntity<Map<String, String>> login(@RequestBody User user, HttpSession session) {
+    public ResponseEntity<Map<String, String>> login(@RequestBody User user, HttpServletRequest request) {
         Map<String, String> response = new HashMap<>();
 
+        // Too many attempts for this username (from any IP) → 429 before touching the database
+        RateLimiter.Decision limit = checkUsernameLimit(user);
+        if (!limit.allowed()) {
+            return tooManyRequests(response, limit);
+        }
+
         // Look up the user by username
         User userFound = userRepo.findByUsername(user.getUsername());
 
         // If user exists AND passwords match, authenticate them
-        if (userFound != null && userFound.getPassword().equals(user.getPassword())) {
-            // Save username in the session to mark them as logged-in
-            session.setAttribute("USERNAME", userFound.getUsername());
+        boolean matches;
+        try {
+            // Also checked (against a dummy hash) when the user doesn't exist: both take one bcrypt check
+            matches = passwords.matches(user.getPassword(), userFound == null ? null : userFound.getPassword())
+                    && userFound != null;
+
+            // Accounts from before hashing (plaintext) or with an older bcrypt strength
+            // get a fresh hash now that we know the password
+            if (matches && passwords.needsRehash(userFound.getPassword())) {
+                userFound.setPassword(passwords.hash(user.getPassword()));
+                userRepo.save(userFound);
+            }
+        } catch (HashingBusyException e) {
+            return busy(response, e);
+        }
 
-            // Build success response
+        if (matches) {
             response.put("message", "Login successful");
-            response.put("username", userFound.getUsername());
-            return ResponseEntity.ok(response);
+            return signIn(userFound, request, response);
         }
 
         // If not found or password mismatch, return 401 Unauthorized
@@ -81,21 +129,78 @@ public class AuthenticationController {
         return ResponseEntity.status(HttpStatus.UNAUTHORIZED).body(response);
     }
 
+    // Mark the user as logged in and build the 200 response:
+    // - session mode: store username (and id) in the HttpSession, as before
+    // - token mode: no session; the signed token goes into an HttpOnly cookie and the JSON body
+    private ResponseEntity<Map<String, String>> signIn(User user, HttpServletRequest request, Map<String, String> response) {
+        response.put("username", user.getUsername());
+        if (!tokens.enabled()) {
+            userIds.remember(request.getSession(), user);
+            return ResponseEntity.ok(response);
+        }
+
+        String token = tokens.issue(user);
+        response.put("token", token);
+        return ResponseEntity.ok()
+                .header(HttpHeaders.SET_COOKIE, tokens.cookie(token))
+                .body(response);
+    }
+
+    // Count the attempt against the submitted username (always allowed when rate limits are off)
+    private RateLimiter.Decision checkUsernameLimit(User user) {
+        return authRateLimit == null
+                ? new RateLimiter.Decision(true, 0)
+                : authRateLimit.tryAcquireUsername(user.getUsername());
+    }
+
+    // 429 + Retry-After, like the per-IP limit in RateLimitInterceptor
+    private ResponseEntity<Map<String, String>> tooManyRequests(Map<String, String> response, RateLimiter.Decision limit) {
+        response.put("message", authRateLimit.rejectionMessage(limit));
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(RateLimitInterceptor.retryAfterSeconds(limit)))
+                .body(response);
+    }
+
+    // 503 + Retry-After when the hashing pool is full: the client should try again shortly
+    private ResponseEntity<Map<String, String>> busy(Map<String, String> response, HashingBusyException e) {
+        response.put("message", e.getMessage());
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(response);
+    }
+
     // --------- Logout ---------
     // POST /api/user/logout
     @PostMapping("/logout")
-    public ResponseEntity<Map<String, String>> logout(HttpSession session) {
-        // Destroy the session; user is no longer authenticated
-        session.invalidate();
+    public ResponseEntity<Map<String, String>> logout(HttpServletRequest request) {
+        // Destroy the session (if there is one); user is no longer authenticated
+        HttpSession session = request.getSession(false);
+        if (session != null) {
+            session.invalidate();
+        }
+        // Token mode: drop the cookie (the token itself stays valid until it expires)
+        if (tokens.enabled()) {
+            return ResponseEntity.ok()
+                    .header(HttpHeaders.SET_COOKIE, tokens.clearCookie())
+                    .body(Map.of("message", "Logged out"));
+        }
         // Return a simple success message
         return ResponseEntity.ok(Map.of("message", "Logged out"));
     }
 
     // GET /api/user/me
     @GetMapping("/me")
-    public ResponseEntity<Map<String, Object>> me(HttpSession session) {
-        // Read the username stored in the session (set on login/register)
-        String username = (String) session.getAttribute("USERNAME");
+    public ResponseEntity<Map<String, Object>> me(HttpServletRequest request) {
+        // Token mode: the username comes from the verified token (no session lookup)
+        // Session mode: read the username stored in the session (set on login/register)
+        String username = null;
+        SessionTokens.TokenUser tokenUser = tokens.authenticate(request);
+        HttpSession session = request.getSession(false);
+        if (tokenUser != null) {
+            username = tokenUser.username();
+        } else if (session != null) {
+            username = (String) session.getAttribute(UserIdResolver.SESSION_USERNAME);
+        }
 
         // If not present, the user is not authenticated
         if (username == null) {
@@ -0,0 +1,120 @@
+// Package: puts this controller class under the "controller" package
+package com.ma.movie_tracker_app.controller;
+
+// Spring MVC imports for REST APIs
+import org.springframework.web.bind.annotation.*;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+
+// The TMDB proxy service (with its response cache)
+import com.ma.movie_tracker_app.service.TmdbCatalogService;
+import com.ma.movie_tracker_app.service.TmdbCatalogService.Endpoint;
+import com.ma.movie_tracker_app.service.TmdbCatalogService.UpstreamException;
+
+// For building the query parameter map and validating path values
+import java.util.Map;
+import java.util.Set;
+
+// @RestController → this class handles HTTP requests and returns JSON
+@RestController
+// Base path for all endpoints in this controller → /api/catalog
+// The paths below mirror TMDB's own paths, so the frontend only swaps the base URL.
+@RequestMapping("/api/catalog")
+public class CatalogController {
+
+    // Only these values are proxied, so clients can't use us to reach arbitrary TMDB paths
+    // or fill the cache with junk keys.
+    private static final Set<String> MEDIA_TYPES = Set.of("movie", "tv");
+    private static final Set<String> TIME_WINDOWS = Set.of("day", "week");
+    // TMDB only serves pages 1..500; anything else would just be another cache key
+    private static final int MAX_PAGE = 500;
+    // Longer search queries are rejected for the same reason
+    private static final int MAX_QUERY_LENGTH = 100;
+
+    // Inject the TMDB proxy service
+    @Autowired
+    private TmdbCatalogService catalogService;
+
+    // -------- GET /api/catalog/trending/{type}/{timeWindow}?page=... --------
+    @GetMapping("/trending/{type}/{timeWindow}")
+    public ResponseEntity<String> trending(
+            @PathVariable String type,
+            @PathVariable String timeWindow,
+            @RequestParam(defaultValue = "1") int page
+    ) {
+        if (!MEDIA_TYPES.contains(type) || !TIME_WINDOWS.contains(timeWindow)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "Unknown media type or time window");
+        }
+        if (!validPage(page)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "page must be between 1 and " + MAX_PAGE);
+        }
+        return proxy(Endpoint.TRENDING, "/trending/" + type + "/" + timeWindow, Map.of("page", String.valueOf(page)));
+    }
+
+    // -------- GET /api/catalog/{type}/popular?page=... --------
+    @GetMapping("/{type}/popular")
+    public ResponseEntity<String> popular(@PathVariable String type, @RequestParam(defaultValue = "1") int page) {
+        if (!MEDIA_TYPES.contains(type)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "Unknown media type");
+        }
+        if (!validPage(page)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "page must be between 1 and " + MAX_PAGE);
+        }
+        return proxy(Endpoint.POPULAR, "/" + type + "/popular", Map.of("page", String.valueOf(page)));
+    }
+
+    // -------- GET /api/catalog/{type}/top_rated?page=... --------
+    @GetMapping("/{type}/top_rated")
+    public ResponseEntity<String> topRated(@PathVariable String type, @RequestParam(defaultValue = "1") int page) {
+        if (!MEDIA_TYPES.contains(type)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "Unknown media type");
+        }
+        if (!validPage(page)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "page must be between 1 and " + MAX_PAGE);
+        }
+        return proxy(Endpoint.TOP_RATED, "/" + type + "/top_rated", Map.of("page", String.valueOf(page)));
+    }
+
+    // -------- GET /api/catalog/search/{type}?query=...&page=... --------
+    @GetMapping("/search/{type}")
+    public ResponseEntity<String> search(
+            @PathVariable String type,
+            @RequestParam String query,
+            @RequestParam(defaultValue = "1") int page
+    ) {
+        if (!MEDIA_TYPES.contains(type)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "Unknown media type");
+        }
+        if (!validPage(page)) {
+            return error(HttpStatus.BAD_REQUEST.value(), "page must be between 1 and " + MAX_PAGE);
+        }
+        if (query.isBlank() || query.length() > MAX_QUERY_LENGTH) {
+            return error(HttpStatus.BAD_REQUEST.value(), "query must be 1 to " + MAX_QUERY_LENGTH + " characters");
+        }
+        // Trim + lowercase so "Dune", "dune " and "DUNE" share one cache entry (TMDB search is case-insensitive)
+        String normalized = query.trim().toLowerCase();
+        return proxy(Endpoint.SEARCH, "/search/" + type, Map.of("query", normalized, "page", String.valueOf(page)));
+    }
+
+    private static boolean validPage(int page) {
+        return page >= 1 && page <= MAX_PAGE;
+    }
+
+    // Call the service and wrap the raw JSON body in a response
+    private ResponseEntity<String> proxy(Endpoint endpoint, String apiPath, Map<String, String> params) {
+        try {
+            String body = catalogService.fetch(endpoint, apiPath, params);
+            return ResponseEntity.ok().contentType(MediaType.APPLICATION_JSON).body(body);
+        } catch (UpstreamException e) {
+            return error(e.getStatus(), e.getMessage());
+        }
+    }
+
+    // Build a {"message": "..."} error body like the other controllers do
+    private static ResponseEntity<String> error(int status, String message) {
+        String json = "{\"message\":\"" + message.replace("\"", "'") + "\"}";
+        return ResponseEntity.status(status).contentType(MediaType.APPLICATION_JSON).body(json);
+    }
+}
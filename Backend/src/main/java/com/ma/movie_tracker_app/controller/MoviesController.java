@@ -4,12 +4,20 @@ package com.ma.movie_tracker_app.controller;
 // Spring MVC imports for REST APIs
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 // Import your Movie entity and repository
 import com.ma.movie_tracker_app.model.Movies;
 import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.CatalogPage;
+import com.ma.movie_tracker_app.service.CatalogSearchService;
+import com.ma.movie_tracker_app.service.RecommendationService;
 
 // Import List for returning multiple movies
+import java.util.ArrayList;
 import java.util.List;
 
 // @RestController → this class handles HTTP requests and returns JSON
@@ -22,16 +30,100 @@ public class MoviesController {
     @Autowired
     private MoviesRepository movieRepo;
 
-    // -------- GET /api/movies --------
-    // Fetch all movies OR, if a title query parameter is given, search by title
-    @GetMapping
-    public List<Movies> getAll(@RequestParam(value="title", required=false) String title) {
-        // If client passed ?title=... in the URL, filter by title
-        if (title != null) {
-            return movieRepo.findByTitle(title);
+    // In-memory title search index (kept in sync on every save below)
+    @Autowired
+    private CatalogSearchService searchService;
+
+    // "Also favourited" recommendations (in memory, see RecommendationService)
+    @Autowired
+    private RecommendationService recommendations;
+
+    // Page size used when the client doesn't pass ?size=..., and the largest size we allow
+    @Value("${catalog.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${catalog.page.max-size:200}")
+    private int maxPageSize;
+
+    // -------- GET /api/movies?title=...&limit=... --------
+    // Search movies by title (only matches when the title query parameter is present).
+    // Served from the in-memory search index: prefix, case-insensitive and typo-tolerant,
+    // best matches first.
+    @GetMapping(params = "title")
+    public List<Movies> searchByTitle(
+            @RequestParam("title") String title,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        return searchService.searchMovies(title, Math.min(limit, maxPageSize));
+    }
+
+    // -------- GET /api/movies?sort=id|title&cursor=...&size=... --------
+    // Return one page of movies, ordered by id (default) or by title.
+    // The response carries "nextCursor"; pass it back as ?cursor=... to get the following page.
+    @GetMapping(params = "!title")
+    public CatalogPage<Movies> getAll(
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        if (!sort.equals("id") && !sort.equals("title")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be 'id' or 'title'");
+        }
+        // Clamp the page size between 1 and maxPageSize
+        int pageSize = Math.max(1, Math.min(size == null ? defaultPageSize : size, maxPageSize));
+
+        // No cursor → start before the first row
+        CatalogPage.Cursor after;
+        try {
+            after = cursor == null
+                    ? new CatalogPage.Cursor(sort, 0L, "")
+                    : CatalogPage.decodeCursor(cursor, sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        // Ask for one extra row: if it comes back, we know there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Movies> rows = sort.equals("title")
+                ? pageByTitle(after, pageSize + 1)
+                : movieRepo.findPageById(after.id(), limit);
+
+        if (rows.size() <= pageSize) {
+            return new CatalogPage<>(rows, null); // last page
+        }
+        List<Movies> items = rows.subList(0, pageSize);
+        Movies last = items.get(items.size() - 1);
+        String next = CatalogPage.encodeCursor(new CatalogPage.Cursor(sort, last.getId(), last.getTitle()));
+        return new CatalogPage<>(items, next);
+    }
+
+    // Title order: titled rows by (title, id), then the rows without a title by id.
+    // When the titled rows run out mid-page, the page is filled up with untitled ones.
+    private List<Movies> pageByTitle(CatalogPage.Cursor after, int rowCount) {
+        if (after.title() == null) {
+            return movieRepo.findUntitledPageById(after.id(), PageRequest.of(0, rowCount));
+        }
+        List<Movies> rows = movieRepo.findPageByTitle(after.title(), after.id(), PageRequest.of(0, rowCount));
+        if (rows.size() == rowCount) {
+            return rows;
+        }
+        List<Movies> filled = new ArrayList<>(rows);
+        filled.addAll(movieRepo.findUntitledPageById(0, PageRequest.of(0, rowCount - rows.size())));
+        return filled;
+    }
+
+    // -------- GET /api/movies/{tmdbId}/recommendations?limit=... --------
+    // The movies most often in the same users' favourites or watched lists as this one, best
+    // first. 404 if the movie isn't in our catalog; an empty list if too few users have it yet.
+    @GetMapping("/{tmdbId}/recommendations")
+    public List<Movies> recommendations(
+            @PathVariable Long tmdbId,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        Movies movie = movieRepo.findByTmdbId(tmdbId);
+        if (movie == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown movie");
         }
-        // Otherwise, return all movies in the database
-        return movieRepo.findAll();
+        return recommendations.similarMovies(movie, Math.max(0, Math.min(limit, maxPageSize)));
     }
 
     // -------- POST /api/movies --------
@@ -40,7 +132,10 @@ public class MoviesController {
     @PostMapping
     public Movies add(@RequestBody Movies movie) {
         // Save the movie and return the saved entity as JSON
-        return movieRepo.save(movie);
+        Movies saved = movieRepo.save(movie);
+        // Make the new/updated title searchable right away
+        searchService.indexMovie(saved);
+        return saved;
     }
 }
 
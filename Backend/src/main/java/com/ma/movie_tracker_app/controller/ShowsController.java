@@ -4,12 +4,20 @@ package com.ma.movie_tracker_app.controller;
 // Spring MVC annotations for REST APIs
 import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
 
 // Import your Show entity and repository
 import com.ma.movie_tracker_app.model.Shows;
 import com.ma.movie_tracker_app.model.ShowsRepository;
+import com.ma.movie_tracker_app.model.CatalogPage;
+import com.ma.movie_tracker_app.service.CatalogSearchService;
+import com.ma.movie_tracker_app.service.RecommendationService;
 
 // Import List for returning multiple shows
+import java.util.ArrayList;
 import java.util.List;
 
 // @RestController → this class will handle HTTP requests and return JSON responses
@@ -22,16 +30,100 @@ public class ShowsController {
     @Autowired
     private ShowsRepository showRepo;
 
-    // -------- GET /api/shows --------
-    // Fetch all shows OR search by title if query parameter ?title=... is provided
-    @GetMapping
-    public List<Shows> getAll(@RequestParam(value="title", required=false) String title) {
-        // If client sends a query like /api/shows?title=Friends → search by title
-        if (title != null) {
-            return showRepo.findByTitle(title);
+    // In-memory title search index (kept in sync on every save below)
+    @Autowired
+    private CatalogSearchService searchService;
+
+    // "Also favourited" recommendations (in memory, see RecommendationService)
+    @Autowired
+    private RecommendationService recommendations;
+
+    // Page size used when the client doesn't pass ?size=..., and the largest size we allow
+    @Value("${catalog.page.default-size:50}")
+    private int defaultPageSize;
+    @Value("${catalog.page.max-size:200}")
+    private int maxPageSize;
+
+    // -------- GET /api/shows?title=...&limit=... --------
+    // Search shows by title (only matches when the title query parameter is present).
+    // Served from the in-memory search index: prefix, case-insensitive and typo-tolerant,
+    // best matches first.
+    @GetMapping(params = "title")
+    public List<Shows> searchByTitle(
+            @RequestParam("title") String title,
+            @RequestParam(value = "limit", defaultValue = "20") int limit
+    ) {
+        return searchService.searchShows(title, Math.min(limit, maxPageSize));
+    }
+
+    // -------- GET /api/shows?sort=id|title&cursor=...&size=... --------
+    // Return one page of shows, ordered by id (default) or by title.
+    // The response carries "nextCursor"; pass it back as ?cursor=... to get the following page.
+    @GetMapping(params = "!title")
+    public CatalogPage<Shows> getAll(
+            @RequestParam(value = "sort", defaultValue = "id") String sort,
+            @RequestParam(value = "cursor", required = false) String cursor,
+            @RequestParam(value = "size", required = false) Integer size
+    ) {
+        if (!sort.equals("id") && !sort.equals("title")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "sort must be 'id' or 'title'");
+        }
+        // Clamp the page size between 1 and maxPageSize
+        int pageSize = Math.max(1, Math.min(size == null ? defaultPageSize : size, maxPageSize));
+
+        // No cursor → start before the first row
+        CatalogPage.Cursor after;
+        try {
+            after = cursor == null
+                    ? new CatalogPage.Cursor(sort, 0L, "")
+                    : CatalogPage.decodeCursor(cursor, sort);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+
+        // Ask for one extra row: if it comes back, we know there is a next page
+        PageRequest limit = PageRequest.of(0, pageSize + 1);
+        List<Shows> rows = sort.equals("title")
+                ? pageByTitle(after, pageSize + 1)
+                : showRepo.findPageById(after.id(), limit);
+
+        if (rows.size() <= pageSize) {
+            return new CatalogPage<>(rows, null); // last page
+        }
+        List<Shows> items = rows.subList(0, pageSize);
+        Shows last = items.get(items.size() - 1);
+        String next = CatalogPage.encodeCursor(new CatalogPage.Cursor(sort, last.getId(), last.getTitle()));
+        return new CatalogPage<>(items, next);
+    }
+
+    // Title order: titled rows by (title, id), then the rows without a title by id.
+    // When the titled rows run out mid-page, the page is filled up with untitled ones.
+    private List<Shows> pageByTitle(CatalogPage.Cursor after, int rowCount) {
+        if (after.title() == null) {
+            return showRepo.findUntitledPageById(after.id(), PageRequest.of(0, rowCount));
+        }
+        List<Shows> rows = showRepo.findPageByTitle(after.title(), after.id(), PageRequest.of(0, rowCount));
+        if (rows.size() == rowCount) {
+            return rows;
+        }
+        List<Shows> filled = new ArrayList<>(rows);
+        filled.addAll(showRepo.findUntitledPageById(0, PageRequest.of(0, rowCount - rows.size())));
+        return filled;
+    }
+
+    // -------- GET /api/shows/{tmdbId}/recommendations?limit=... --------
+    // The shows most often in the same users' favourites or watched lists as this one, best
+    // first. 404 if the show isn't in our catalog; an empty list if too few users have it yet.
+    @GetMapping("/{tmdbId}/recommendations")
+    public List<Shows> recommendations(
+            @PathVariable Long tmdbId,
+            @RequestParam(value = "limit", defaultValue = "10") int limit
+    ) {
+        Shows show = showRepo.findByTmdbId(tmdbId);
+        if (show == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Unknown show");
         }
-        // If no title param → return all shows
-        return showRepo.findAll();
+        return recommendations.similarShows(show, Math.max(0, Math.min(limit, maxPageSize)));
     }
 
     // -------- POST /api/shows --------
@@ -40,7 +132,10 @@ public class ShowsController {
     @PostMapping
     public Shows add(@RequestBody Shows show) {
         // Save the show and return the saved entity as JSON
-        return showRepo.save(show);
+        Shows saved = showRepo.save(show);
+        // Make the new/updated title searchable right away
+        searchService.indexShow(saved);
+        return saved;
     }
 }
 
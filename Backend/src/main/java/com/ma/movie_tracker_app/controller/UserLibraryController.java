@@ -0,0 +1,196 @@
+// Package: puts this controller under "controller"
+package com.ma.movie_tracker_app.controller;
+
+// Spring MVC + Spring core imports
+import org.springframework.web.bind.annotation.*;
+import org.springframework.beans.factory.annotation.Autowired;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.config.ContentNegotiationConfig;
+import com.ma.movie_tracker_app.model.*;
+import com.ma.movie_tracker_app.service.LibraryExportService;
+import com.ma.movie_tracker_app.service.LibraryImportService;
+import com.ma.movie_tracker_app.service.ListChangeFeed;
+import com.ma.movie_tracker_app.service.ListChangeFeed.FeedBusyException;
+import com.ma.movie_tracker_app.service.ListVersions;
+import com.ma.movie_tracker_app.service.LibraryImportService.ImportBusyException;
+import com.ma.movie_tracker_app.service.LibraryImportService.ImportStatus;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+
+// For streaming the export straight to the response
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.multipart.MultipartFile;
+
+// For reading the logged-in user from the session
+import jakarta.servlet.http.HttpServletRequest;
+
+// For empty results and import temp files
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+
+// @RestController → this class handles HTTP requests and returns JSON
+@RestController
+// Base path: /api/user/library
+@RequestMapping("/api/user/library")
+public class UserLibraryController {
+
+    @Autowired
+    private UserIdResolver userIds;                    // Username → user id (session, then cache, then DB)
+    @Autowired
+    private UserMovieListRepository userMovieListRepo; // Movie list entries
+    @Autowired
+    private UserShowListRepository userShowListRepo;   // Show list entries
+    @Autowired
+    private LibraryExportService exportService;        // Streams the library as NDJSON/CSV
+    @Autowired
+    private LibraryImportService importService;        // Imports watch history in the background
+    @Autowired
+    private ListVersions listVersions;                 // Version counters → ETag for the library
+    @Autowired
+    private ListChangeFeed changeFeed;                 // Live list changes (Server-Sent Events)
+
+    // -------- GET /api/user/library?username=... --------
+    // All of a user's movie and show lists grouped by type, in one request.
+    // Replaces one GET /api/user/{movielist|showlist}/{type} call per list page and media kind:
+    // the whole library costs one query per media kind.
+    // Like the list GETs, it answers If-None-Match with 304 (no queries) while nothing changed.
+    @GetMapping
+    public ResponseEntity<UserLibrary> getLibrary(
+            @RequestParam String username, // Query param: username
+            HttpServletRequest request,    // Used to read the logged-in user's id from the session
+            WebRequest webRequest          // Used for the If-None-Match check
+    ) {
+        Long userId = userIds.resolve(username, request);
+        if (userId == null) {
+            return ResponseEntity.ok(new UserLibrary(Map.of(), Map.of())); // Unknown user → empty library
+        }
+
+        String eTag = listVersions.libraryETag(userId); // read BEFORE the queries (null when turned off)
+        eTag = ContentNegotiationConfig.negotiatedETag(eTag, webRequest); // one ETag per body format, Vary: Accept
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified
+        }
+
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate())
+                .body(new UserLibrary(
+                        UserLibrary.group(userMovieListRepo.findLibraryRowsByUserId(userId)),
+                        UserLibrary.group(userShowListRepo.findLibraryRowsByUserId(userId))));
+    }
+
+    // -------- GET /api/user/library/events?username=... --------
+    // Live changes to all of the user's lists as Server-Sent Events (EventSource in the browser).
+    // After fetching its lists, a client opens this once and applies each "change" event (a ListChange)
+    // instead of refetching. On reconnect EventSource sends Last-Event-ID and gets what it missed;
+    // a "reset" event means that wasn't possible and the lists should be fetched again.
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(
+            @RequestParam String username,                                            // Query param: username
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId, // Set by EventSource on reconnect
+            HttpServletRequest request
+    ) {
+        Long userId = userIds.resolve(username, request);
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The User was not found");
+        }
+        try {
+            return changeFeed.subscribe(userId, lastEventId);
+        } catch (FeedBusyException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        }
+    }
+
+    // -------- GET /api/user/library/export?username=...&format=ndjson|csv --------
+    // Download the whole library (every list, movies and shows).
+    // The rows are streamed from the database straight into the response, so this works the same
+    // for 100 or 100,000 entries without buffering them in memory.
+    @GetMapping("/export")
+    public ResponseEntity<StreamingResponseBody> export(
+            @RequestParam String username,                          // Query param: username
+            @RequestParam(defaultValue = "ndjson") String format,  // "ndjson" (default) or "csv"
+            HttpServletRequest request
+    ) {
+        Long userId = userIds.resolve(username, request);
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The User was not found");
+        }
+
+        // Pick the writer and the content type for the requested format
+        StreamingResponseBody body;
+        MediaType contentType;
+        switch (format) {
+            case "ndjson" -> {
+                body = out -> exportService.writeNdjson(userId, out);
+                contentType = MediaType.parseMediaType("application/x-ndjson");
+            }
+            case "csv" -> {
+                body = out -> exportService.writeCsv(userId, out);
+                contentType = MediaType.parseMediaType("text/csv;charset=UTF-8");
+            }
+            default -> throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be ndjson or csv");
+        }
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"library." + format + "\"")
+                .body(body);
+    }
+
+    // -------- POST /api/user/library/import?username=...&format=csv|json --------
+    // Import watch history from another tracker (multipart upload, field name "file").
+    // The file uses the export's columns/fields; JSON may be an array or one object per line.
+    // Returns 202 with a job id right away; the rows are written in the background.
+    @PostMapping("/import")
+    public ResponseEntity<ImportStatus> importLibrary(
+            @RequestParam String username,                        // Query param: username
+            @RequestParam(defaultValue = "json") String format,  // "json" (default) or "csv"
+            @RequestParam("file") MultipartFile file,            // The uploaded file
+            HttpServletRequest request
+    ) throws IOException {
+        if (!format.equals("json") && !format.equals("csv")) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "format must be json or csv");
+        }
+        Long userId = userIds.resolve(username, request);
+        if (userId == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "The User was not found");
+        }
+
+        // The upload is gone once this request ends, so the job works from its own copy
+        Path copy = Files.createTempFile("library-import-", "." + format);
+        try {
+            file.transferTo(copy);
+            return ResponseEntity.status(HttpStatus.ACCEPTED).body(importService.submit(userId, copy, format));
+        } catch (ImportBusyException e) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE, e.getMessage());
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(copy);
+            throw e;
+        }
+    }
+
+    // -------- GET /api/user/library/import/{jobId}?username=... --------
+    // Progress of an import: state (queued/running/done/failed) and processed/added/skipped/failed counts
+    @GetMapping("/import/{jobId}")
+    public ImportStatus importStatus(
+            @PathVariable String jobId,
+            @RequestParam String username,
+            HttpServletRequest request
+    ) {
+        ImportStatus status = importService.status(jobId, userIds.resolve(username, request));
+        if (status == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "No such import");
+        }
+        return status;
+    }
+}
@@ -6,11 +6,24 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
 // Import models and repositories
+import com.ma.movie_tracker_app.config.ContentNegotiationConfig;
 import com.ma.movie_tracker_app.model.*;
+import com.ma.movie_tracker_app.service.CatalogService;
+import com.ma.movie_tracker_app.service.ListChangeFeed;
+import com.ma.movie_tracker_app.service.ListVersions;
+import com.ma.movie_tracker_app.service.UserListBulkService;
+import com.ma.movie_tracker_app.service.UserListBulkService.BulkResult;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.springframework.dao.DataIntegrityViolationException;
+
+// For reading the logged-in user from the session
+import jakarta.servlet.http.HttpServletRequest;
 
 // For building HTTP responses with proper status codes
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
 
 // For building JSON-like responses
 import java.util.Map;
@@ -25,61 +38,51 @@ public class UserMovieListController {
 
     // Inject repositories to work with database tables
     @Autowired
-    private UserRepository userRepo;                // For looking up users
+    private UserIdResolver userIds;                 // Username → user id (session, then cache, then DB)
     @Autowired
     private MoviesRepository movieRepo;             // For looking up or saving movies
     @Autowired
     private UserMovieListRepository userMovieListRepo; // For managing user ↔ movie links
+    @Autowired
+    private CatalogService catalogService;          // Finds or creates the shared movie row (one caller per title)
+    @Autowired
+    private UserListBulkService bulkService;        // Applies many adds/removes in one transaction
+    @Autowired
+    private ListVersions listVersions;              // Per-list version counters → ETags for GET
+    @Autowired
+    private ListChangeFeed changeFeed;              // Pushes each change to the user's open event feeds
 
     // -------- POST /api/user/movielist/{type}/add --------
     // Add a movie to a user's list (watchlist, favourites, or watched)
     @PostMapping("/{type}/add")
     public ResponseEntity<Map<String, String>> addList(
             @PathVariable String type,         // The list type (from URL path)
-            @RequestBody UserMovieListDTO dto  // DTO sent in JSON body
+            @RequestBody UserMovieListDTO dto,  // DTO sent in JSON body
+            HttpServletRequest request         // Used to read the logged-in user's id from the session
     ) {
-        // Find the user from the username
-        User userFound = userRepo.findByUsername(dto.username());
+        Map<String, String> response = new HashMap<>();
 
-        // Try to find the movie by TMDB ID
-        Movies movie = movieRepo.findByTmdbId(dto.tmdbId());
+        // Resolve the user id from the session (or the id cache) → usually no query at all
+        Long userId = userIds.resolve(dto.username(), request);
+
+        // Find the movie by TMDB ID, or create it if it's not in the DB yet.
+        // Concurrent adds of the same title share one lookup/INSERT.
+        Movies movie = userId == null ? null : catalogService.findOrCreateMovie(dto);
 
-        // If movie not in DB yet, create and save a new one
         if (movie == null) {
-            movie = new Movies();
-            movie.setTmdbId(dto.tmdbId());
-            movie.setTitle(dto.title());
-            movie.setReleaseYear(dto.releaseYear());
-            movie.setGenre(dto.genre());
-            movie.setDescription(dto.description());
-            movie.setDirector(dto.director());
-            movie.setImageUrl(dto.imageUrl());
-            movie = movieRepo.save(movie); // persist to DB
+            // If user or movie not found
+            response.put("message", "The User or Movie was not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
 
-        // Build response message
-        Map<String, String> response = new HashMap<>();
-
-        if (userFound != null && movie != null) {
-            // Check if entry already exists
-            UserMovieList existing = userMovieListRepo.findByUserAndMovieAndType(userFound, movie, type);
-
-            // If not already in list, create and save it
-            if (existing == null) {
-                UserMovieList userMovieList = new UserMovieList();
-                userMovieList.setUser(userFound);
-                userMovieList.setMovie(movie);
-                userMovieList.setType(type);
-                userMovieListRepo.save(userMovieList);
-            }
-
-            response.put("message", "Has been added to " + type);
-            return ResponseEntity.ok(response); // 200 OK
+        // Add the list entry in ONE statement: the unique index turns a duplicate add into a no-op
+        if (userMovieListRepo.insertIfAbsent(userId, movie.getId(), type) == 1) {
+            listVersions.bump(userId, "movie", type); // cached copies of this list are now stale
+            changeFeed.publish(userId, new ListChange("movie", type, List.of(UserListItem.of(movie)), List.of()));
         }
 
-        // If user or movie not found
-        response.put("message", "The User or Movie was not found");
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        response.put("message", "Has been added to " + type);
+        return ResponseEntity.ok(response); // 200 OK
     }
 
     // -------- POST /api/user/movielist/{type}/remove --------
@@ -87,17 +90,21 @@ public class UserMovieListController {
     @PostMapping("/{type}/remove")
     public ResponseEntity<Map<String, String>> removeList(
             @PathVariable String type,         // List type
-            @RequestBody UserMovieListDTO dto  // DTO with username + tmdbId
+            @RequestBody UserMovieListDTO dto,  // DTO with username + tmdbId
+            HttpServletRequest request
     ) {
-        User userFound = userRepo.findByUsername(dto.username());
-        Movies movie = movieRepo.findByTmdbId(dto.tmdbId());
-
         Map<String, String> response = new HashMap<>();
+        Long userId = userIds.resolve(dto.username(), request);
 
-        if (userFound != null && movie != null) {
-            // Delete the entry (Spring Data JPA builds the query automatically)
-            userMovieListRepo.deleteByUserAndMovieAndType(userFound, movie, type);
+        // Delete the entry in ONE statement (the movie is resolved inside the DELETE)
+        int deleted = userId == null ? 0 : userMovieListRepo.deleteByUserIdAndTmdbIdAndType(userId, dto.tmdbId(), type);
+        if (deleted > 0) {
+            listVersions.bump(userId, "movie", type);
+            changeFeed.publish(userId, new ListChange("movie", type, List.of(), List.of(dto.tmdbId())));
+        }
 
+        // 0 rows means "wasn't in the list" (fine) or "no such user/movie" (404)
+        if (deleted > 0 || (userId != null && movieRepo.findByTmdbId(dto.tmdbId()) != null)) {
             response.put("message", "Has been removed from " + type);
             return ResponseEntity.ok(response); // 200 OK
         }
@@ -106,16 +113,71 @@ public class UserMovieListController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    // -------- POST /api/user/movielist/{type}/bulk --------
+    // Add and/or remove many movies in one call (e.g. "mark this collection as watched").
+    // Body: {"username": "...", "add": [{tmdbId, title, ...}, ...], "remove": [tmdbId, ...]}
+    @PostMapping("/{type}/bulk")
+    public ResponseEntity<Map<String, Object>> bulk(
+            @PathVariable String type,         // List type
+            @RequestBody UserMovieListBulkDTO dto,   // Username + adds + removes
+            HttpServletRequest request
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        List<UserMovieListDTO> adds = dto.add() == null ? List.of() : dto.add();
+        List<Long> removes = dto.remove() == null ? List.of() : dto.remove();
+
+        // Keep each request (and its transaction) bounded
+        if (adds.size() + removes.size() > bulkService.getMaxOperations()) {
+            response.put("message", "Too many operations (max " + bulkService.getMaxOperations() + ")");
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+        }
+
+        Long userId = userIds.resolve(dto.username(), request);
+        if (userId == null) {
+            response.put("message", "The User was not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        try {
+            BulkResult result = bulkService.applyMovieChanges(userId, type, adds, removes);
+            response.put("message", "Applied changes to " + type);
+            response.put("added", result.added());
+            response.put("removed", result.removed());
+            return ResponseEntity.ok(response); // 200 OK
+        } catch (DataIntegrityViolationException e) {
+            // Another request changed the same list at the same moment; nothing was applied
+            response.put("message", "The list changed while applying the changes, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
     // -------- GET /api/user/movielist/{type}?username=... --------
-    // Get all movies of a given type for a specific user
+    // Get all movies of a given type for a specific user.
+    // The response carries an ETag (the list's version). If the client sends it back in
+    // If-None-Match and the list hasn't changed, we answer 304 without running any query.
     @GetMapping("/{type}")
-    public List<UserMovieList> getList(
-            @RequestParam String username, // username passed as a query parameter
-            @PathVariable String type      // type passed as a path variable
+    public ResponseEntity<List<UserListItem>> getList(
+            @RequestParam String username, // Query param: username
+            @PathVariable String type,     // Path variable: type of list
+            HttpServletRequest request,
+            WebRequest webRequest          // Used for the If-None-Match check
     ) {
-        User userFound = userRepo.findByUsername(username);
-        // Return all matching entries (e.g., all watchlist movies for this user)
-        return userMovieListRepo.findByUserAndType(userFound, type);
+        Long userId = userIds.resolve(username, request);
+        if (userId == null) {
+            return ResponseEntity.ok(List.of()); // Unknown user → empty list
+        }
+
+        // Read the version BEFORE the query (see ListVersions; null when ETags are turned off)
+        String eTag = listVersions.listETag(userId, "movie", type);
+        eTag = ContentNegotiationConfig.negotiatedETag(eTag, webRequest); // one ETag per body format, Vary: Accept
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified, headers already set
+        }
+
+        // One JOIN query straight into compact records (no per-row loading, no User/password in the response)
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate()) // browser may keep it, but must revalidate
+                .body(userMovieListRepo.findItemsByUserIdAndType(userId, type));
     }
 }
-
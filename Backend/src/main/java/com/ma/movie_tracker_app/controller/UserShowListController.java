@@ -6,11 +6,24 @@ import org.springframework.web.bind.annotation.*;
 import org.springframework.beans.factory.annotation.Autowired;
 
 // Import your models + repositories
+import com.ma.movie_tracker_app.config.ContentNegotiationConfig;
 import com.ma.movie_tracker_app.model.*;
+import com.ma.movie_tracker_app.service.CatalogService;
+import com.ma.movie_tracker_app.service.ListChangeFeed;
+import com.ma.movie_tracker_app.service.ListVersions;
+import com.ma.movie_tracker_app.service.UserListBulkService;
+import com.ma.movie_tracker_app.service.UserListBulkService.BulkResult;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.springframework.dao.DataIntegrityViolationException;
+
+// For reading the logged-in user from the session
+import jakarta.servlet.http.HttpServletRequest;
 
 // For building HTTP responses with status codes
 import org.springframework.http.ResponseEntity;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.CacheControl;
+import org.springframework.web.context.request.WebRequest;
 
 // For JSON-like responses
 import java.util.Map;
@@ -25,79 +38,73 @@ public class UserShowListController {
 
     // Inject repositories so we can query/update the database
     @Autowired
-    private UserRepository userRepo;                  // Access user table
+    private UserIdResolver userIds;                   // Username → user id (session, then cache, then DB)
     @Autowired
     private ShowsRepository showRepo;                 // Access shows table
     @Autowired
     private UserShowListRepository userShowListRepo;  // Access user↔show relationships
+    @Autowired
+    private CatalogService catalogService;            // Finds or creates the shared show row (one caller per title)
+    @Autowired
+    private UserListBulkService bulkService;        // Applies many adds/removes in one transaction
+    @Autowired
+    private ListVersions listVersions;              // Per-list version counters → ETags for GET
+    @Autowired
+    private ListChangeFeed changeFeed;              // Pushes each change to the user's open event feeds
 
     // -------- POST /api/user/showlist/{type}/add --------
     // Add a show to a user's list (watchlist, favourites, or watched)
     @PostMapping("/{type}/add")
     public ResponseEntity<Map<String, String>> addList(
-            @PathVariable String type,         // Path variable: type of list
-            @RequestBody UserShowListDTO dto   // Request body: DTO with show + user info
+            @PathVariable String type,         // The list type (from URL path)
+            @RequestBody UserShowListDTO dto,   // DTO sent in JSON body
+            HttpServletRequest request         // Used to read the logged-in user's id from the session
     ) {
-        // Look up the user by username
-        User userFound = userRepo.findByUsername(dto.username());
+        Map<String, String> response = new HashMap<>();
 
-        // Look up the show by TMDB ID
-        Shows show = showRepo.findByTmdbId(dto.tmdbId());
+        // Resolve the user id from the session (or the id cache) → usually no query at all
+        Long userId = userIds.resolve(dto.username(), request);
+
+        // Find the show by TMDB ID, or create it if it's not in the DB yet.
+        // Concurrent adds of the same title share one lookup/INSERT.
+        Shows show = userId == null ? null : catalogService.findOrCreateShow(dto);
 
-        // If show doesn’t exist in DB yet, create and save a new one
         if (show == null) {
-            show = new Shows();
-            show.setTmdbId(dto.tmdbId());
-            show.setTitle(dto.title());
-            show.setReleaseYear(dto.releaseYear());
-            show.setGenre(dto.genre());
-            show.setDescription(dto.description());
-            show.setDirector(dto.director());
-            show.setImageUrl(dto.imageUrl());
-            show = showRepo.save(show);
+            // If user or show not found
+            response.put("message", "The User or Show was not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
         }
 
-        // Build JSON response
-        Map<String, String> response = new HashMap<>();
-
-        if (userFound != null && show != null) {
-            // Check if user already has this show in the list
-            UserShowList existing = userShowListRepo.findByUserAndShowAndType(userFound, show, type);
-
-            // If not, create a new entry
-            if (existing == null) {
-                UserShowList userShowList = new UserShowList();
-                userShowList.setUser(userFound);
-                userShowList.setShow(show);
-                userShowList.setType(type);
-                userShowListRepo.save(userShowList);
-            }
-
-            response.put("message", "Has been added to " + type);
-            return ResponseEntity.ok(response); // 200 OK
+        // Add the list entry in ONE statement: the unique index turns a duplicate add into a no-op
+        if (userShowListRepo.insertIfAbsent(userId, show.getId(), type) == 1) {
+            listVersions.bump(userId, "show", type); // cached copies of this list are now stale
+            changeFeed.publish(userId, new ListChange("show", type, List.of(UserListItem.of(show)), List.of()));
         }
 
-        // If user or show not found
-        response.put("message", "The User or Show was not found");
-        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        response.put("message", "Has been added to " + type);
+        return ResponseEntity.ok(response); // 200 OK
     }
 
     // -------- POST /api/user/showlist/{type}/remove --------
     // Remove a show from a user's list
     @PostMapping("/{type}/remove")
     public ResponseEntity<Map<String, String>> removeList(
-            @PathVariable String type,         // Type of list (watchlist/favourites/watched)
-            @RequestBody UserShowListDTO dto   // DTO with username + tmdbId
+            @PathVariable String type,         // List type
+            @RequestBody UserShowListDTO dto,   // DTO with username + tmdbId
+            HttpServletRequest request
     ) {
-        User userFound = userRepo.findByUsername(dto.username());
-        Shows show = showRepo.findByTmdbId(dto.tmdbId());
-
         Map<String, String> response = new HashMap<>();
+        Long userId = userIds.resolve(dto.username(), request);
 
-        if (userFound != null && show != null) {
-            // Delete the entry using repository method
-            userShowListRepo.deleteByUserAndShowAndType(userFound, show, type);
+        // Delete the entry in ONE statement (the show is resolved inside the DELETE)
+        int deleted = userId == null ? 0 : userShowListRepo.deleteByUserIdAndTmdbIdAndType(userId, dto.tmdbId(), type);
+        if (deleted > 0) {
+            listVersions.bump(userId, "show", type);
+            changeFeed.publish(userId, new ListChange("show", type, List.of(), List.of(dto.tmdbId())));
+        }
 
+        // 0 rows means "wasn't in the list" (fine) or "no such user/show" (404)
+        if (deleted > 0 || (userId != null && showRepo.findByTmdbId(dto.tmdbId()) != null)) {
             response.put("message", "Has been removed from " + type);
             return ResponseEntity.ok(response); // 200 OK
         }
@@ -106,16 +113,71 @@ public class UserShowListController {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
     }
 
+    // -------- POST /api/user/showlist/{type}/bulk --------
+    // Add and/or remove many shows in one call (e.g. "mark this collection as watched").
+    // Body: {"username": "...", "add": [{tmdbId, title, ...}, ...], "remove": [tmdbId, ...]}
+    @PostMapping("/{type}/bulk")
+    public ResponseEntity<Map<String, Object>> bulk(
+            @PathVariable String type,         // List type
+            @RequestBody UserShowListBulkDTO dto,   // Username + adds + removes
+            HttpServletRequest request
+    ) {
+        Map<String, Object> response = new HashMap<>();
+        List<UserShowListDTO> adds = dto.add() == null ? List.of() : dto.add();
+        List<Long> removes = dto.remove() == null ? List.of() : dto.remove();
+
+        // Keep each request (and its transaction) bounded
+        if (adds.size() + removes.size() > bulkService.getMaxOperations()) {
+            response.put("message", "Too many operations (max " + bulkService.getMaxOperations() + ")");
+            return ResponseEntity.status(HttpStatus.PAYLOAD_TOO_LARGE).body(response);
+        }
+
+        Long userId = userIds.resolve(dto.username(), request);
+        if (userId == null) {
+            response.put("message", "The User was not found");
+            return ResponseEntity.status(HttpStatus.NOT_FOUND).body(response);
+        }
+
+        try {
+            BulkResult result = bulkService.applyShowChanges(userId, type, adds, removes);
+            response.put("message", "Applied changes to " + type);
+            response.put("added", result.added());
+            response.put("removed", result.removed());
+            return ResponseEntity.ok(response); // 200 OK
+        } catch (DataIntegrityViolationException e) {
+            // Another request changed the same list at the same moment; nothing was applied
+            response.put("message", "The list changed while applying the changes, please retry");
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(response);
+        }
+    }
+
     // -------- GET /api/user/showlist/{type}?username=... --------
-    // Fetch all shows in a specific list type for a given user
+    // Get all shows of a given type for a specific user.
+    // The response carries an ETag (the list's version). If the client sends it back in
+    // If-None-Match and the list hasn't changed, we answer 304 without running any query.
     @GetMapping("/{type}")
-    public List<UserShowList> getList(
+    public ResponseEntity<List<UserListItem>> getList(
             @RequestParam String username, // Query param: username
-            @PathVariable String type      // Path variable: type of list
+            @PathVariable String type,     // Path variable: type of list
+            HttpServletRequest request,
+            WebRequest webRequest          // Used for the If-None-Match check
     ) {
-        User userFound = userRepo.findByUsername(username);
-        // Return all rows for this user and list type
-        return userShowListRepo.findByUserAndType(userFound, type);
+        Long userId = userIds.resolve(username, request);
+        if (userId == null) {
+            return ResponseEntity.ok(List.of()); // Unknown user → empty list
+        }
+
+        // Read the version BEFORE the query (see ListVersions; null when ETags are turned off)
+        String eTag = listVersions.listETag(userId, "show", type);
+        eTag = ContentNegotiationConfig.negotiatedETag(eTag, webRequest); // one ETag per body format, Vary: Accept
+        if (eTag != null && webRequest.checkNotModified(eTag)) {
+            return null; // 304 Not Modified, headers already set
+        }
+
+        // One JOIN query straight into compact records (no per-row loading, no User/password in the response)
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(CacheControl.noCache().cachePrivate()) // browser may keep it, but must revalidate
+                .body(userShowListRepo.findItemsByUserIdAndType(userId, type));
     }
 }
-
@@ -0,0 +1,45 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// Helpers for encoding the cursor as a URL-safe string
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.List;
+
+// CatalogPage is the response envelope for the paginated /api/movies and /api/shows endpoints.
+//
+// Fields explained:
+// - items: the rows on this page
+// - nextCursor: opaque string to pass back as ?cursor=... to get the next page
+//               (null when this is the last page)
+//
+// Pagination is keyset-based ("give me rows AFTER this key"), not OFFSET-based, so the
+// database jumps straight to the right spot in the index and page 1000 costs the same as page 1.
+public record CatalogPage<T>(List<T> items, String nextCursor) {
+
+    // The position a page ends at: the last row's id, plus its title when sorting by title.
+    // In title order, rows without a title come last (by id); their cursor has a null title.
+    public record Cursor(String sort, long id, String title) {}
+
+    // Turn a position into an opaque, URL-safe string.
+    // Format before encoding: "id:<id>", "title:<id>:<title>", or "title:<id>" for a row without a title
+    public static String encodeCursor(Cursor cursor) {
+        String raw = !cursor.sort().equals("title") ? "id:" + cursor.id()
+                : cursor.title() == null ? "title:" + cursor.id()
+                : "title:" + cursor.id() + ":" + cursor.title();
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    // Read a cursor string back. Throws IllegalArgumentException if it is malformed
+    // or was issued for a different sort order.
+    public static Cursor decodeCursor(String encoded, String expectedSort) {
+        String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+        String[] parts = raw.split(":", 3);
+        boolean validLength = expectedSort.equals("title") ? parts.length >= 2 : parts.length == 2;
+        if (!parts[0].equals(expectedSort) || !validLength) {
+            throw new IllegalArgumentException("Cursor does not match sort=" + expectedSort);
+        }
+        long id = Long.parseLong(parts[1]);
+        return new Cursor(expectedSort, id, parts.length == 3 ? parts[2] : null);
+    }
+}
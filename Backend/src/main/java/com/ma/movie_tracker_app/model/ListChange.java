@@ -0,0 +1,19 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+import java.util.List;
+
+// ListChange is the data of one "change" event on GET /api/user/library/events: what one add,
+// remove or bulk request did to one of the user's lists.
+//
+// Shape:
+// {"kind": "movie", "type": "watchlist", "added": [UserListItem...], "removed": [tmdbId...]}
+//
+// The client applies it to the list it already has: append "added" (skipping tmdbIds it already
+// shows), drop "removed". That's the same list a full GET would return now, without refetching it.
+public record ListChange(
+    String kind,                // "movie" or "show"
+    String type,                // "watchlist", "favourites", "watched"
+    List<UserListItem> added,   // New entries, in the order they were added
+    List<Long> removed          // tmdbIds taken out of the list
+) {}
@@ -0,0 +1,19 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// ListMembership is one list row reduced to what the recommendations need (see RecommendationService):
+// which user has which catalog title in which list.
+//
+// The repositories build these straight from the list table, without loading the user or the title.
+//
+// Fields explained:
+// - id: the list row's id (for keyset paging through the whole table)
+// - userId: whose list it is
+// - titleId: Movies.id or Shows.id (not the TMDB id)
+// - type: "favourites" or "watched"
+public record ListMembership(
+    Long id,
+    Long userId,
+    Long titleId,
+    String type
+) {}
@@ -3,20 +3,42 @@ package com.ma.movie_tracker_app.model;
 
 // Import JPA (Jakarta Persistence API) annotations that let us map this class to a database table
 import jakarta.persistence.*;
+// Jackson annotation to leave empty fields out of responses
+import com.fasterxml.jackson.annotation.JsonInclude;
+// Hibernate second-level cache annotations (see SecondLevelCacheConfig)
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import com.ma.movie_tracker_app.config.SecondLevelCacheConfig;
 
 // @Entity tells JPA/Hibernate: "This class represents a table in the database."
 // By default, the table name will match the class name ("movies"), but can be customized with @Table.
+// @Table(indexes = ...) adds a (title, id) index used by the title-sorted keyset pagination.
+// @JsonInclude(NON_NULL) → fields that are null (no director, no year, ...) are left out of the response.
+// @Cacheable/@Cache + @NaturalIdCache → rows and tmdbId lookups are kept in the second-level cache
+// (a row never changes once written; READ_WRITE still keeps the cache right if one ever does).
 @Entity 
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Table(indexes = @Index(name = "idx_movies_title_id", columnList = "title, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.MOVIES)
+@NaturalIdCache(region = SecondLevelCacheConfig.MOVIES_BY_TMDB_ID)
 public class Movies {
 
     // @Id marks this field as the PRIMARY KEY column of the table
     @Id 
-    // @GeneratedValue tells the database to auto-generate values for this column.
-    // GenerationType.IDENTITY = the database handles auto-increment (e.g., 1,2,3,...).
-    @GeneratedValue(strategy = GenerationType.IDENTITY) 
+    // @GeneratedValue(SEQUENCE) → ids come from the "movies_seq" database sequence.
+    // allocationSize = 50 → Hibernate's pooled optimizer reserves 50 ids per nextval() call,
+    // so saving a batch of new movies needs no round trip per row and the INSERTs can be batched.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "movies_seq")
+    @SequenceGenerator(name = "movies_seq", sequenceName = "movies_seq", allocationSize = 50) 
     private Long id; // Primary key (unique for each row in the "movies" table)
 
     // @Column(unique = true) means no two movies can share the same tmdbId in the DB.
+    // @NaturalId → tmdbId is the row's (immutable) business key: findByTmdbId can be answered
+    // from the natural-id cache instead of a query.
+    @NaturalId
     @Column(unique = true)
     private Long tmdbId;
 
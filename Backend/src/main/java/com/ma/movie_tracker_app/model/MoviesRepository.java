@@ -3,7 +3,16 @@ package com.ma.movie_tracker_app.model;
 
 // Import Spring Data JPA's repository base interface
 import org.springframework.data.jpa.repository.JpaRepository;
+// Imports for custom JPQL queries and LIMIT-only paging
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+// Query hints: mark the tmdbId lookup cacheable (second-level query cache, see SecondLevelCacheConfig)
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 // Import List so we can return multiple Movies when searching
+import java.util.Collection;
 import java.util.List;
 
 // MoviesRepository is an INTERFACE (not a class).
@@ -18,7 +27,7 @@ import java.util.List;
 //   findAll()            → SELECT * (all rows)
 //   deleteById(id)       → DELETE by id
 //   count()              → SELECT COUNT(*)
-public interface MoviesRepository extends JpaRepository<Movies, Long> {
+public interface MoviesRepository extends JpaRepository<Movies, Long>, MoviesRepositoryCustom {
 
     // Custom query method #1:
     // Spring Data JPA will automatically generate a query like:
@@ -26,11 +35,32 @@ public interface MoviesRepository extends JpaRepository<Movies, Long> {
     // Returns a List because multiple movies might share the same title.
     List<Movies> findByTitle(String title);
 
-    // Custom query method #2:
-    // Finds a single movie by its TMDB ID.
-    // Query generated automatically:
-    //   SELECT * FROM movies WHERE tmdb_id = ?;
-    // Returns a single Movies object or null if not found.
-    Movies findByTmdbId(Long tmdbId);
-}
+    // Custom query method #2, findByTmdbId(tmdbId), is declared in MoviesRepositoryCustom: it uses the
+    // natural-id cache, so hot titles are found without a query.
+
+    // Custom query method #3:
+    // Finds many movies at once by their TMDB IDs (used by the bulk list endpoints).
+    //   SELECT * FROM movies WHERE tmdb_id IN (?, ?, ...);
+    // Cacheable: repeated bulk lookups of the same titles are answered from the query cache.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Movies> findByTmdbIdIn(Collection<Long> tmdbIds);
+
+    // Keyset pagination by id:
+    //   SELECT * FROM movies WHERE id > ? ORDER BY id LIMIT ?;
+    // Pass PageRequest.of(0, size) → Spring adds only a LIMIT (no OFFSET, no COUNT query),
+    // and the primary key index takes us straight to the first row after the cursor.
+    @Query("select m from Movies m where m.id > :afterId order by m.id")
+    List<Movies> findPageById(@Param("afterId") long afterId, Pageable page);
 
+    // Keyset pagination by title (ties broken by id so the order is stable):
+    //   SELECT * FROM movies WHERE (title, id) > (?, ?) ORDER BY title, id LIMIT ?;
+    // The row comparison is a single range scan on the (title, id) index declared on the entity.
+    // Rows without a title don't match the comparison: they follow in findUntitledPageById.
+    @Query("select m from Movies m where (m.title, m.id) > (:afterTitle, :afterId) order by m.title, m.id")
+    List<Movies> findPageByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") long afterId, Pageable page);
+
+    // Keyset pagination over the rows without a title, which sort after all titled rows (NULLS LAST):
+    //   SELECT * FROM movies WHERE title IS NULL AND id > ? ORDER BY id LIMIT ?;
+    @Query("select m from Movies m where m.title is null and m.id > :afterId order by m.id")
+    List<Movies> findUntitledPageById(@Param("afterId") long afterId, Pageable page);
+}
@@ -0,0 +1,12 @@
+// Package: groups this interface under the "model" folder in com.ma.movie_tracker_app
+package com.ma.movie_tracker_app.model;
+
+// MoviesRepositoryCustom holds the MoviesRepository methods that are written by hand instead of
+// generated by Spring Data (implemented in MoviesRepositoryCustomImpl).
+public interface MoviesRepositoryCustom {
+
+    // Finds a single movie by its TMDB ID (its natural id), or null if there is none.
+    // Served from the second-level cache when the title is hot; otherwise
+    //   SELECT * FROM movies WHERE tmdb_id = ?;
+    Movies findByTmdbId(Long tmdbId);
+}
@@ -0,0 +1,33 @@
+// Package: groups this class under the "model" folder in com.ma.movie_tracker_app
+package com.ma.movie_tracker_app.model;
+
+// JPA/Hibernate APIs
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.Session;
+// Import @Transactional so the lookup has a session to run in (like Spring Data's own finders)
+import org.springframework.transaction.annotation.Transactional;
+
+// MoviesRepositoryCustomImpl is picked up by Spring Data as the implementation of
+// MoviesRepositoryCustom (the "Impl" suffix is the convention).
+//
+// findByTmdbId goes through Hibernate's natural-id API instead of a query:
+//   1. the current session (already loaded in this request?)
+//   2. the natural-id cache: tmdbId → id
+//   3. the entity cache: id → row
+//   4. only then the database
+// A derived query (SELECT ... WHERE tmdb_id = ?) would always hit the database.
+public class MoviesRepositoryCustomImpl implements MoviesRepositoryCustom {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Movies findByTmdbId(Long tmdbId) {
+        if (tmdbId == null) {
+            return null;
+        }
+        return entityManager.unwrap(Session.class).bySimpleNaturalId(Movies.class).load(tmdbId);
+    }
+}
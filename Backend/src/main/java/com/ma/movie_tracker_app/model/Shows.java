@@ -3,21 +3,43 @@ package com.ma.movie_tracker_app.model;
 
 // Import JPA (Jakarta Persistence API) annotations for mapping class → DB table
 import jakarta.persistence.*;
+// Jackson annotation to leave empty fields out of responses
+import com.fasterxml.jackson.annotation.JsonInclude;
+// Hibernate second-level cache annotations (see SecondLevelCacheConfig)
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+import com.ma.movie_tracker_app.config.SecondLevelCacheConfig;
 
 // @Entity tells Spring Data JPA: 
 // "This class should be mapped to a database table."
 // By default, the table will be called "shows" (same as the class name, lowercased).
+// @Table(indexes = ...) adds a (title, id) index used by the title-sorted keyset pagination.
+// @JsonInclude(NON_NULL) → fields that are null (no director, no year, ...) are left out of the response.
+// @Cacheable/@Cache + @NaturalIdCache → rows and tmdbId lookups are kept in the second-level cache
+// (a row never changes once written; READ_WRITE still keeps the cache right if one ever does).
 @Entity 
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Table(indexes = @Index(name = "idx_shows_title_id", columnList = "title, id"))
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = SecondLevelCacheConfig.SHOWS)
+@NaturalIdCache(region = SecondLevelCacheConfig.SHOWS_BY_TMDB_ID)
 public class Shows {
 
     // @Id marks this field as the primary key column in the table.
     @Id 
-    // @GeneratedValue(strategy = GenerationType.IDENTITY) → database auto-increments this column.
-    // Example: 1, 2, 3... each time a new row is inserted.
-    @GeneratedValue(strategy = GenerationType.IDENTITY) 
+    // @GeneratedValue(SEQUENCE) → ids come from the "shows_seq" database sequence.
+    // allocationSize = 50 → one nextval() hands out 50 ids (pooled optimizer), so new shows
+    // can be INSERTed in JDBC batches.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "shows_seq")
+    @SequenceGenerator(name = "shows_seq", sequenceName = "shows_seq", allocationSize = 50) 
     private Long id; // Unique identifier for each show
 
     // Each show has a TMDB ID, which must be unique (no duplicate rows allowed).
+    // @NaturalId → tmdbId is the row's (immutable) business key: findByTmdbId can be answered
+    // from the natural-id cache instead of a query.
+    @NaturalId
     @Column(unique = true)
     private Long tmdbId;
 
@@ -3,7 +3,16 @@ package com.ma.movie_tracker_app.model;
 
 // Import Spring Data JPA's repository interface
 import org.springframework.data.jpa.repository.JpaRepository;
+// Imports for custom JPQL queries and LIMIT-only paging
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Query;
+// Query hints: mark the tmdbId lookup cacheable (second-level query cache, see SecondLevelCacheConfig)
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 // Import List so we can return multiple results for a query
+import java.util.Collection;
 import java.util.List;
 
 // ShowsRepository is an INTERFACE that extends JpaRepository.
@@ -18,7 +27,7 @@ import java.util.List;
 //   findAll()            → SELECT * (all rows)
 //   deleteById(id)       → DELETE by id
 //   count()              → SELECT COUNT(*)
-public interface ShowsRepository extends JpaRepository<Shows, Long> {
+public interface ShowsRepository extends JpaRepository<Shows, Long>, ShowsRepositoryCustom {
 
     // Custom query method #1:
     // Spring Data JPA creates a query automatically:
@@ -26,9 +35,32 @@ public interface ShowsRepository extends JpaRepository<Shows, Long> {
     // Returns a List because multiple shows might have the same title.
     List<Shows> findByTitle(String title);
 
-    // Custom query method #2:
-    // Spring Data JPA generates:
-    //   SELECT * FROM shows WHERE tmdb_id = ?;
-    // Returns a single Shows object (or null if not found).
-    Shows findByTmdbId(Long tmdbId);
+    // Custom query method #2, findByTmdbId(tmdbId), is declared in ShowsRepositoryCustom: it uses the
+    // natural-id cache, so hot titles are found without a query.
+
+    // Custom query method #3:
+    // Finds many shows at once by their TMDB IDs (used by the bulk list endpoints).
+    //   SELECT * FROM shows WHERE tmdb_id IN (?, ?, ...);
+    // Cacheable: repeated bulk lookups of the same titles are answered from the query cache.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    List<Shows> findByTmdbIdIn(Collection<Long> tmdbIds);
+
+    // Keyset pagination by id:
+    //   SELECT * FROM shows WHERE id > ? ORDER BY id LIMIT ?;
+    // Pass PageRequest.of(0, size) → Spring adds only a LIMIT (no OFFSET, no COUNT query),
+    // and the primary key index takes us straight to the first row after the cursor.
+    @Query("select s from Shows s where s.id > :afterId order by s.id")
+    List<Shows> findPageById(@Param("afterId") long afterId, Pageable page);
+
+    // Keyset pagination by title (ties broken by id so the order is stable):
+    //   SELECT * FROM shows WHERE (title, id) > (?, ?) ORDER BY title, id LIMIT ?;
+    // The row comparison is a single range scan on the (title, id) index declared on the entity.
+    // Rows without a title don't match the comparison: they follow in findUntitledPageById.
+    @Query("select s from Shows s where (s.title, s.id) > (:afterTitle, :afterId) order by s.title, s.id")
+    List<Shows> findPageByTitle(@Param("afterTitle") String afterTitle, @Param("afterId") long afterId, Pageable page);
+
+    // Keyset pagination over the rows without a title, which sort after all titled rows (NULLS LAST):
+    //   SELECT * FROM shows WHERE title IS NULL AND id > ? ORDER BY id LIMIT ?;
+    @Query("select s from Shows s where s.title is null and s.id > :afterId order by s.id")
+    List<Shows> findUntitledPageById(@Param("afterId") long afterId, Pageable page);
 }
@@ -0,0 +1,12 @@
+// Package: groups this interface under the "model" folder in com.ma.movie_tracker_app
+package com.ma.movie_tracker_app.model;
+
+// ShowsRepositoryCustom holds the ShowsRepository methods that are written by hand instead of
+// generated by Spring Data (implemented in ShowsRepositoryCustomImpl).
+public interface ShowsRepositoryCustom {
+
+    // Finds a single show by its TMDB ID (its natural id), or null if there is none.
+    // Served from the second-level cache when the title is hot; otherwise
+    //   SELECT * FROM shows WHERE tmdb_id = ?;
+    Shows findByTmdbId(Long tmdbId);
+}
@@ -13,9 +13,10 @@ public class User {
 
     // @Id marks this as the PRIMARY KEY column.
     @Id
-    // @GeneratedValue(strategy = GenerationType.IDENTITY) means the database will auto-increment
-    // the ID (e.g., 1,2,3...) each time a new user row is inserted.
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // @GeneratedValue(SEQUENCE) → ids come from the "user_table_seq" database sequence.
+    // Users sign up one at a time, so a smaller pool (10 ids per nextval()) is enough.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_table_seq")
+    @SequenceGenerator(name = "user_table_seq", sequenceName = "user_table_seq", allocationSize = 10)
     private Long id;  // unique identifier for each user
 
     // @Column(unique = true) means no two rows can have the same username.
@@ -0,0 +1,30 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// Utility types for grouping
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ArrayList;
+
+// UserLibrary is the response for GET /api/user/library: every list of the user in one payload.
+//
+// Shape:
+// {
+//   "movies": {"watchlist": [UserListItem...], "favourites": [...], "watched": [...]},
+//   "shows":  {"watchlist": [...], ...}
+// }
+// Only types that have at least one entry appear as keys.
+public record UserLibrary(
+    Map<String, List<UserListItem>> movies,
+    Map<String, List<UserListItem>> shows
+) {
+    // Group query rows (already ordered by type, then insertion order) into type → items
+    public static Map<String, List<UserListItem>> group(List<UserLibraryRow> rows) {
+        Map<String, List<UserListItem>> byType = new LinkedHashMap<>();
+        for (UserLibraryRow row : rows) {
+            byType.computeIfAbsent(row.type(), t -> new ArrayList<>()).add(row.toItem());
+        }
+        return byType;
+    }
+}
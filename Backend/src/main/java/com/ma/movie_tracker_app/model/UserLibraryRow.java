@@ -0,0 +1,25 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// UserLibraryRow is one row of the library query (GET /api/user/library):
+// a list entry of ANY type, with the list type it belongs to.
+//
+// The repositories build these straight from one JOIN query per media kind,
+// and UserLibrary groups them by type.
+//
+// Fields explained:
+// - type: which list this belongs to ("watchlist", "favourites", "watched")
+// - the rest: the same fields as UserListItem
+public record UserLibraryRow(
+    String type,
+    Long tmdbId,
+    String title,
+    Integer releaseYear,
+    String genre,
+    String imageUrl
+) {
+    // The list entry without its type (the type becomes the group key)
+    public UserListItem toItem() {
+        return new UserListItem(tmdbId, title, releaseYear, genre, imageUrl);
+    }
+}
@@ -0,0 +1,38 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// Jackson annotation to leave empty fields out of responses
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+// UserListItem is the compact response for GET /api/user/movielist/{type} and
+// GET /api/user/showlist/{type}: one entry per title in the user's list.
+//
+// It is filled straight from a single JOIN query (see UserMovieListRepository /
+// UserShowListRepository), so reading a list never loads User or Movies/Shows entities
+// one by one, and never sends the user's password back.
+//
+// Fields explained:
+// - tmdbId: the title's TMDB ID (used by the frontend to fetch more info or remove it)
+// - title: movie/show title
+// - releaseYear: year it was released / first aired
+// - genre: genre string (comma-separated)
+// - imageUrl: poster image URL
+//
+// Fields that are null are left out of the response (lists are often hundreds of items long).
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record UserListItem(
+    Long tmdbId,
+    String title,
+    Integer releaseYear,
+    String genre,
+    String imageUrl
+) {
+    // The entry for a catalog row that was just added to a list (for change events, see ListChange)
+    public static UserListItem of(Movies movie) {
+        return new UserListItem(movie.getTmdbId(), movie.getTitle(), movie.getReleaseYear(), movie.getGenre(), movie.getImageUrl());
+    }
+
+    public static UserListItem of(Shows show) {
+        return new UserListItem(show.getTmdbId(), show.getTitle(), show.getReleaseYear(), show.getGenre(), show.getImageUrl());
+    }
+}
@@ -6,24 +6,33 @@ import jakarta.persistence.*;
 
 // @Entity marks this as a database-mapped class (a table will be created for it).
 // By default, the table name will be "user_movie_list" (based on the class name).
+// @Table(uniqueConstraints = ...) → a user can have each movie at most once per list type.
+// The composite index also serves the membership lookups and lets the INSERT use ON CONFLICT DO NOTHING.
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_user_movie_list_user_movie_type",
+        columnNames = {"user_id", "movie_id", "type"}))
 public class UserMovieList {
 
     // @Id → primary key of the table
     @Id
-    // @GeneratedValue tells the database to auto-generate values for this column.
-    // GenerationType.IDENTITY = the database handles auto-increment (e.g., 1,2,3,...).
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // @GeneratedValue(SEQUENCE) → ids come from the "user_movie_list_seq" database sequence.
+    // allocationSize = 50 (pooled optimizer, same as hibernate.jdbc.batch_size) → bulk adds and
+    // imports get their ids from memory and are sent as JDBC batches.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_movie_list_seq")
+    @SequenceGenerator(name = "user_movie_list_seq", sequenceName = "user_movie_list_seq", allocationSize = 50)
     private Long id; // Unique ID for each entry in the user's movie list
 
     // @ManyToOne → Many UserMovieList entries can belong to ONE user.
     // Example: One user may have 20 different UserMovieList rows (for different movies).
-    @ManyToOne
+    // fetch = FetchType.LAZY → only loaded if the code reads it (list reads use a projection query instead)
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     // @ManyToOne → Many UserMovieList entries can refer to ONE movie.
     // Example: "Inception" might appear in many users’ lists.
-    @ManyToOne
+    // fetch = FetchType.LAZY → only loaded if the code reads it (list reads use a projection query instead)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Movies movie;
 
     // "type" field tells which list this entry belongs to:
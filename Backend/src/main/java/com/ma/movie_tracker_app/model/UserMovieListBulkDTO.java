@@ -0,0 +1,18 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// Import List for the add/remove collections
+import java.util.List;
+
+// Request body for POST /api/user/movielist/{type}/bulk
+// (e.g. "mark this whole collection as watched" in one call instead of dozens).
+//
+// Fields explained:
+// - username: the user whose list is changed
+// - add: movies to add (same fields as the single add endpoint, so unknown titles can be created)
+// - remove: TMDB IDs of movies to remove (applied after the adds)
+public record UserMovieListBulkDTO(
+    String username,
+    List<UserMovieListDTO> add,
+    List<Long> remove
+) {}
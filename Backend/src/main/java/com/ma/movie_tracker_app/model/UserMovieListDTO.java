@@ -25,6 +25,17 @@ public record UserMovieListDTO(
     String genre, 
     String director, 
     String imageUrl
-) {}
-
-
+) {
+    // New catalog row for this movie (used when the movie isn't in our database yet)
+    public Movies toMovie() {
+        Movies movie = new Movies();
+        movie.setTmdbId(tmdbId);
+        movie.setTitle(title);
+        movie.setReleaseYear(releaseYear);
+        movie.setGenre(genre);
+        movie.setDescription(description);
+        movie.setDirector(director);
+        movie.setImageUrl(imageUrl);
+        return movie;
+    }
+}
@@ -3,6 +3,9 @@ package com.ma.movie_tracker_app.model;
 
 // Import Spring Data JPA's base repository
 import org.springframework.data.jpa.repository.JpaRepository;
+// Import @Query/@Param for the id-only lookup
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 // UserRepository extends JpaRepository to manage User entities.
 // - Entity type: User
@@ -23,4 +26,10 @@ public interface UserRepository extends JpaRepository<User, Long> {
     //
     // Returns a User object if found, otherwise null.
     User findByUsername(String username);
+
+    // Id-only lookup used by UserIdResolver: reads one column instead of the whole row.
+    //   SELECT id FROM user_table WHERE username = ?;
+    // Returns null if there is no such user.
+    @Query("select u.id from User u where u.username = :username")
+    Long findIdByUsername(@Param("username") String username);
 }
@@ -6,26 +6,34 @@ import jakarta.persistence.*;
 
 // @Entity marks this class as a JPA entity → a table will be created in the database.
 // By default, the table name will be "user_show_list" (from the class name).
+// @Table(uniqueConstraints = ...) → a user can have each show at most once per list type.
+// The composite index also serves the membership lookups and lets the INSERT use ON CONFLICT DO NOTHING.
 @Entity
+@Table(uniqueConstraints = @UniqueConstraint(
+        name = "uk_user_show_list_user_show_type",
+        columnNames = {"user_id", "show_id", "type"}))
 public class UserShowList {
 
     // @Id → this field is the PRIMARY KEY of the table.
     @Id
-    // @GeneratedValue(strategy = GenerationType.IDENTITY) → database auto-generates the ID
-    // Example: 1, 2, 3… for each new row
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // @GeneratedValue(SEQUENCE) → ids come from the "user_show_list_seq" database sequence.
+    // allocationSize = 50 (pooled optimizer) → bulk adds are sent as JDBC batches.
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "user_show_list_seq")
+    @SequenceGenerator(name = "user_show_list_seq", sequenceName = "user_show_list_seq", allocationSize = 50)
     private Long id;
 
     // Many-to-One relationship:
     // Many "UserShowList" rows can belong to the same user.
     // Example: One user may have 50 different shows in their lists.
-    @ManyToOne
+    // fetch = FetchType.LAZY → only loaded if the code reads it (list reads use a projection query instead)
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
     // Many-to-One relationship:
     // Many "UserShowList" rows can point to the same show.
     // Example: "Breaking Bad" could appear in hundreds of users' lists.
-    @ManyToOne
+    // fetch = FetchType.LAZY → only loaded if the code reads it (list reads use a projection query instead)
+    @ManyToOne(fetch = FetchType.LAZY)
     private Shows show;
 
     // "type" field stores which list this entry belongs to:
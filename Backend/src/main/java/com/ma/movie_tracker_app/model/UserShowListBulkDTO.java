@@ -0,0 +1,18 @@
+// Package: puts this record in the "model" folder
+package com.ma.movie_tracker_app.model;
+
+// Import List for the add/remove collections
+import java.util.List;
+
+// Request body for POST /api/user/showlist/{type}/bulk
+// (e.g. "mark this whole season/collection as watched" in one call).
+//
+// Fields explained:
+// - username: the user whose list is changed
+// - add: shows to add (same fields as the single add endpoint, so unknown titles can be created)
+// - remove: TMDB IDs of shows to remove (applied after the adds)
+public record UserShowListBulkDTO(
+    String username,
+    List<UserShowListDTO> add,
+    List<Long> remove
+) {}
@@ -27,4 +27,17 @@ public record UserShowListDTO(
     String genre,
     String director,
     String imageUrl
-) {}
+) {
+    // New catalog row for this show (used when the show isn't in our database yet)
+    public Shows toShow() {
+        Shows show = new Shows();
+        show.setTmdbId(tmdbId);
+        show.setTitle(title);
+        show.setReleaseYear(releaseYear);
+        show.setGenre(genre);
+        show.setDescription(description);
+        show.setDirector(director);
+        show.setImageUrl(imageUrl);
+        return show;
+    }
+}
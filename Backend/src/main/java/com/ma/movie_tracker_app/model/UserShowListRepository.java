@@ -3,12 +3,22 @@ package com.ma.movie_tracker_app.model;
 
 // Import Spring Data JPA base repository
 import org.springframework.data.jpa.repository.JpaRepository;
+// Import Pageable to limit the rows per query (keyset pagination)
+import org.springframework.data.domain.Pageable;
 // Import annotation to mark modifying queries (DELETE/UPDATE)
 import org.springframework.data.jpa.repository.Modifying;
+// Import @Query/@Param (and @QueryHints for the JDBC fetch size) for the hand-written queries
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.repository.query.Param;
 // Import annotation so methods run inside a transaction
 import org.springframework.transaction.annotation.Transactional;
 // Import List for returning multiple results
+import java.util.Collection;
 import java.util.List;
+import java.util.stream.Stream;
 
 // UserShowListRepository extends JpaRepository to manage UserShowList entities.
 // - Entity type: UserShowList
@@ -45,5 +55,82 @@ public interface UserShowListRepository extends JpaRepository<UserShowList, Long
     @Modifying
     @Transactional
     void deleteByUserAndShowAndType(User user, Shows show, String type);
-}
 
+    // Read path for GET /api/user/showlist/{type}:
+    // ONE query joins the list and the show, and builds UserListItem records directly.
+    // The user is matched by id (resolved from the session/UserIdResolver), so user_table isn't touched.
+    //
+    // SQL generated (roughly):
+    // SELECT m.tmdb_id, m.title, m.release_year, m.genre, m.image_url
+    // FROM user_show_list l JOIN shows m ON m.id = l.show_id
+    // WHERE l.user_id = ? AND l.type = ? ORDER BY l.id;
+    @Query("select new com.ma.movie_tracker_app.model.UserListItem(m.tmdbId, m.title, m.releaseYear, m.genre, m.imageUrl) " +
+           "from UserShowList l join l.show m where l.user.id = :userId and l.type = :type order by l.id")
+    List<UserListItem> findItemsByUserIdAndType(@Param("userId") Long userId, @Param("type") String type);
+
+    // Read path for GET /api/user/library: every list type of one user in ONE query.
+    // Rows come back ordered by type, then in the order they were added.
+    //
+    // SELECT l.type, m.tmdb_id, m.title, m.release_year, m.genre, m.image_url
+    // FROM user_show_list l JOIN shows m ON m.id = l.show_id
+    // WHERE l.user_id = ? ORDER BY l.type, l.id;
+    @Query("select new com.ma.movie_tracker_app.model.UserLibraryRow(l.type, m.tmdbId, m.title, m.releaseYear, m.genre, m.imageUrl) " +
+           "from UserShowList l join l.show m where l.user.id = :userId order by l.type, l.id")
+    List<UserLibraryRow> findLibraryRowsByUserId(@Param("userId") Long userId);
+
+    // Export path for GET /api/user/library/export: same rows as findLibraryRowsByUserId, but as a
+    // Stream that is read from the database in chunks of 500 (JDBC fetch size) while it is written
+    // out, so memory use doesn't grow with the size of the library.
+    // Must be called inside a transaction, and the Stream must be closed (try-with-resources).
+    @QueryHints(@QueryHint(name = "org.hibernate.fetchSize", value = "500"))
+    @Query("select new com.ma.movie_tracker_app.model.UserLibraryRow(l.type, m.tmdbId, m.title, m.releaseYear, m.genre, m.imageUrl) " +
+           "from UserShowList l join l.show m where l.user.id = :userId order by l.type, l.id")
+    Stream<UserLibraryRow> streamLibraryRowsByUserId(@Param("userId") Long userId);
+
+    // Write path for POST /api/user/showlist/{type}/add: ONE statement, one round trip.
+    // The unique (user_id, show_id, type) index makes duplicate adds a no-op instead of an
+    // error (even when two requests race).
+    // Returns 1 if a row was inserted, 0 if it was already there.
+    @Modifying
+    @Transactional
+    // Native writes must name the tables they touch ("query spaces"): otherwise Hibernate can't
+    // tell what changed and clears the WHOLE second-level cache (the catalog) after each one.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_show_list"))
+    // The id is taken straight from the sequence: each nextval() reserves a whole pool of 50, and
+    // Hibernate only hands out ids from the pools it reserved itself, so the two never collide.
+    @Query(value = "INSERT INTO user_show_list (id, user_id, show_id, type) " +
+                   "VALUES (nextval('user_show_list_seq'), :userId, :showId, :type) " +
+                   "ON CONFLICT DO NOTHING", nativeQuery = true)
+    int insertIfAbsent(@Param("userId") Long userId, @Param("showId") Long showId, @Param("type") String type);
+
+    // Write path for POST /api/user/showlist/{type}/remove: ONE DELETE statement.
+    // Unlike the derived deleteBy... method, nothing is loaded into memory before it is removed.
+    // The show is resolved inside the DELETE by its TMDB id.
+    // Returns the number of rows deleted (0 or 1).
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "user_show_list"))
+    @Query(value = "DELETE FROM user_show_list WHERE type = :type " +
+                   "AND user_id = :userId " +
+                   "AND show_id = (SELECT x.id FROM shows x WHERE x.tmdb_id = :tmdbId)", nativeQuery = true)
+    int deleteByUserIdAndTmdbIdAndType(@Param("userId") Long userId, @Param("tmdbId") Long tmdbId, @Param("type") String type);
+
+    // Bulk path: which of these show ids are already in the user's list? (one IN query)
+    @Query("select l.show.id from UserShowList l where l.user.id = :userId and l.type = :type and l.show.id in :showIds")
+    List<Long> findShowIdsInList(@Param("userId") Long userId, @Param("type") String type,
+            @Param("showIds") Collection<Long> showIds);
+
+    // Bulk path: remove many shows from one list with a single DELETE ... WHERE show_id IN (...)
+    @Modifying
+    @Query("delete from UserShowList l where l.user.id = :userId and l.type = :type and l.show.id in :showIds")
+    int deleteByUserIdAndTypeAndShowIdIn(@Param("userId") Long userId, @Param("type") String type,
+            @Param("showIds") Collection<Long> showIds);
+
+    // Recommendations rebuild: the favourites/watched rows after "afterId", in id order
+    // (keyset pagination over the whole table, page size given by "page").
+    //   SELECT id, user_id, show_id, type FROM user_show_list
+    //   WHERE type IN ('favourites', 'watched') AND id > ? ORDER BY id LIMIT ?;
+    @Query("select new com.ma.movie_tracker_app.model.ListMembership(l.id, l.user.id, l.show.id, l.type) " +
+           "from UserShowList l where l.type in ('favourites', 'watched') and l.id > :afterId order by l.id")
+    List<ListMembership> findMembershipsAfter(@Param("afterId") long afterId, Pageable page);
+}
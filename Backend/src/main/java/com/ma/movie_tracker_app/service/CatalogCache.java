@@ -0,0 +1,311 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring annotations for registering this class as a bean and reading properties
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+// Logging so disk problems show up without breaking requests
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// File and hashing utilities for the on-disk tier
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import jakarta.annotation.PreDestroy;
+
+// CatalogCache stores TMDB responses (raw JSON strings) so repeated page loads
+// don't need a WAN round trip.
+//
+// It has two tiers:
+//   1. Memory: a size-bounded LRU map. When it is full, the least recently used entry is dropped.
+//   2. Disk (optional): one file per entry in "catalog.cache.disk-dir", so the cache survives restarts.
+//      At most "catalog.cache.disk-max-files" files are kept: every "catalog.cache.disk-cleanup-interval"
+//      (and as soon as a write goes over the limit) expired files are deleted, then the least recently
+//      used ones (a disk hit touches the file's modification time) until 90% of the limit is left.
+//      Keys come from client input (search queries, page numbers), so without a bound the
+//      directory would grow forever.
+//
+// Every entry carries its own expiry time, so each endpoint can use a different TTL.
+@Component
+public class CatalogCache {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogCache.class);
+
+    // One cached response: the JSON body and the time (epoch millis) after which it is stale
+    private record Entry(String body, long expiresAt) {
+        boolean isExpired(long now) {
+            return now >= expiresAt;
+        }
+    }
+
+    // Max number of entries kept in memory
+    private final int maxEntries;
+
+    // Directory for the disk tier, or null when the disk tier is turned off
+    private final Path diskDir;
+
+    // Max number of files in the disk tier, and the approximate number there now
+    private final int diskMaxFiles;
+    private final AtomicInteger diskFiles = new AtomicInteger();
+
+    // Runs the disk cleanup (only when the disk tier is on); "cleanupQueued" avoids queueing it twice
+    private final ScheduledExecutorService cleaner;
+    private final AtomicBoolean cleanupQueued = new AtomicBoolean();
+
+    // LinkedHashMap with accessOrder = true keeps entries ordered from least → most recently used.
+    // removeEldestEntry drops the least recently used entry once we go over maxEntries.
+    private final LinkedHashMap<String, Entry> memory;
+
+    // Memory (and optional disk) cache with the default disk limits
+    public CatalogCache(int maxEntries, String diskDir) {
+        this(maxEntries, diskDir, 10_000, Duration.ofMinutes(10));
+    }
+
+    @Autowired
+    public CatalogCache(
+            @Value("${catalog.cache.max-entries:2000}") int maxEntries,
+            @Value("${catalog.cache.disk-dir:}") String diskDir,
+            @Value("${catalog.cache.disk-max-files:10000}") int diskMaxFiles,
+            @Value("${catalog.cache.disk-cleanup-interval:PT10M}") Duration diskCleanupInterval
+    ) {
+        this.maxEntries = maxEntries;
+        this.diskMaxFiles = diskMaxFiles;
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > CatalogCache.this.maxEntries;
+            }
+        };
+        this.diskDir = diskDir == null || diskDir.isBlank() ? null : Path.of(diskDir);
+        if (this.diskDir != null) {
+            try {
+                Files.createDirectories(this.diskDir);
+                cleanUpDisk();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot use catalog cache directory " + diskDir, e);
+            }
+            cleaner = Executors.newSingleThreadScheduledExecutor(task -> {
+                Thread thread = new Thread(task, "catalog-cache-cleanup");
+                thread.setDaemon(true);
+                return thread;
+            });
+            long interval = diskCleanupInterval.toMillis();
+            cleaner.scheduleWithFixedDelay(this::cleanUpDiskQuietly, interval, interval, TimeUnit.MILLISECONDS);
+        } else {
+            cleaner = null;
+        }
+    }
+
+    // Stop the sweeper and wait (briefly) for a running sweep, so nothing touches the directory afterwards
+    @PreDestroy
+    void shutdown() {
+        if (cleaner != null) {
+            cleaner.shutdownNow();
+            try {
+                if (!cleaner.awaitTermination(5, TimeUnit.SECONDS)) {
+                    log.warn("Catalog cache cleanup did not stop within 5s");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    // Look up a cached body. Returns null on a miss or when the entry has expired.
+    public String get(String key) {
+        long now = System.currentTimeMillis();
+
+        // Tier 1: memory
+        synchronized (memory) {
+            Entry entry = memory.get(key);
+            if (entry != null) {
+                if (!entry.isExpired(now)) {
+                    return entry.body();
+                }
+                memory.remove(key);
+            }
+        }
+
+        // Tier 2: disk (only if enabled)
+        Entry entry = readFromDisk(key, now);
+        if (entry == null) {
+            return null;
+        }
+        // Promote the disk hit into memory so the next read is served from RAM
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        return entry.body();
+    }
+
+    // Store a body for "ttl" in both tiers
+    public void put(String key, String body, Duration ttl) {
+        Entry entry = new Entry(body, System.currentTimeMillis() + ttl.toMillis());
+        synchronized (memory) {
+            memory.put(key, entry);
+        }
+        writeToDisk(key, entry);
+    }
+
+    // Number of entries currently held in memory (used by tests/diagnostics)
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    // Number of files in the disk tier (approximate between cleanups)
+    public int diskSize() {
+        return diskFiles.get();
+    }
+
+    // Drop everything from memory (the disk tier is kept, like after a restart)
+    public void clearMemory() {
+        synchronized (memory) {
+            memory.clear();
+        }
+    }
+
+    // ---- Disk tier helpers ----
+    // File format: first line = expiry time (epoch millis), rest of the file = JSON body.
+
+    private Entry readFromDisk(String key, long now) {
+        if (diskDir == null) {
+            return null;
+        }
+        Path file = fileFor(key);
+        try {
+            if (!Files.exists(file)) {
+                return null;
+            }
+            String content = Files.readString(file, StandardCharsets.UTF_8);
+            int newline = content.indexOf('\n');
+            long expiresAt = Long.parseLong(content.substring(0, newline));
+            if (now >= expiresAt) {
+                if (Files.deleteIfExists(file)) {
+                    diskFiles.decrementAndGet();
+                }
+                return null;
+            }
+            // Recently used files are the last to be evicted
+            Files.setLastModifiedTime(file, FileTime.fromMillis(now));
+            return new Entry(content.substring(newline + 1), expiresAt);
+        } catch (IOException | RuntimeException e) {
+            // A broken file is just a cache miss
+            log.warn("Ignoring unreadable catalog cache file {}", file, e);
+            return null;
+        }
+    }
+
+    private void writeToDisk(String key, Entry entry) {
+        if (diskDir == null) {
+            return;
+        }
+        Path file = fileFor(key);
+        try {
+            // Write to a temp file first and then move it, so readers never see a half-written file
+            Path tmp = Files.createTempFile(diskDir, "entry", ".tmp");
+            Files.writeString(tmp, entry.expiresAt() + "\n" + entry.body(), StandardCharsets.UTF_8);
+            boolean isNew = !Files.exists(file);
+            Files.move(tmp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (isNew && diskFiles.incrementAndGet() > diskMaxFiles && cleanupQueued.compareAndSet(false, true)) {
+                cleaner.execute(this::cleanUpDiskQuietly); // off the request thread
+            }
+        } catch (IOException e) {
+            log.warn("Could not write catalog cache file {}", file, e);
+        }
+    }
+
+    private void cleanUpDiskQuietly() {
+        cleanupQueued.set(false);
+        try {
+            cleanUpDisk();
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not clean up the catalog cache directory {}", diskDir, e);
+        }
+    }
+
+    // Delete expired files, then the least recently used ones while there are more than 90% of
+    // diskMaxFiles (so a full directory isn't cleaned again after every single write)
+    synchronized void cleanUpDisk() throws IOException {
+        long now = System.currentTimeMillis();
+        List<Path> kept = new ArrayList<>();
+        try (Stream<Path> files = Files.list(diskDir)) {
+            files.filter(f -> f.toString().endsWith(".json")).forEach(f -> {
+                if (!deleteIfExpired(f, now)) {
+                    kept.add(f);
+                }
+            });
+        }
+        int target = diskMaxFiles - diskMaxFiles / 10;
+        int evicted = 0;
+        if (kept.size() > diskMaxFiles) {
+            kept.sort(Comparator.comparing(CatalogCache::lastModified));
+            for (Path file : kept.subList(0, kept.size() - target)) {
+                Files.deleteIfExists(file);
+                evicted++;
+            }
+            log.info("Catalog cache directory over {} files: evicted {} least recently used", diskMaxFiles, evicted);
+        }
+        diskFiles.set(kept.size() - evicted);
+    }
+
+    // Returns true if the file is gone (expired or unreadable)
+    private boolean deleteIfExpired(Path file, long now) {
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            long expiresAt = Long.parseLong(lines.findFirst().orElse("0"));
+            if (now >= expiresAt) {
+                Files.deleteIfExists(file);
+                return true;
+            }
+            return false;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Deleting unreadable catalog cache file {}", file, e);
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException ignored) {
+                return false;
+            }
+            return true;
+        }
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0; // vanished: sort it first, deleting it is a no-op
+        }
+    }
+
+    // Keys contain slashes and query strings, so hash them into a safe file name
+    private Path fileFor(String key) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8));
+            return diskDir.resolve(HexFormat.of().formatHex(hash) + ".json");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
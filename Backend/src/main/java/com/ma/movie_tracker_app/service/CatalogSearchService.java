@@ -0,0 +1,98 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+// Logging for rebuild timing
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.model.*;
+
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+// CatalogSearchService backs GET /api/movies?title=... and GET /api/shows?title=...
+// with in-memory TitleSearchIndex instances, so typeahead never touches Postgres.
+//
+// - At startup the indexes are filled from the database (page by page, using the keyset queries).
+// - Afterwards every save that goes through this app (POST /api/movies, POST /api/shows, or a
+//   new catalog row created by addList) is added with indexMovie/indexShow.
+// Rows inserted by a different app instance show up here after the next restart.
+@Service
+public class CatalogSearchService {
+
+    private static final Logger log = LoggerFactory.getLogger(CatalogSearchService.class);
+
+    // Rows loaded per query while rebuilding
+    private static final int REBUILD_BATCH = 1000;
+
+    @Autowired
+    private MoviesRepository movieRepo;
+    @Autowired
+    private ShowsRepository showRepo;
+
+    private final TitleSearchIndex<Movies> movieIndex = new TitleSearchIndex<>(Movies::getId, Movies::getTitle);
+    private final TitleSearchIndex<Shows> showIndex = new TitleSearchIndex<>(Shows::getId, Shows::getTitle);
+
+    // Fill both indexes once the app has started
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuild() {
+        long start = System.nanoTime();
+        movieIndex.clear();
+        showIndex.clear();
+        load(movieRepo::findPageById, Movies::getId, movieIndex::put);
+        load(showRepo::findPageById, Shows::getId, showIndex::put);
+        log.info("Title search index built: {} movies, {} shows in {} ms",
+                movieIndex.size(), showIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Ranked, case-insensitive, typo-tolerant title search
+    public List<Movies> searchMovies(String query, int limit) {
+        return movieIndex.search(query, limit);
+    }
+
+    public List<Shows> searchShows(String query, int limit) {
+        return showIndex.search(query, limit);
+    }
+
+    // A catalog row by its id (Movies.id / Shows.id), or null if it isn't indexed
+    public Movies findMovie(long id) {
+        return movieIndex.get(id);
+    }
+
+    public Shows findShow(long id) {
+        return showIndex.get(id);
+    }
+
+    // Keep the index up to date after a row is saved
+    public void indexMovie(Movies movie) {
+        movieIndex.put(movie);
+    }
+
+    public void indexShow(Shows show) {
+        showIndex.put(show);
+    }
+
+    // Walk the whole table in id order, REBUILD_BATCH rows per query
+    private static <T> void load(BiFunction<Long, PageRequest, List<T>> page,
+                                 Function<T, Long> idOf, Consumer<T> sink) {
+        long afterId = 0;
+        while (true) {
+            List<T> rows = page.apply(afterId, PageRequest.of(0, REBUILD_BATCH));
+            rows.forEach(sink);
+            if (rows.size() < REBUILD_BATCH) {
+                return;
+            }
+            afterId = idOf.apply(rows.get(rows.size() - 1));
+        }
+    }
+}
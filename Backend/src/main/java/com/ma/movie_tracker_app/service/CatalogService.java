@@ -0,0 +1,133 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.model.*;
+
+import java.util.*;
+
+// CatalogService finds or creates the shared Movies/Shows rows that list entries point to.
+//
+// When a title trends, many users add it at the same moment. Each (kind, tmdbId) goes through
+// a SingleFlight, so only one caller per title runs the lookup/INSERT and the rest reuse its row.
+// If another app instance inserts the same tmdbId first, the unique constraint fails and we
+// simply read the row that won.
+//
+// The bulk variants (findOrCreateMovies/findOrCreateShows) resolve many titles with one IN query
+// and create the missing ones with one batched saveAll. They must be called outside of a
+// transaction, so a lost insert race only rolls back the catalog insert, not the caller's work.
+@Service
+public class CatalogService {
+
+    @Autowired
+    private MoviesRepository movieRepo;
+    @Autowired
+    private ShowsRepository showRepo;
+    @Autowired
+    private CatalogSearchService searchService; // New rows are added to the title search index
+
+    // One single-flight group per media kind (a movie and a show can share a tmdbId)
+    private final SingleFlight<Long, Movies> movieFlight = new SingleFlight<>();
+    private final SingleFlight<Long, Shows> showFlight = new SingleFlight<>();
+
+    // Return the Movies row for dto.tmdbId(), creating it from the DTO fields if it doesn't exist yet
+    public Movies findOrCreateMovie(UserMovieListDTO dto) {
+        return movieFlight.execute(dto.tmdbId(), () -> {
+            Movies movie = movieRepo.findByTmdbId(dto.tmdbId());
+            if (movie != null) {
+                return movie;
+            }
+            try {
+                movie = movieRepo.save(dto.toMovie()); // persist to DB
+                searchService.indexMovie(movie);
+                return movie;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance inserted this tmdbId first → use its row
+                return movieRepo.findByTmdbId(dto.tmdbId());
+            }
+        });
+    }
+
+    // Return the Shows row for dto.tmdbId(), creating it from the DTO fields if it doesn't exist yet
+    public Shows findOrCreateShow(UserShowListDTO dto) {
+        return showFlight.execute(dto.tmdbId(), () -> {
+            Shows show = showRepo.findByTmdbId(dto.tmdbId());
+            if (show != null) {
+                return show;
+            }
+            try {
+                show = showRepo.save(dto.toShow());
+                searchService.indexShow(show);
+                return show;
+            } catch (DataIntegrityViolationException e) {
+                // Another instance inserted this tmdbId first → use its row
+                return showRepo.findByTmdbId(dto.tmdbId());
+            }
+        });
+    }
+
+    // Resolve many movies at once: tmdbId → Movies.
+    // - "toCreate": titles that should be created if they are missing (they carry the details)
+    // - "lookupOnly": titles that are only looked up (e.g. removals); missing ones are left out of the map
+    public Map<Long, Movies> findOrCreateMovies(List<UserMovieListDTO> toCreate, Collection<Long> lookupOnly) {
+        Set<Long> tmdbIds = new HashSet<>(lookupOnly);
+        toCreate.forEach(dto -> tmdbIds.add(dto.tmdbId()));
+
+        // One IN query for everything we already have
+        Map<Long, Movies> found = new HashMap<>();
+        if (!tmdbIds.isEmpty()) {
+            movieRepo.findByTmdbIdIn(tmdbIds).forEach(m -> found.put(m.getTmdbId(), m));
+        }
+
+        // Build the missing ones (first DTO wins if a tmdbId appears twice)
+        Map<Long, UserMovieListDTO> missing = new LinkedHashMap<>();
+        toCreate.stream().filter(dto -> !found.containsKey(dto.tmdbId())).forEach(dto -> missing.putIfAbsent(dto.tmdbId(), dto));
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        try {
+            // saveAll runs in its own transaction; inserts are sent as JDBC batches
+            for (Movies movie : movieRepo.saveAll(missing.values().stream().map(UserMovieListDTO::toMovie).toList())) {
+                searchService.indexMovie(movie);
+                found.put(movie.getTmdbId(), movie);
+            }
+        } catch (DataIntegrityViolationException e) {
+            // Someone else created one of these titles in the meantime → fall back to one at a time
+            missing.values().forEach(dto -> found.put(dto.tmdbId(), findOrCreateMovie(dto)));
+        }
+        return found;
+    }
+
+    // Same as findOrCreateMovies, for shows
+    public Map<Long, Shows> findOrCreateShows(List<UserShowListDTO> toCreate, Collection<Long> lookupOnly) {
+        Set<Long> tmdbIds = new HashSet<>(lookupOnly);
+        toCreate.forEach(dto -> tmdbIds.add(dto.tmdbId()));
+
+        Map<Long, Shows> found = new HashMap<>();
+        if (!tmdbIds.isEmpty()) {
+            showRepo.findByTmdbIdIn(tmdbIds).forEach(s -> found.put(s.getTmdbId(), s));
+        }
+
+        Map<Long, UserShowListDTO> missing = new LinkedHashMap<>();
+        toCreate.stream().filter(dto -> !found.containsKey(dto.tmdbId())).forEach(dto -> missing.putIfAbsent(dto.tmdbId(), dto));
+        if (missing.isEmpty()) {
+            return found;
+        }
+
+        try {
+            for (Shows show : showRepo.saveAll(missing.values().stream().map(UserShowListDTO::toShow).toList())) {
+                searchService.indexShow(show);
+                found.put(show.getTmdbId(), show);
+            }
+        } catch (DataIntegrityViolationException e) {
+            missing.values().forEach(dto -> found.put(dto.tmdbId(), findOrCreateShow(dto)));
+        }
+        return found;
+    }
+}
@@ -0,0 +1,367 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.IntStream;
+
+// CoOccurrenceIndex counts, for every pair of titles (of one kind), how many users have BOTH in
+// their favourites or watched list, and answers "titles most often liked together with this one".
+//
+// How it works:
+// - Per user: the titles they have, with flags for the list(s) each is in. A title in both
+//   favourites and watched counts once.
+// - Per title: a row "other title → number of users who have both" (LongIntHashMap, no boxing),
+//   and its popularity (number of users who have it).
+// - top(...) scores every title in the row by cosine similarity,
+//       together / sqrt(popularity(a) * popularity(b))
+//   so titles that everybody has don't win everything, and keeps the best K in a small heap.
+//   It reads one row: a fraction of a millisecond even for popular titles.
+//
+// A user with n titles adds n * (n - 1) counts. Only the first "maxTitlesPerUser" titles of a user
+// count (if one of them is removed, another takes its place), so one giant list can't dominate the
+// results or the memory.
+//
+// add/remove are idempotent (adding a title that's there, or removing one that isn't, changes
+// nothing), so replaying a change that the last rebuild already saw is harmless.
+//
+// Thread-safety: any number of top(...) calls at once, writes are exclusive (read/write lock).
+final class CoOccurrenceIndex {
+
+    // Which list a title is in (flags)
+    static final int FAVOURITES = 1;
+    static final int WATCHED = 2;
+    private static final int LISTS = FAVOURITES | WATCHED;
+    // Set on the titles that count toward the pairs (at most maxTitlesPerUser per user)
+    private static final int COUNTED = 4;
+
+    // The rows are split into stripes by title id, so the build can fill them in parallel
+    // (each stripe by one thread) without locking
+    private static final int STRIPES = 32;
+
+    private final int maxTitlesPerUser;
+    private final Map<Long, UserTitles> users;
+    private final Map<Long, LongIntHashMap>[] rows;
+    private final LongIntHashMap popularity = new LongIntHashMap();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    @SuppressWarnings("unchecked")
+    private CoOccurrenceIndex(int maxTitlesPerUser, Map<Long, UserTitles> users) {
+        this.maxTitlesPerUser = maxTitlesPerUser;
+        this.users = users;
+        this.rows = new Map[STRIPES];
+        for (int stripe = 0; stripe < STRIPES; stripe++) {
+            rows[stripe] = new HashMap<>();
+        }
+    }
+
+    // Collects every user's titles first, then computes all pairs at once (see build())
+    static final class Builder {
+        private final int maxTitlesPerUser;
+        private final Map<Long, UserTitles> users = new HashMap<>();
+
+        Builder(int maxTitlesPerUser) {
+            this.maxTitlesPerUser = maxTitlesPerUser;
+        }
+
+        Builder add(long userId, long titleId, int list) {
+            users.computeIfAbsent(userId, id -> new UserTitles()).add(titleId, list, maxTitlesPerUser);
+            return this;
+        }
+
+        // Count the pairs with one thread per stripe (on the common fork/join pool)
+        CoOccurrenceIndex build() {
+            CoOccurrenceIndex index = new CoOccurrenceIndex(maxTitlesPerUser, users);
+            List<long[]> baskets = new ArrayList<>(users.size());
+            for (UserTitles user : users.values()) {
+                long[] titles = user.countedTitles();
+                for (long title : titles) {
+                    index.popularity.addTo(title, 1);
+                }
+                if (titles.length > 1) {
+                    baskets.add(titles);
+                }
+            }
+            IntStream.range(0, STRIPES).parallel().forEach(stripe -> {
+                Map<Long, LongIntHashMap> rows = index.rows[stripe];
+                for (long[] titles : baskets) {
+                    for (long title : titles) {
+                        if (stripeOf(title) != stripe) {
+                            continue;
+                        }
+                        LongIntHashMap row = rows.computeIfAbsent(title, id -> new LongIntHashMap());
+                        for (long other : titles) {
+                            if (other != title) {
+                                row.addTo(other, 1);
+                            }
+                        }
+                    }
+                }
+            });
+            return index;
+        }
+    }
+
+    // The user put the title in "list" (FAVOURITES or WATCHED)
+    void add(long userId, long titleId, int list) {
+        lock.writeLock().lock();
+        try {
+            UserTitles user = users.computeIfAbsent(userId, id -> new UserTitles());
+            if (user.add(titleId, list, maxTitlesPerUser)) {
+                count(user, titleId, 1);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The user took the title out of "list"
+    void remove(long userId, long titleId, int list) {
+        lock.writeLock().lock();
+        try {
+            UserTitles user = users.get(userId);
+            if (user == null) {
+                return;
+            }
+            if (user.remove(titleId, list)) {
+                count(user, titleId, -1);
+                long replacement = user.countAnother();
+                if (replacement != 0) {
+                    count(user, replacement, 1);
+                }
+            }
+            if (user.flags.size() == 0) {
+                users.remove(userId);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Ids of the (at most) "limit" titles most similar to titleId, best first. Pairs seen by fewer
+    // than "minTogether" users are ignored (too little evidence).
+    long[] top(long titleId, int limit, int minTogether) {
+        lock.readLock().lock();
+        try {
+            LongIntHashMap row = rows[stripeOf(titleId)].get(titleId);
+            if (row == null || limit <= 0) {
+                return new long[0];
+            }
+            double popularityOfTitle = popularity.get(titleId);
+            TopScores best = new TopScores(limit);
+            row.forEach((other, together) -> {
+                if (together >= minTogether) {
+                    best.offer(other, together / Math.sqrt(popularityOfTitle * popularity.get(other)));
+                }
+            });
+            return best.idsBestFirst();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of users who have both titles
+    int together(long titleId, long otherId) {
+        lock.readLock().lock();
+        try {
+            LongIntHashMap row = rows[stripeOf(titleId)].get(titleId);
+            return row == null ? 0 : row.get(otherId);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of titles that at least one user has
+    int titles() {
+        lock.readLock().lock();
+        try {
+            return popularity.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Number of (title, other title) counts kept
+    long pairs() {
+        lock.readLock().lock();
+        try {
+            long pairs = 0;
+            for (Map<Long, LongIntHashMap> stripe : rows) {
+                for (LongIntHashMap row : stripe.values()) {
+                    pairs += row.size();
+                }
+            }
+            return pairs;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // titleId started (delta 1) or stopped (delta -1) counting for this user: update its pairs with
+    // the user's other counted titles, and its popularity (caller holds the write lock)
+    private void count(UserTitles user, long titleId, int delta) {
+        popularity.addTo(titleId, delta);
+        user.flags.forEach((other, bits) -> {
+            if (other != titleId && (bits & COUNTED) != 0) {
+                addTogether(titleId, other, delta);
+                addTogether(other, titleId, delta);
+            }
+        });
+    }
+
+    private void addTogether(long titleId, long otherId, int delta) {
+        Map<Long, LongIntHashMap> stripe = rows[stripeOf(titleId)];
+        LongIntHashMap row = stripe.computeIfAbsent(titleId, id -> new LongIntHashMap());
+        row.addTo(otherId, delta);
+        if (row.size() == 0) {
+            stripe.remove(titleId);
+        }
+    }
+
+    private static int stripeOf(long titleId) {
+        return (int) (titleId & (STRIPES - 1));
+    }
+
+    // One user's titles: title id → list flags (| COUNTED), and how many are counted
+    private static final class UserTitles {
+        final LongIntHashMap flags = new LongIntHashMap();
+        int counted;
+
+        // Returns true if the title starts counting
+        boolean add(long titleId, int list, int maxTitles) {
+            int old = flags.get(titleId);
+            if (old == 0 && counted < maxTitles) {
+                flags.put(titleId, list | COUNTED);
+                counted++;
+                return true;
+            }
+            flags.put(titleId, old | list);
+            return false;
+        }
+
+        // Returns true if the title stops counting (it's in neither list any more)
+        boolean remove(long titleId, int list) {
+            int old = flags.get(titleId);
+            if ((old & list) == 0) {
+                return false;
+            }
+            if ((old & LISTS & ~list) != 0) {
+                flags.put(titleId, old & ~list); // still in the other list
+                return false;
+            }
+            flags.remove(titleId);
+            if ((old & COUNTED) == 0) {
+                return false;
+            }
+            counted--;
+            return true;
+        }
+
+        // A place became free: count one of the titles beyond the limit, if there is one.
+        // Returns its id, or 0.
+        long countAnother() {
+            long[] found = {0};
+            flags.forEach((titleId, bits) -> {
+                if (found[0] == 0 && (bits & COUNTED) == 0) {
+                    found[0] = titleId;
+                }
+            });
+            if (found[0] != 0) {
+                flags.put(found[0], flags.get(found[0]) | COUNTED);
+                counted++;
+            }
+            return found[0];
+        }
+
+        long[] countedTitles() {
+            long[] titles = new long[counted];
+            int[] next = {0};
+            flags.forEach((titleId, bits) -> {
+                if ((bits & COUNTED) != 0) {
+                    titles[next[0]++] = titleId;
+                }
+            });
+            return titles;
+        }
+    }
+
+    // The best "limit" (id, score) pairs offered so far, as a min-heap on score (the root is the
+    // one to drop first). Ties go to the lower id, so results are stable.
+    private static final class TopScores {
+        private final long[] ids;
+        private final double[] scores;
+        private int size;
+
+        TopScores(int limit) {
+            ids = new long[limit];
+            scores = new double[limit];
+        }
+
+        void offer(long id, double score) {
+            if (size < ids.length) {
+                ids[size] = id;
+                scores[size] = score;
+                siftUp(size++);
+            } else if (worse(0, id, score)) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        long[] idsBestFirst() {
+            long[] result = new long[size];
+            while (size > 0) {
+                result[size - 1] = ids[0];
+                size--;
+                ids[0] = ids[size];
+                scores[0] = scores[size];
+                siftDown(0);
+            }
+            return result;
+        }
+
+        // Is the entry at "slot" worse than (id, score)?
+        private boolean worse(int slot, long id, double score) {
+            return scores[slot] < score || (scores[slot] == score && ids[slot] > id);
+        }
+
+        private void siftUp(int slot) {
+            while (slot > 0) {
+                int parent = (slot - 1) / 2;
+                if (!worse(slot, ids[parent], scores[parent])) {
+                    return;
+                }
+                swap(slot, parent);
+                slot = parent;
+            }
+        }
+
+        private void siftDown(int slot) {
+            while (true) {
+                int worst = slot;
+                for (int child = 2 * slot + 1; child <= 2 * slot + 2 && child < size; child++) {
+                    if (worse(child, ids[worst], scores[worst])) {
+                        worst = child;
+                    }
+                }
+                if (worst == slot) {
+                    return;
+                }
+                swap(slot, worst);
+                slot = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            long id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            double score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+}
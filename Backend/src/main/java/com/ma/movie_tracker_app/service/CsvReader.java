@@ -0,0 +1,95 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// CsvReader reads one CSV record at a time from a Reader (RFC 4180):
+// - fields are separated by commas, records by \n or \r\n
+// - a field in double quotes may contain commas, line breaks and doubled quotes ("")
+// - malformed input is read leniently where that can't swallow other records: a quote in the
+//   middle of an unquoted field is kept as a character, text after a closing quote is appended;
+//   a quoted field that is never closed is an IOException (it would run to the end of the file)
+//
+// Only the current record is kept in memory, so files of any size can be read.
+final class CsvReader {
+
+    private final Reader in;
+    private int peeked = -2; // one character of look-ahead (-2 = nothing peeked yet)
+
+    CsvReader(Reader in) {
+        this.in = in;
+    }
+
+    // Next record as a list of fields, or null at the end of the input.
+    // Empty lines are skipped.
+    List<String> next() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;     // inside "..."
+        boolean anyChar = false;    // has this record started?
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field at the end of the CSV file");
+                }
+                if (!anyChar) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            anyChar = true;
+
+            if (quoted) {
+                if (c == '"') {
+                    if (peek() == '"') {
+                        read();
+                        field.append('"'); // "" → "
+                    } else {
+                        quoted = false;     // closing quote
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;      // opening quote (only at the start of a field)
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r' && peek() == '\n') {
+                    read();
+                }
+                if (fields.isEmpty() && field.length() == 0) {
+                    anyChar = false; // blank line
+                    continue;
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (peeked != -2) {
+            int c = peeked;
+            peeked = -2;
+            return c;
+        }
+        return in.read();
+    }
+
+    private int peek() throws IOException {
+        if (peeked == -2) {
+            peeked = in.read();
+        }
+        return peeked;
+    }
+}
@@ -0,0 +1,148 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+// Jackson for writing one JSON object per line
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.model.*;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
+
+// LibraryExportService writes a user's whole library (movies and shows, every list type)
+// straight to an OutputStream (backs GET /api/user/library/export).
+//
+// Rows are read with the Stream queries on UserMovieListRepository/UserShowListRepository
+// (JDBC fetch size 500) and written out one by one, so only a chunk of rows and a small write
+// buffer are ever in memory, no matter how many rows the user has.
+//
+// Formats:
+// - NDJSON: one JSON object per line, e.g. {"kind":"movie","type":"watched","tmdbId":27205,...}
+// - CSV: header line + one line per row (RFC 4180 quoting)
+@Service
+public class LibraryExportService {
+
+    // One exported line: the media kind ("movie"/"show") plus the list row
+    public record ExportRow(String kind, String type, Long tmdbId, String title, Integer releaseYear,
+                            String genre, String imageUrl) {
+        static ExportRow of(String kind, UserLibraryRow row) {
+            return new ExportRow(kind, row.type(), row.tmdbId(), row.title(), row.releaseYear(),
+                    row.genre(), row.imageUrl());
+        }
+    }
+
+    private static final String CSV_HEADER = "kind,type,tmdbId,title,releaseYear,genre,imageUrl";
+
+    @Autowired
+    private UserMovieListRepository userMovieListRepo;
+    @Autowired
+    private UserShowListRepository userShowListRepo;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Read-only transaction: Stream queries need an open connection while they are consumed
+    private final TransactionTemplate readOnly;
+
+    public LibraryExportService(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    // Write the library as NDJSON
+    public void writeNdjson(Long userId, OutputStream out) throws IOException {
+        Writer writer = bufferedWriter(out);
+        // SequenceWriter writes values one after another, separated by "\n".
+        // It must not flush per row (the buffer does that) or close the response stream.
+        ObjectWriter rows = objectMapper.writer()
+                .withRootValueSeparator("\n")
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        try (SequenceWriter json = rows.writeValues(writer)) {
+            forEachRow(userId, row -> json.write(row));
+            json.flush(); // generator → writer, before the final newline
+            writer.write('\n');
+        }
+        writer.flush();
+    }
+
+    // Write the library as CSV
+    public void writeCsv(Long userId, OutputStream out) throws IOException {
+        Writer writer = bufferedWriter(out);
+        writer.write(CSV_HEADER);
+        writer.write("\r\n");
+        forEachRow(userId, row -> {
+            writer.write(csv(row.kind()));
+            writer.write(',');
+            writer.write(csv(row.type()));
+            writer.write(',');
+            writer.write(csv(row.tmdbId()));
+            writer.write(',');
+            writer.write(csv(row.title()));
+            writer.write(',');
+            writer.write(csv(row.releaseYear()));
+            writer.write(',');
+            writer.write(csv(row.genre()));
+            writer.write(',');
+            writer.write(csv(row.imageUrl()));
+            writer.write("\r\n");
+        });
+        writer.flush();
+    }
+
+    // Something that writes one row (may throw IOException, unlike Consumer)
+    private interface RowWriter {
+        void write(ExportRow row) throws IOException;
+    }
+
+    // Stream movies, then shows, through "rowWriter" inside one read-only transaction
+    private void forEachRow(Long userId, RowWriter rowWriter) throws IOException {
+        try {
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<UserLibraryRow> movies = userMovieListRepo.streamLibraryRowsByUserId(userId)) {
+                    movies.forEach(row -> write(rowWriter, ExportRow.of("movie", row)));
+                }
+                try (Stream<UserLibraryRow> shows = userShowListRepo.streamLibraryRowsByUserId(userId)) {
+                    shows.forEach(row -> write(rowWriter, ExportRow.of("show", row)));
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause(); // e.g. the client closed the connection
+        }
+    }
+
+    private static void write(RowWriter rowWriter, ExportRow row) {
+        try {
+            rowWriter.write(row);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static Writer bufferedWriter(OutputStream out) {
+        return new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 16 * 1024);
+    }
+
+    // Quote a CSV field when it contains a comma, quote or line break (quotes are doubled)
+    static String csv(Object value) {
+        if (value == null) {
+            return "";
+        }
+        String text = value.toString();
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0 && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+            return text;
+        }
+        return '"' + text.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,307 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Jackson for reading JSON rows one at a time
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// Logging for failed jobs
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+// Import models
+import com.ma.movie_tracker_app.model.*;
+
+import jakarta.annotation.PreDestroy;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+// LibraryImportService imports watch history from other trackers (backs POST /api/user/library/import).
+//
+// How an import runs:
+//   1. The controller saves the upload to a temp file and calls submit() → a job id comes back at once.
+//   2. A background thread reads the file row by row (CSV or JSON, never fully in memory)
+//      and collects rows into chunks of "import.chunk-size".
+//   3. Each chunk is written with UserListBulkService, per list type:
+//      one IN query + one batched saveAll for the catalog, one IN query + one batched saveAll
+//      for the list rows (duplicates already in the list are skipped).
+//   4. Progress (processed/added/skipped/failed) is readable at any time with status(jobId).
+//
+// Accepted rows use the same columns as the export (kind,type,tmdbId,title,releaseYear,genre,imageUrl),
+// plus optional description and director. "kind" is "movie" or "show" ("tv" also works), and "type"
+// is one of the app's lists (watchlist, watched, favourites); other rows are counted as failed.
+@Service
+public class LibraryImportService {
+
+    private static final Logger log = LoggerFactory.getLogger(LibraryImportService.class);
+
+    // One row of an import file (CSV columns or JSON fields)
+    public record ImportRow(String kind, String type, Long tmdbId, String title, String description,
+                            Integer releaseYear, String genre, String director, String imageUrl) {}
+
+    // What GET /api/user/library/import/{jobId} returns
+    public record ImportStatus(String jobId, String state, long processed, long added, long skipped,
+                               long failed, String error) {}
+
+    // The list types rows may be imported into (the ones the app shows)
+    private static final Set<String> LIST_TYPES = Set.of("watchlist", "watched", "favourites");
+
+    // Job states
+    public static final String QUEUED = "queued";
+    public static final String RUNNING = "running";
+    public static final String DONE = "done";
+    public static final String FAILED = "failed";
+
+    // Progress of one job (updated by the worker thread, read by status requests)
+    private static final class Job {
+        final String id = UUID.randomUUID().toString();
+        final Long userId;
+        volatile String state = QUEUED;
+        volatile String error;
+        volatile long finishedAt;
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong added = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+
+        Job(Long userId) {
+            this.userId = userId;
+        }
+
+        ImportStatus status() {
+            return new ImportStatus(id, state, processed.get(), added.get(), skipped.get(), failed.get(), error);
+        }
+    }
+
+    // Thrown by submit() when too many imports are already waiting
+    public static class ImportBusyException extends RuntimeException {
+        public ImportBusyException() {
+            super("Too many imports in progress, please retry later");
+        }
+    }
+
+    @Autowired
+    private UserListBulkService bulkService;
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    // Rows written per chunk (one transaction per list type and chunk)
+    private final int chunkSize;
+
+    // How long finished jobs stay visible to status()
+    private final long keepFinishedMillis;
+
+    // Worker threads; the queue is bounded so a flood of uploads is rejected instead of piling up
+    private final ThreadPoolExecutor workers;
+
+    // Every known job by id
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public LibraryImportService(
+            @Value("${import.chunk-size:1000}") int chunkSize,
+            @Value("${import.max-concurrent-jobs:2}") int maxConcurrentJobs,
+            @Value("${import.max-queued-jobs:20}") int maxQueuedJobs,
+            @Value("${import.keep-finished-minutes:60}") long keepFinishedMinutes
+    ) {
+        this.chunkSize = chunkSize;
+        this.keepFinishedMillis = TimeUnit.MINUTES.toMillis(keepFinishedMinutes);
+        this.workers = new ThreadPoolExecutor(maxConcurrentJobs, maxConcurrentJobs, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxQueuedJobs), runnable -> {
+                    Thread thread = new Thread(runnable, "library-import");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // Start importing "file" (csv or json) into the user's lists. The file is deleted when the job ends.
+    // Throws ImportBusyException if the queue is full.
+    public ImportStatus submit(Long userId, Path file, String format) {
+        removeOldJobs();
+        Job job = new Job(userId);
+        jobs.put(job.id, job);
+        try {
+            workers.execute(() -> run(job, file, format));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            deleteQuietly(file);
+            throw new ImportBusyException();
+        }
+        return job.status();
+    }
+
+    // Current progress of a job, or null if the id is unknown or belongs to another user
+    public ImportStatus status(String jobId, Long userId) {
+        Job job = jobs.get(jobId);
+        return job == null || !job.userId.equals(userId) ? null : job.status();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // ---- worker side ----
+
+    private void run(Job job, Path file, String format) {
+        job.state = RUNNING;
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            List<ImportRow> chunk = new ArrayList<>(chunkSize);
+            Iterator<ImportRow> rows = "csv".equals(format) ? csvRows(reader) : jsonRows(reader);
+            while (rows.hasNext()) {
+                chunk.add(rows.next());
+                if (chunk.size() == chunkSize) {
+                    writeChunk(job, chunk);
+                    chunk.clear();
+                }
+            }
+            writeChunk(job, chunk);
+            job.state = DONE;
+        } catch (Exception e) {
+            // Rows written so far stay imported; the status shows where it stopped
+            log.warn("Import {} failed after {} rows", job.id, job.processed.get(), e);
+            job.error = e instanceof UncheckedIOException || e instanceof IOException
+                    ? "Could not read the file: " + e.getMessage() : e.getMessage();
+            job.state = FAILED;
+        } finally {
+            job.finishedAt = System.currentTimeMillis();
+            deleteQuietly(file);
+        }
+    }
+
+    // Write one chunk: valid rows are grouped by (kind, type) and applied with the bulk service
+    private void writeChunk(Job job, List<ImportRow> chunk) {
+        Map<String, List<UserMovieListDTO>> movies = new LinkedHashMap<>();
+        Map<String, List<UserShowListDTO>> shows = new LinkedHashMap<>();
+        int valid = 0;
+        for (ImportRow row : chunk) {
+            String kind = row.kind() == null ? "" : row.kind().trim().toLowerCase(Locale.ROOT);
+            String type = row.type() == null ? "" : row.type().trim().toLowerCase(Locale.ROOT);
+            if (row.tmdbId() == null || !LIST_TYPES.contains(type)) {
+                job.failed.incrementAndGet();
+            } else if (kind.equals("movie")) {
+                movies.computeIfAbsent(type, t -> new ArrayList<>()).add(new UserMovieListDTO(null, row.tmdbId(),
+                        type, row.title(), row.description(), row.releaseYear(), row.genre(), row.director(), row.imageUrl()));
+                valid++;
+            } else if (kind.equals("show") || kind.equals("tv")) {
+                shows.computeIfAbsent(type, t -> new ArrayList<>()).add(new UserShowListDTO(null, row.tmdbId(),
+                        type, row.title(), row.description(), row.releaseYear(), row.genre(), row.director(), row.imageUrl()));
+                valid++;
+            } else {
+                job.failed.incrementAndGet();
+            }
+        }
+
+        int added = 0;
+        for (var entry : movies.entrySet()) {
+            added += bulkService.applyMovieChanges(job.userId, entry.getKey(), entry.getValue(), List.of()).added();
+        }
+        for (var entry : shows.entrySet()) {
+            added += bulkService.applyShowChanges(job.userId, entry.getKey(), entry.getValue(), List.of()).added();
+        }
+
+        job.added.addAndGet(added);
+        job.skipped.addAndGet(valid - added); // already in the list (or repeated in the file)
+        job.processed.addAndGet(chunk.size());
+    }
+
+    // JSON: either an array of row objects or one object per line (NDJSON, like the export)
+    private Iterator<ImportRow> jsonRows(Reader reader) throws IOException {
+        MappingIterator<ImportRow> rows = objectMapper.readerFor(ImportRow.class).readValues(reader);
+        return rows; // reads one row per next() call
+    }
+
+    // CSV: the first line names the columns (any order; unknown columns are ignored)
+    private Iterator<ImportRow> csvRows(Reader reader) throws IOException {
+        CsvReader csv = new CsvReader(reader);
+        List<String> header = csv.next();
+        Map<String, Integer> columns = new HashMap<>();
+        if (header != null) {
+            for (int i = 0; i < header.size(); i++) {
+                columns.put(header.get(i).trim(), i);
+            }
+        }
+
+        return new Iterator<>() {
+            // Read on demand in hasNext(), so a bad record fails the job only after the rows
+            // before it have been handed out (and written)
+            private List<String> next;
+            private boolean ended;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !ended) {
+                    next = read();
+                    ended = next == null;
+                }
+                return next != null;
+            }
+
+            @Override
+            public ImportRow next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<String> fields = next;
+                next = null;
+                return new ImportRow(field(fields, "kind"), field(fields, "type"), number(field(fields, "tmdbId")),
+                        field(fields, "title"), field(fields, "description"), integer(field(fields, "releaseYear")),
+                        field(fields, "genre"), field(fields, "director"), field(fields, "imageUrl"));
+            }
+
+            private List<String> read() {
+                try {
+                    return csv.next();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+
+            private String field(List<String> fields, String name) {
+                Integer index = columns.get(name);
+                if (index == null || index >= fields.size() || fields.get(index).isEmpty()) {
+                    return null;
+                }
+                return fields.get(index);
+            }
+        };
+    }
+
+    // Bad numbers become null, so the row is counted as failed instead of stopping the import
+    private static Long number(String text) {
+        try {
+            return text == null ? null : Long.valueOf(text.trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private static Integer integer(String text) {
+        Long value = number(text);
+        return value == null || value > Integer.MAX_VALUE || value < Integer.MIN_VALUE ? null : value.intValue();
+    }
+
+    // Drop finished jobs older than keepFinishedMillis
+    private void removeOldJobs() {
+        long cutoff = System.currentTimeMillis() - keepFinishedMillis;
+        jobs.values().removeIf(job -> job.finishedAt != 0 && job.finishedAt < cutoff);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete import file {}", file, e);
+        }
+    }
+}
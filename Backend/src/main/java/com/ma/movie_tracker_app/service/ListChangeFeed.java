@@ -0,0 +1,375 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+// Import models
+import com.ma.movie_tracker_app.model.ListChange;
+
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiConsumer;
+
+// ListChangeFeed pushes every change to a user's lists to that user's open
+// GET /api/user/library/events connections (Server-Sent Events), so other tabs and devices can apply
+// the change to the list they show instead of refetching it.
+//
+// - The list endpoints call publish(...) after a change commits (add, remove, bulk, import).
+// - Every event gets an id ("<boot id>-<sequence>"). The browser's EventSource sends the last one
+//   back as Last-Event-ID when it reconnects, and the events it missed are replayed from a buffer
+//   of the most recent events: at most "lists.feed.replay-size" events holding at most
+//   "lists.feed.replay-max-items" list items in total, oldest dropped first. The buffer is indexed
+//   per user, so a replay only looks at that user's events. If they're no longer there (or the id
+//   is from before a restart) it gets a "reset" event instead and should refetch its lists.
+// - A large change (a big bulk request or import chunk) is sent live in full, but only remembered
+//   as "reset": a client that missed it refetches instead of us keeping hundreds of items around.
+// - An open connection costs no thread while idle (an async request, see SseEmitter), just a small
+//   object here. A comment line is sent every "lists.feed.heartbeat" so proxies keep it open and
+//   dead connections are noticed.
+// - Events are written to each connection by its own sender (a virtual thread), never by the
+//   request that made the change. A client that can't keep up has at most "lists.feed.max-queued"
+//   events waiting; beyond that its connection is closed, and it catches up on reconnect.
+//
+// Other services can listen to the changes too (addListener), e.g. to keep RecommendationService
+// up to date.
+//
+// Like ListVersions, this is in memory: changes made through another app instance are not seen, and
+// Last-Event-ID only replays this instance's events. With several instances (auth.mode=token, no
+// sticky routing) clients should still refetch their lists now and then, e.g. when the tab regains focus.
+@Service
+public class ListChangeFeed {
+
+    private static final Logger log = LoggerFactory.getLogger(ListChangeFeed.class);
+
+    // Thrown when the server already holds "lists.feed.max-connections" feeds
+    public static class FeedBusyException extends RuntimeException {
+        public FeedBusyException() {
+            super("Too many open change feeds, please retry later");
+        }
+    }
+
+    // One event: its sequence number, whose lists it's about, its SSE name and data
+    private record Event(long seq, Long userId, String name, ListChange change) {
+        // How much it weighs in the replay buffer
+        int items() {
+            return change == null ? 1 : Math.max(1, change.added().size() + change.removed().size());
+        }
+    }
+
+    // Changes with more items than this are remembered as "reset" (see class comment)
+    private static final int MAX_REPLAYED_CHANGE_ITEMS = 100;
+
+    // Keeps the connection alive; sent as an SSE comment, which EventSource ignores
+    private static final Event HEARTBEAT = new Event(0, null, null, null);
+
+    // Different on every startup → ids from before a restart are recognized as unknown
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+
+    private final long timeoutMillis;
+    private final int maxQueued;
+    private final int maxPerUser;
+    private final int maxConnections;
+    private final int replaySize;
+    private final int replayMaxItems;
+
+    // The replay buffer: the most recent events (oldest first), the same events per user, their
+    // total items, and the newest seq dropped from it (every event up to it is gone). Then the next
+    // sequence number and the open connections per user. All guarded by "this".
+    private final ArrayDeque<Event> recent = new ArrayDeque<>();
+    private final Map<Long, ArrayDeque<Event>> recentByUser = new HashMap<>();
+    private int recentItems;
+    private long droppedUpTo;
+    private long nextSeq = 1;
+    private final Map<Long, List<Subscriber>> subscribers = new HashMap<>();
+    private int open;
+
+    // Told about every change, on the thread that publishes it (so they must return quickly)
+    private final List<BiConsumer<Long, ListChange>> listeners = new CopyOnWriteArrayList<>();
+
+    // Writes to the connections (one short-lived virtual thread per busy connection)
+    private final ExecutorService senders = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(task -> {
+        Thread thread = new Thread(task, "list-feed-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ListChangeFeed(
+            @Value("${lists.feed.replay-size:10000}") int replaySize,
+            @Value("${lists.feed.replay-max-items:100000}") int replayMaxItems,
+            @Value("${lists.feed.max-queued:64}") int maxQueued,
+            @Value("${lists.feed.max-connections-per-user:5}") int maxPerUser,
+            @Value("${lists.feed.max-connections:2500}") int maxConnections,
+            @Value("${lists.feed.timeout:PT30M}") Duration timeout,
+            @Value("${lists.feed.heartbeat:PT25S}") Duration heartbeat,
+            @Value("${server.tomcat.max-connections:8192}") int serverMaxConnections
+    ) {
+        // Every open feed holds one of Tomcat's connections for its whole lifetime: if feeds could
+        // take them all, no other request would get in
+        if (maxConnections > serverMaxConnections / 2) {
+            throw new IllegalStateException("lists.feed.max-connections (" + maxConnections + ") must be at most half of "
+                    + "server.tomcat.max-connections (" + serverMaxConnections + ")");
+        }
+        this.replaySize = replaySize;
+        this.replayMaxItems = replayMaxItems;
+        this.maxQueued = maxQueued;
+        this.maxPerUser = maxPerUser;
+        this.maxConnections = maxConnections;
+        this.timeoutMillis = timeout.toMillis();
+        heartbeats.scheduleAtFixedRate(this::sendHeartbeats, heartbeat.toMillis(), heartbeat.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // Send a change to the user's open feeds (call it after the change has committed)
+    public void publish(Long userId, ListChange change) {
+        if (change.added().isEmpty() && change.removed().isEmpty()) {
+            return;
+        }
+        listeners.forEach(listener -> listener.accept(userId, change));
+        synchronized (this) {
+            Event event = new Event(nextSeq++, userId, "change", change);
+            remember(event.items() > MAX_REPLAYED_CHANGE_ITEMS ? new Event(event.seq, userId, "reset", null) : event);
+            for (Subscriber subscriber : subscribers.getOrDefault(userId, List.of())) {
+                subscriber.offer(event);
+            }
+        }
+    }
+
+    // Call "listener" with (userId, change) for every change published from now on
+    public void addListener(BiConsumer<Long, ListChange> listener) {
+        listeners.add(listener);
+    }
+
+    // Open a feed for the user. It starts with the events after lastEventId (if given), then "ready";
+    // or with "reset" if those events can't be replayed.
+    public SseEmitter subscribe(Long userId, String lastEventId) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+        Subscriber subscriber = new Subscriber(userId, emitter);
+        Subscriber oldest = null;
+
+        synchronized (this) {
+            if (open >= maxConnections) {
+                throw new FeedBusyException();
+            }
+            // Replay and registration under the same lock: no event is missed or sent twice
+            // (cheap: at most maxQueued of this user's own events are looked at)
+            List<Event> missed = missedEvents(userId, lastEventId);
+            long current = nextSeq - 1;
+            if (missed == null || missed.size() >= maxQueued) {
+                subscriber.offer(new Event(current, userId, "reset", null));
+            } else {
+                missed.forEach(subscriber::offer);
+                subscriber.offer(new Event(current, userId, "ready", null));
+            }
+
+            List<Subscriber> mine = subscribers.computeIfAbsent(userId, id -> new ArrayList<>());
+            if (mine.size() >= maxPerUser) {
+                oldest = mine.remove(0); // e.g. tabs closed without the connection noticing
+                open--;
+            }
+            mine.add(subscriber);
+            open++;
+        }
+        if (oldest != null) {
+            oldest.close();
+        }
+
+        emitter.onCompletion(() -> unregister(subscriber));
+        emitter.onTimeout(emitter::complete); // the browser reconnects with Last-Event-ID
+        emitter.onError(error -> unregister(subscriber));
+        return emitter;
+    }
+
+    // Number of open feeds
+    public synchronized int size() {
+        return open;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        heartbeats.shutdownNow();
+        List<Subscriber> all;
+        synchronized (this) {
+            all = subscribers.values().stream().flatMap(List::stream).toList();
+        }
+        all.forEach(Subscriber::close);
+        senders.shutdown();
+    }
+
+    // Add an event to the replay buffer, dropping the oldest ones beyond its bounds
+    // (guarded by the caller's lock)
+    private void remember(Event event) {
+        recent.add(event);
+        recentByUser.computeIfAbsent(event.userId, id -> new ArrayDeque<>()).add(event);
+        recentItems += event.items();
+
+        while (recent.size() > replaySize || recentItems > replayMaxItems) {
+            Event dropped = recent.poll();
+            recentItems -= dropped.items();
+            droppedUpTo = dropped.seq;
+            // The oldest event overall is also the oldest of its user
+            ArrayDeque<Event> users = recentByUser.get(dropped.userId);
+            users.poll();
+            if (users.isEmpty()) {
+                recentByUser.remove(dropped.userId);
+            }
+        }
+    }
+
+    // The user's events after lastEventId, or null if they can't all be replayed (or are more
+    // than a client may have queued). Walks only this user's newest events. (guarded by the caller's lock)
+    private List<Event> missedEvents(Long userId, String lastEventId) {
+        if (lastEventId == null || lastEventId.isBlank()) {
+            return List.of(); // a new feed: the client has just fetched its lists
+        }
+        int dash = lastEventId.lastIndexOf('-');
+        if (dash < 0 || !lastEventId.substring(0, dash).equals(bootId)) {
+            return null; // malformed, or from before a restart
+        }
+        long since;
+        try {
+            since = Long.parseLong(lastEventId.substring(dash + 1));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+        if (since < droppedUpTo || since >= nextSeq) {
+            return null; // fell out of the buffer, or an id we never handed out
+        }
+        List<Event> missed = new ArrayList<>();
+        Iterator<Event> newestFirst = recentByUser.getOrDefault(userId, new ArrayDeque<>()).descendingIterator();
+        while (newestFirst.hasNext()) {
+            Event event = newestFirst.next();
+            if (event.seq <= since) {
+                break;
+            }
+            if (event.change == null || missed.size() >= maxQueued) {
+                return null; // a large change, or too far behind
+            }
+            missed.add(event);
+        }
+        Collections.reverse(missed);
+        return missed;
+    }
+
+    private void sendHeartbeats() {
+        List<Subscriber> all;
+        synchronized (this) {
+            all = subscribers.values().stream().flatMap(List::stream).toList();
+        }
+        all.forEach(subscriber -> subscriber.offer(HEARTBEAT));
+    }
+
+    private synchronized void unregister(Subscriber subscriber) {
+        List<Subscriber> mine = subscribers.get(subscriber.userId);
+        if (mine != null && mine.remove(subscriber)) {
+            open--;
+            if (mine.isEmpty()) {
+                subscribers.remove(subscriber.userId);
+            }
+        }
+    }
+
+    private SseEmitter.SseEventBuilder toSse(Event event) {
+        if (event == HEARTBEAT) {
+            return SseEmitter.event().comment("heartbeat");
+        }
+        return SseEmitter.event()
+                .id(bootId + "-" + event.seq)
+                .name(event.name)
+                .data(event.change != null ? event.change : Map.of(), MediaType.APPLICATION_JSON);
+    }
+
+    // One open connection: its queue of events not written yet, and whether a sender is on it
+    private final class Subscriber {
+        final Long userId;
+        final SseEmitter emitter;
+
+        // Guarded by "this"
+        private final ArrayDeque<Event> queue = new ArrayDeque<>();
+        private boolean sending;
+        private boolean closed;
+
+        Subscriber(Long userId, SseEmitter emitter) {
+            this.userId = userId;
+            this.emitter = emitter;
+        }
+
+        // Queue an event without waiting for the client
+        void offer(Event event) {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                if (queue.size() >= maxQueued) {
+                    log.debug("Closing the change feed of user {}: the client is not keeping up", userId);
+                    closed = true;
+                    queue.clear();
+                } else {
+                    queue.add(event);
+                }
+                if (sending) {
+                    return; // the running sender picks it up
+                }
+                sending = true;
+            }
+            senders.execute(this::send);
+        }
+
+        // End the connection after the event being written (if any)
+        void close() {
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                queue.clear();
+                if (sending) {
+                    return;
+                }
+                sending = true;
+            }
+            senders.execute(this::send);
+        }
+
+        // Write queued events until the queue is empty (runs on a sender thread)
+        private void send() {
+            while (true) {
+                Event event;
+                synchronized (this) {
+                    if (closed) {
+                        break;
+                    }
+                    event = queue.poll();
+                    if (event == null) {
+                        sending = false;
+                        return;
+                    }
+                }
+                try {
+                    emitter.send(toSse(event));
+                } catch (IOException | IllegalStateException e) {
+                    // Client gone (the emitter has already completed with the error)
+                    synchronized (this) {
+                        closed = true;
+                        queue.clear();
+                    }
+                    return;
+                }
+            }
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,85 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring annotations for registering this class as a bean and injecting dependencies
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// ListVersions keeps a version counter for every user list, so list GETs can answer
+// "If-None-Match" with 304 Not Modified without querying the database.
+//
+// - Every change to a list (add, remove, bulk, import) calls bump(...) AFTER its transaction commits.
+// - GETs read the version BEFORE running their query and send it as the ETag. If a change lands in
+//   between, the response carries the older tag, so the next request simply gets a fresh 200.
+// - There is one counter per (user, media kind, list type) and one per user (for /api/user/library).
+//
+// Counters live in memory: the ETag starts with a random per-startup id, so tags handed out before
+// a restart never match again. They only see changes made through THIS instance: with several
+// instances, a list changed on instance B would still get 304s from instance A. So ETags are only
+// handed out when "lists.etag.enabled" is true. Left empty, it is true with auth.mode=session (sticky
+// sessions keep a user on one instance) and false with auth.mode=token (requests go anywhere).
+// Set it to false for any deployment where a user's writes and reads can reach different instances.
+// When disabled, listETag/libraryETag return null and every GET runs its query.
+@Component
+public class ListVersions {
+
+    // Told about every change too, so the user's next reads skip the (possibly lagging) replicas
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    // Different on every startup → old ETags can't produce a false 304
+    private final String bootId = UUID.randomUUID().toString().substring(0, 8);
+
+    // Hand out ETags at all (see class comment)
+    private final boolean enabled;
+
+    // "userId:kind:type" → version, and "userId" → version of the whole library
+    private final ConcurrentHashMap<String, AtomicLong> versions = new ConcurrentHashMap<>();
+
+    public ListVersions(
+            @Value("${lists.etag.enabled:}") String enabled,   // "true", "false" or empty (follow auth.mode)
+            @Value("${auth.mode:session}") String authMode
+    ) {
+        this.enabled = enabled.isBlank() ? !"token".equals(authMode) : Boolean.parseBoolean(enabled.trim());
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    // Record that a list changed ("kind" is "movie" or "show")
+    public void bump(Long userId, String kind, String type) {
+        counter(userId + ":" + kind + ":" + type).incrementAndGet();
+        counter(String.valueOf(userId)).incrementAndGet();
+        readYourWrites.markWritten(userId);
+    }
+
+    // Strong ETag for one list, e.g. "3f2a9c1d-17-4" (boot id, user id, version), or null if disabled.
+    // A client only sends it back for the same URL, so it doesn't need to name the list.
+    public String listETag(Long userId, String kind, String type) {
+        return eTag(userId, userId + ":" + kind + ":" + type);
+    }
+
+    // Strong ETag for all of a user's lists (changes whenever any of them changes), or null if disabled
+    public String libraryETag(Long userId) {
+        return eTag(userId, String.valueOf(userId));
+    }
+
+    private String eTag(Long userId, String key) {
+        return enabled ? '"' + bootId + "-" + userId + "-" + version(key) + '"' : null;
+    }
+
+    private long version(String key) {
+        AtomicLong counter = versions.get(key);
+        return counter == null ? 0 : counter.get();
+    }
+
+    private AtomicLong counter(String key) {
+        return versions.computeIfAbsent(key, k -> new AtomicLong());
+    }
+}
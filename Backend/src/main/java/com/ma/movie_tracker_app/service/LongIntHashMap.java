@@ -0,0 +1,175 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// LongIntHashMap maps long keys (title/user ids) to int values (counts, flags) in two plain arrays.
+//
+// A HashMap<Long, Integer> costs two objects per entry (~40 bytes more than the 12 bytes of data),
+// and boxes on every update. Here an entry is one long and one int in the arrays, and
+// addTo(key, 1) doesn't allocate. Used for the co-occurrence counts (see CoOccurrenceIndex),
+// where there are tens of millions of entries.
+//
+// - Open addressing with linear probing; the arrays double when 3/4 full.
+// - Key 0 marks an empty slot, so 0 can't be a key (our ids start at 1).
+// - An entry whose value drops to 0 through addTo is removed (a count of 0 is "no entry").
+// - Not thread-safe: callers lock (CoOccurrenceIndex does).
+final class LongIntHashMap {
+
+    // Called for every entry by forEach
+    @FunctionalInterface
+    interface EntryConsumer {
+        void accept(long key, int value);
+    }
+
+    private long[] keys;
+    private int[] values;
+    private int size;
+    private int mask;        // capacity - 1 (capacity is a power of two)
+    private int resizeAt;    // grow when size reaches this
+
+    LongIntHashMap() {
+        this(4);
+    }
+
+    LongIntHashMap(int expectedSize) {
+        int capacity = Integer.highestOneBit(Math.max(4, expectedSize * 4 / 3 + 1) - 1) << 1;
+        allocate(capacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    // The value for "key", or 0 if there is none
+    int get(long key) {
+        for (int slot = slot(key); ; slot = (slot + 1) & mask) {
+            long k = keys[slot];
+            if (k == key) {
+                return values[slot];
+            }
+            if (k == 0) {
+                return 0;
+            }
+        }
+    }
+
+    void put(long key, int value) {
+        if (value == 0) {
+            remove(key);
+            return;
+        }
+        int slot = find(key);
+        if (keys[slot] == key) {
+            values[slot] = value;
+        } else {
+            insert(slot, key, value);
+        }
+    }
+
+    // Add "delta" to the value of "key" (0 if absent) and return the new value
+    int addTo(long key, int delta) {
+        int slot = find(key);
+        if (keys[slot] != key) {
+            if (delta != 0) {
+                insert(slot, key, delta);
+            }
+            return delta;
+        }
+        int value = values[slot] + delta;
+        if (value == 0) {
+            removeAt(slot);
+        } else {
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    void remove(long key) {
+        int slot = find(key);
+        if (keys[slot] == key) {
+            removeAt(slot);
+        }
+    }
+
+    void forEach(EntryConsumer consumer) {
+        long[] keys = this.keys;
+        int[] values = this.values;
+        for (int slot = 0; slot < keys.length; slot++) {
+            if (keys[slot] != 0) {
+                consumer.accept(keys[slot], values[slot]);
+            }
+        }
+    }
+
+    // The slot holding "key", or the empty slot where it would go
+    private int find(long key) {
+        if (key == 0) {
+            throw new IllegalArgumentException("0 can't be a key");
+        }
+        int slot = slot(key);
+        while (keys[slot] != 0 && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private void insert(int slot, long key, int value) {
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size >= resizeAt) {
+            grow();
+        }
+    }
+
+    // Remove the entry in "slot" and move later entries of the same probe run back into the gap,
+    // so lookups never stop early at it (no tombstones to clean up later)
+    private void removeAt(int slot) {
+        size--;
+        int gap = slot;
+        for (int next = (gap + 1) & mask; keys[next] != 0; next = (next + 1) & mask) {
+            int home = slot(keys[next]);
+            // Move the entry if its home slot is not between the gap and its current slot
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+        }
+        keys[gap] = 0;
+        values[gap] = 0;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        int[] oldValues = values;
+        allocate(keys.length * 2);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != 0) {
+                int slot = slot(oldKeys[i]);
+                while (keys[slot] != 0) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new int[capacity];
+        mask = capacity - 1;
+        resizeAt = capacity * 3 / 4;
+    }
+
+    // Sequential ids would fill neighbouring slots; mix the bits first (Fibonacci hashing)
+    private int slot(long key) {
+        return (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder text = new StringBuilder("{");
+        forEach((key, value) -> text.append(text.length() > 1 ? ", " : "").append(key).append('=').append(value));
+        return text.append('}').toString();
+    }
+}
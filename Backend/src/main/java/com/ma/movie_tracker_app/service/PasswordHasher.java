@@ -0,0 +1,131 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.stereotype.Service;
+
+import jakarta.annotation.PreDestroy;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.time.Duration;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// PasswordHasher hashes and checks passwords with bcrypt (salted, deliberately slow).
+//
+// One bcrypt check costs tens of milliseconds of pure CPU. If that ran on the request threads, a burst
+// of logins would use up the CPU and the threads, and list/catalog requests would wait behind it.
+// So all hashing runs on its own small pool:
+//   - "auth.hashing.threads" threads (by default half the CPU cores), so the rest of the app keeps CPU
+//   - a bounded queue ("auth.hashing.queue-size"); when it is full, or a job waits longer than
+//     "auth.hashing.timeout", HashingBusyException is thrown at once → the controller answers 503.
+// A login storm therefore only slows down (or rejects) the auth endpoints.
+//
+// Old accounts still have plaintext passwords. matches() accepts them, and needsRehash() tells the
+// login endpoint to replace them with a bcrypt hash (same for hashes made with a lower strength).
+//
+// A check always costs one bcrypt verification, also when there is no stored password (unknown
+// username) or it is plaintext: it then runs against a fixed dummy hash of the same strength, so
+// the response time doesn't tell an attacker which usernames exist.
+@Service
+public class PasswordHasher {
+
+    // Thrown when the hashing pool is saturated
+    public static class HashingBusyException extends RuntimeException {
+        public HashingBusyException() {
+            super("Too many login attempts in progress, please retry shortly");
+        }
+    }
+
+    private final BCryptPasswordEncoder encoder;
+
+    // Never matches anything; its cost factor is replaced by ours (the cost is all a check depends on)
+    private static final String DUMMY_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lhWy";
+    private final String dummyHash;
+
+    // Dedicated pool for bcrypt work
+    private final ThreadPoolExecutor workers;
+
+    // Max time a caller waits for its hash (queueing + hashing)
+    private final long timeoutMillis;
+
+    public PasswordHasher(
+            @Value("${auth.bcrypt.strength:10}") int strength,
+            @Value("${auth.hashing.threads:0}") int threads,
+            @Value("${auth.hashing.queue-size:64}") int queueSize,
+            @Value("${auth.hashing.timeout:PT5S}") Duration timeout
+    ) {
+        this.encoder = new BCryptPasswordEncoder(strength);
+        this.dummyHash = DUMMY_HASH.substring(0, 4) + String.format("%02d", strength) + DUMMY_HASH.substring(6);
+        this.timeoutMillis = timeout.toMillis();
+
+        // 0 = half the cores (at least one)
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+        AtomicInteger count = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueSize), runnable -> {
+                    Thread thread = new Thread(runnable, "password-hashing-" + count.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+    }
+
+    // bcrypt hash of "raw" (new salt every time)
+    public String hash(String raw) {
+        return run(() -> encoder.encode(raw));
+    }
+
+    // Does "raw" match the stored password (bcrypt hash, or plaintext for accounts not yet upgraded)?
+    // "stored" is null when the user doesn't exist; that still costs one bcrypt check (see class comment).
+    public boolean matches(String raw, String stored) {
+        if (raw == null || !isBcrypt(stored)) {
+            run(() -> encoder.matches(raw == null ? "" : raw, dummyHash));
+            // Legacy plaintext: constant-time compare
+            return raw != null && stored != null
+                    && MessageDigest.isEqual(raw.getBytes(StandardCharsets.UTF_8), stored.getBytes(StandardCharsets.UTF_8));
+        }
+        return run(() -> encoder.matches(raw, stored));
+    }
+
+    // Should the stored password be replaced after a successful login? (plaintext or weaker bcrypt)
+    public boolean needsRehash(String stored) {
+        return !isBcrypt(stored) || encoder.upgradeEncoding(stored);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        workers.shutdownNow();
+    }
+
+    // bcrypt hashes look like "$2a$10$..." (also $2b$/$2y$)
+    private static boolean isBcrypt(String stored) {
+        return stored != null && stored.length() == 60 && stored.startsWith("$2");
+    }
+
+    // Run one hashing job on the pool and wait for it; fail fast when the pool can't take it
+    private <T> T run(Callable<T> job) {
+        Future<T> future;
+        try {
+            future = workers.submit(job);
+        } catch (RejectedExecutionException e) {
+            throw new HashingBusyException();
+        }
+
+        try {
+            return future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            future.cancel(false); // drops it if it's still queued
+            throw new HashingBusyException();
+        } catch (InterruptedException e) {
+            future.cancel(false);
+            Thread.currentThread().interrupt();
+            throw new HashingBusyException();
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            throw cause instanceof RuntimeException runtime ? runtime : new IllegalStateException(cause);
+        }
+    }
+}
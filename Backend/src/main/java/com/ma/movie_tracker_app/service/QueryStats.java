@@ -0,0 +1,66 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// QueryStats counts the SQL statements (and the time spent executing them) on the current thread
+// between start() and stop().
+//
+// The counting itself happens in InstrumentedDataSource, which reports every executed statement
+// here. RequestMetricsInterceptor opens one scope per controller call; tests can open their own
+// scope around any code to check its query budget:
+//
+//   QueryStats.Scope scope = QueryStats.start();
+//   ... call the endpoint / repository ...
+//   assertThat(QueryStats.stop(scope).statements()).isLessThanOrEqualTo(1);
+//
+// Scopes nest: statements counted in an inner scope also count for the outer one.
+// Only the current thread is counted; work handed to other threads (async jobs, streamed
+// responses) is not.
+public final class QueryStats {
+
+    // What one scope saw
+    public record Snapshot(int statements, long jdbcNanos) {}
+
+    // One open scope (mutable; only ever touched by its own thread)
+    public static final class Scope {
+        private final Scope parent;
+        private int statements;
+        private long jdbcNanos;
+
+        private Scope(Scope parent) {
+            this.parent = parent;
+        }
+    }
+
+    private static final ThreadLocal<Scope> CURRENT = new ThreadLocal<>();
+
+    private QueryStats() {
+    }
+
+    // Start counting on this thread
+    public static Scope start() {
+        Scope scope = new Scope(CURRENT.get());
+        CURRENT.set(scope);
+        return scope;
+    }
+
+    // Stop counting and return what this scope saw (also added to the enclosing scope, if any)
+    public static Snapshot stop(Scope scope) {
+        if (scope.parent != null) {
+            scope.parent.statements += scope.statements;
+            scope.parent.jdbcNanos += scope.jdbcNanos;
+            CURRENT.set(scope.parent);
+        } else {
+            CURRENT.remove();
+        }
+        return new Snapshot(scope.statements, scope.jdbcNanos);
+    }
+
+    // Called for every executed statement (a JDBC batch counts as one: it is one round trip)
+    public static void record(long nanos) {
+        Scope scope = CURRENT.get();
+        if (scope != null) {
+            scope.statements++;
+            scope.jdbcNanos += nanos;
+        }
+    }
+}
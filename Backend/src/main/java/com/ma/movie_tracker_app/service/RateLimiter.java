@@ -0,0 +1,140 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Concurrency helpers
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+// RateLimiter is an in-memory token bucket per key (e.g. per IP address or per username).
+//
+// Each key may make "capacity" calls in a burst; after that it gets "perSecond" new calls per second.
+// The bucket is stored as ONE AtomicLong per key: the time at which the bucket will be full again
+// (the "theoretical arrival time" form of a token bucket). A call moves that time forward by one
+// token's worth with a compare-and-set, so there are no locks, and the ConcurrentHashMap spreads
+// keys over many bins, so callers with different keys don't contend at all.
+//
+// Memory is bounded: at most "maxKeys" buckets exist. A bucket that has refilled completely holds no
+// information (a new bucket would look the same), so when the map is full those idle buckets are
+// dropped first. If it is still full after that, the least recently used keys are dropped (about 1%
+// of maxKeys at once, so a flood of new keys doesn't rescan the map on every call). Every new key
+// gets a bucket of its own; callers that keep coming back keep theirs.
+//
+// Only a NEW key arriving at a full map takes a lock (one sweep at a time); calls for known keys
+// stay lock-free.
+public class RateLimiter {
+
+    // Result of tryAcquire: allowed, or rejected with how long to wait before retrying
+    public record Decision(boolean allowed, long retryAfterMillis) {}
+
+    private static final Decision ALLOWED = new Decision(true, 0);
+
+    // One key's state: when its bucket is full again (nanos; in the past = full), and when it was last used
+    private static final class Bucket {
+        final AtomicLong fullAt = new AtomicLong(Long.MIN_VALUE);
+        volatile long lastUsed;
+
+        Bucket(long now) {
+            this.lastUsed = now;
+        }
+    }
+
+    // A bucket and how long it has been unused, for the least-recently-used sweep
+    private record Idle(String key, Bucket bucket, long idleNanos) {}
+
+    private final long intervalNanos;   // time to earn one token
+    private final long burstNanos;      // capacity × interval: how far ahead a bucket may be used up
+    private final int maxKeys;
+    private final int evictBatch;       // least recently used keys dropped per sweep
+    private final LongSupplier nanoClock;
+
+    private final ConcurrentHashMap<String, Bucket> buckets = new ConcurrentHashMap<>();
+    private final Object sweepLock = new Object();
+
+    public RateLimiter(int capacity, double perSecond, int maxKeys) {
+        this(capacity, perSecond, maxKeys, System::nanoTime);
+    }
+
+    // Tests pass their own clock
+    RateLimiter(int capacity, double perSecond, int maxKeys, LongSupplier nanoClock) {
+        if (capacity < 1 || perSecond <= 0 || maxKeys < 1) {
+            throw new IllegalArgumentException("capacity, perSecond and maxKeys must be positive");
+        }
+        this.intervalNanos = Math.max(1, (long) (TimeUnit.SECONDS.toNanos(1) / perSecond));
+        this.burstNanos = intervalNanos * capacity;
+        this.maxKeys = maxKeys;
+        this.evictBatch = Math.max(1, maxKeys / 100);
+        this.nanoClock = nanoClock;
+    }
+
+    // Take one token from "key"'s bucket
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        Bucket found = bucket(key, now);
+        found.lastUsed = now;
+        AtomicLong bucket = found.fullAt;
+
+        while (true) {
+            long fullAt = bucket.get();
+            // A bucket that was idle long enough is simply full (fullAt in the past)
+            long next = (fullAt == Long.MIN_VALUE || fullAt - now < 0 ? now : fullAt) + intervalNanos;
+            long ahead = next - now;
+            if (ahead > burstNanos) {
+                // No token left: the next one is earned when "ahead" drops back to the burst size
+                long waitNanos = ahead - burstNanos;
+                return new Decision(false, Math.max(1, TimeUnit.NANOSECONDS.toMillis(waitNanos + 999_999)));
+            }
+            if (bucket.compareAndSet(fullAt, next)) {
+                return ALLOWED;
+            }
+        }
+    }
+
+    // Number of keys currently tracked
+    public int size() {
+        return buckets.size();
+    }
+
+    private Bucket bucket(String key, long now) {
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        if (buckets.size() < maxKeys) {
+            return buckets.computeIfAbsent(key, k -> new Bucket(now));
+        }
+
+        // Full: make room (one thread at a time; the others wait, then find room or their key)
+        synchronized (sweepLock) {
+            if (buckets.size() >= maxKeys) {
+                evict(now);
+            }
+            return buckets.computeIfAbsent(key, k -> new Bucket(now));
+        }
+    }
+
+    // Drop every bucket that has refilled completely; if that doesn't free "evictBatch" slots, drop
+    // the least recently used buckets as well
+    private void evict(long now) {
+        buckets.values().removeIf(bucket -> {
+            long fullAt = bucket.fullAt.get();
+            return fullAt == Long.MIN_VALUE || fullAt - now <= 0;
+        });
+
+        int excess = buckets.size() - (maxKeys - evictBatch);
+        if (excess <= 0) {
+            return;
+        }
+        // Snapshot the ages first: lastUsed keeps changing while we sort
+        List<Idle> byLastUse = new ArrayList<>(buckets.size());
+        buckets.forEach((key, bucket) -> byLastUse.add(new Idle(key, bucket, now - bucket.lastUsed)));
+        byLastUse.sort(Comparator.comparingLong(Idle::idleNanos).reversed());
+        for (Idle idle : byLastUse.subList(0, Math.min(excess, byLastUse.size()))) {
+            buckets.remove(idle.key(), idle.bucket());
+        }
+    }
+}
@@ -0,0 +1,89 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import jakarta.servlet.http.HttpServletRequest;
+
+import java.time.Duration;
+import java.util.concurrent.ConcurrentHashMap;
+
+// ReadYourWrites decides which database reads may be served by a read replica (see ReplicaRoutingConfig).
+//
+// A replica applies the primary's changes a little later (replication lag), so a user who just added
+// a title and reloads the list could get the old list back. To avoid that:
+//   - every list change calls markWritten(userId) after it commits (from ListVersions.bump)
+//   - for "window" after that, requests for that user's lists read from the primary
+//     (UserIdResolver calls pinIfRecentlyWritten once it knows which user a request is about)
+//
+// Only GET/HEAD requests read from replicas at all. A POST often reads and then writes based on what
+// it read ("create the catalog row if it's missing"), which must see the primary. Work outside a
+// request (import jobs, the search index rebuild, streamed export bodies) also stays on the primary.
+//
+// The window should be longer than the replicas' usual lag. Write times are kept in memory, so this
+// assumes a user's requests reach the same app instance (like ListVersions).
+@Component
+public class ReadYourWrites {
+
+    // Request attribute marking a request that must read from the primary
+    private static final String PINNED = ReadYourWrites.class.getName() + ".PINNED";
+
+    private final long windowNanos;
+
+    // userId → System.nanoTime() of the user's last list change
+    private final ConcurrentHashMap<Long, Long> lastWrites = new ConcurrentHashMap<>();
+
+    // Expired entries are dropped when the map reaches this size (then it's reset to twice what's left)
+    private volatile int pruneAt = 1024;
+
+    public ReadYourWrites(@Value("${datasource.read-your-writes.window:PT5S}") Duration window) {
+        this.windowNanos = window.toNanos();
+    }
+
+    // Record that a user's lists just changed
+    public void markWritten(Long userId) {
+        if (userId == null || windowNanos <= 0) {
+            return;
+        }
+        lastWrites.put(userId, System.nanoTime());
+        if (lastWrites.size() >= pruneAt) {
+            prune();
+        }
+    }
+
+    // The current request reads this user's lists: keep it on the primary if they changed recently
+    public void pinIfRecentlyWritten(Long userId) {
+        Long writtenAt = userId == null ? null : lastWrites.get(userId);
+        if (writtenAt == null || System.nanoTime() - writtenAt >= windowNanos) {
+            return;
+        }
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+        if (attributes != null) {
+            attributes.setAttribute(PINNED, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+        }
+    }
+
+    // True if read-only work on the current thread may go to a replica
+    public boolean replicaAllowed() {
+        if (!(RequestContextHolder.getRequestAttributes() instanceof ServletRequestAttributes attributes)) {
+            return false; // not handling a request
+        }
+        HttpServletRequest request = attributes.getRequest();
+        String method = request.getMethod();
+        return ("GET".equals(method) || "HEAD".equals(method)) && request.getAttribute(PINNED) == null;
+    }
+
+    private synchronized void prune() {
+        if (lastWrites.size() < pruneAt) {
+            return; // another thread just did it
+        }
+        long now = System.nanoTime();
+        lastWrites.values().removeIf(writtenAt -> now - writtenAt >= windowNanos);
+        pruneAt = Math.max(1024, lastWrites.size() * 2);
+    }
+}
@@ -0,0 +1,202 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.model.*;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.BiFunction;
+import java.util.function.LongFunction;
+import java.util.stream.Collectors;
+
+// RecommendationService backs GET /api/movies/{tmdbId}/recommendations and
+// GET /api/shows/{tmdbId}/recommendations: "users who favourited or watched this also liked ...".
+//
+// One CoOccurrenceIndex per kind (movies, shows) holds, for every title, how many users have it
+// together with each other title in their favourites or watched lists. Answers come from memory:
+// one row of counts for the ranking, and the catalog rows from CatalogSearchService's index.
+//
+// - At startup both indexes are built from the list tables (keyset pages of REBUILD_BATCH rows,
+//   then all pairs counted in parallel).
+// - Afterwards every list change (ListChangeFeed) is applied to them as it happens.
+// Both run on one background thread, in order, so requests never wait for them. A change made
+// while the build is reading the tables is applied again after it; that's harmless (adds and
+// removes are idempotent).
+//
+// Like ListChangeFeed, this only sees the changes made through this app instance; the rest show up
+// after the next restart.
+@Service
+public class RecommendationService {
+
+    private static final Logger log = LoggerFactory.getLogger(RecommendationService.class);
+
+    // List rows loaded per query while rebuilding
+    private static final int REBUILD_BATCH = 10_000;
+
+    @Autowired
+    private UserMovieListRepository userMovieListRepo;
+    @Autowired
+    private UserShowListRepository userShowListRepo;
+    @Autowired
+    private MoviesRepository movieRepo;
+    @Autowired
+    private ShowsRepository showRepo;
+    @Autowired
+    private CatalogSearchService searchService;   // Catalog rows by id, from memory
+    @Autowired
+    private ListChangeFeed changeFeed;            // Tells us about every list change
+
+    // Only the first N titles of each user count (one huge list adds N * N pairs)
+    @Value("${recommendations.max-titles-per-user:500}")
+    private int maxTitlesPerUser;
+
+    // A title is only recommended if at least this many users have it together with the other one
+    @Value("${recommendations.min-together:2}")
+    private int minTogether;
+
+    // Replaced as a whole by each rebuild
+    private volatile CoOccurrenceIndex movies;
+    private volatile CoOccurrenceIndex shows;
+
+    // Runs the rebuilds and the updates, one at a time
+    private final ExecutorService updater = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "recommendations");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    @PostConstruct
+    void start() {
+        movies = new CoOccurrenceIndex.Builder(maxTitlesPerUser).build();
+        shows = new CoOccurrenceIndex.Builder(maxTitlesPerUser).build();
+        changeFeed.addListener(this::onChange);
+    }
+
+    @PreDestroy
+    void stop() {
+        updater.shutdownNow();
+    }
+
+    // Build both indexes once the app has started
+    @EventListener(ApplicationReadyEvent.class)
+    public void onReady() {
+        rebuild();
+    }
+
+    // Rebuild both indexes from the database (after the changes already queued)
+    public Future<?> rebuild() {
+        return updater.submit(() -> {
+            try {
+                long start = System.nanoTime();
+                movies = load(userMovieListRepo::findMembershipsAfter);
+                shows = load(userShowListRepo::findMembershipsAfter);
+                log.info("Recommendations built: {} movies ({} pairs), {} shows ({} pairs) in {} ms",
+                        movies.titles(), movies.pairs(), shows.titles(), shows.pairs(),
+                        (System.nanoTime() - start) / 1_000_000);
+            } catch (RuntimeException e) {
+                log.warn("Could not build the recommendations", e);
+            }
+        });
+    }
+
+    // Up to "limit" movies most often favourited/watched by the same users as this one, best first
+    public List<Movies> similarMovies(Movies movie, int limit) {
+        return resolve(movies.top(movie.getId(), limit, minTogether), searchService::findMovie);
+    }
+
+    public List<Shows> similarShows(Shows show, int limit) {
+        return resolve(shows.top(show.getId(), limit, minTogether), searchService::findShow);
+    }
+
+    // A list change was published: queue it (the feed calls this on the request's thread)
+    private void onChange(Long userId, ListChange change) {
+        int list = listFlag(change.type());
+        if (list == 0) {
+            return; // the watchlist doesn't say whether someone liked a title
+        }
+        List<Long> added = change.added().stream().map(UserListItem::tmdbId).toList();
+        List<Long> removed = change.removed();
+        updater.execute(() -> {
+            try {
+                apply(userId, change.kind().equals("movie"), list, added, removed);
+            } catch (RuntimeException e) {
+                log.warn("Could not update the recommendations for user {}", userId, e);
+            }
+        });
+    }
+
+    private void apply(long userId, boolean movie, int list, List<Long> added, List<Long> removed) {
+        Set<Long> tmdbIds = new HashSet<>(added);
+        tmdbIds.addAll(removed);
+        // One cached IN query for the catalog ids of all titles in the change
+        Map<Long, Long> ids = movie
+                ? movieRepo.findByTmdbIdIn(tmdbIds).stream().collect(Collectors.toMap(Movies::getTmdbId, Movies::getId))
+                : showRepo.findByTmdbIdIn(tmdbIds).stream().collect(Collectors.toMap(Shows::getTmdbId, Shows::getId));
+        CoOccurrenceIndex index = movie ? movies : shows;
+        for (Long tmdbId : added) {
+            Long id = ids.get(tmdbId);
+            if (id != null) {
+                index.add(userId, id, list);
+            }
+        }
+        for (Long tmdbId : removed) {
+            Long id = ids.get(tmdbId);
+            if (id != null) {
+                index.remove(userId, id, list);
+            }
+        }
+    }
+
+    // Walk the favourites/watched rows of one list table in id order, REBUILD_BATCH rows per query
+    private CoOccurrenceIndex load(BiFunction<Long, Pageable, List<ListMembership>> page) {
+        CoOccurrenceIndex.Builder builder = new CoOccurrenceIndex.Builder(maxTitlesPerUser);
+        long afterId = 0;
+        while (true) {
+            List<ListMembership> rows = page.apply(afterId, PageRequest.of(0, REBUILD_BATCH));
+            for (ListMembership row : rows) {
+                builder.add(row.userId(), row.titleId(), listFlag(row.type()));
+            }
+            if (rows.size() < REBUILD_BATCH) {
+                return builder.build();
+            }
+            afterId = rows.get(rows.size() - 1).id();
+        }
+    }
+
+    // The catalog rows of these ids, in the same order (ids not in the catalog index are skipped)
+    private static <T> List<T> resolve(long[] ids, LongFunction<T> find) {
+        List<T> result = new ArrayList<>(ids.length);
+        for (long id : ids) {
+            T item = find.apply(id);
+            if (item != null) {
+                result.add(item);
+            }
+        }
+        return result;
+    }
+
+    private static int listFlag(String type) {
+        return switch (type) {
+            case "favourites" -> CoOccurrenceIndex.FAVOURITES;
+            case "watched" -> CoOccurrenceIndex.WATCHED;
+            default -> 0;
+        };
+    }
+}
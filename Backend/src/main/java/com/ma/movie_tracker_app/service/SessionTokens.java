@@ -0,0 +1,217 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+// Import models
+import com.ma.movie_tracker_app.model.User;
+
+// For reading the token from the request (Authorization header or cookie)
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// SessionTokens implements the stateless login mode (auth.mode=token).
+//
+// With servlet sessions every user is tied to the node that holds their HttpSession, so scaling out
+// needs sticky load balancing or session replication. In token mode login/register instead hand out a
+// small signed token, and every node checks it on its own with HMAC-SHA256 (no session store at all):
+//
+//   <key id>.<user id>.<expires, epoch seconds>.<username, base64url>.<signature, base64url>
+//
+// The token is sent back as an HttpOnly cookie (so the browser app works unchanged) and in the JSON
+// body; other clients can send it as "Authorization: Bearer <token>".
+//
+// Key rotation: "auth.tokens.keys" lists "id:base64-secret" pairs. New tokens are signed with the
+// FIRST key; tokens signed with any listed key are accepted. To rotate, put a new key first, and
+// drop the old one once its tokens have expired (auth.tokens.ttl).
+// Tokens can't be revoked individually, so keep the TTL short-ish; logout just clears the cookie.
+//
+// Only authentication becomes stateless: list ETags, the change feed, the search index, recommendations
+// and rate limits still live in each node's memory (see "Running several instances" in the README).
+@Service
+public class SessionTokens {
+
+    // Who a valid token belongs to
+    public record TokenUser(Long userId, String username) {}
+
+    public static final String COOKIE = "AUTH_TOKEN";
+
+    // Request attribute holding the verified TokenUser, so a token is checked once per request
+    private static final String VERIFIED = SessionTokens.class.getName() + ".VERIFIED";
+    private static final String ALGORITHM = "HmacSHA256";
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final Clock clock;
+
+    // Key id → initialized Mac (cloned for every use; Mac instances aren't thread-safe)
+    private final Map<String, Mac> keys = new LinkedHashMap<>();
+    private final String signingKeyId;
+
+    @Autowired
+    public SessionTokens(
+            @Value("${auth.mode:session}") String mode,
+            @Value("${auth.tokens.keys:}") String keySpec,
+            @Value("${auth.tokens.ttl:PT12H}") Duration ttl
+    ) {
+        this(mode, keySpec, ttl, Clock.systemUTC());
+    }
+
+    // Tests pass their own clock
+    SessionTokens(String mode, String keySpec, Duration ttl, Clock clock) {
+        this.enabled = "token".equalsIgnoreCase(mode.trim());
+        this.ttl = ttl;
+        this.clock = clock;
+
+        for (String entry : keySpec.split(",")) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int colon = entry.indexOf(':');
+            if (colon <= 0) {
+                throw new IllegalStateException("auth.tokens.keys entries must look like id:base64-secret");
+            }
+            String id = entry.substring(0, colon).trim();
+            byte[] secret = Base64.getDecoder().decode(entry.substring(colon + 1).trim());
+            if (secret.length < 32) {
+                throw new IllegalStateException("auth.tokens.keys: key '" + id + "' must be at least 32 bytes");
+            }
+            keys.put(id, mac(secret));
+        }
+        this.signingKeyId = keys.isEmpty() ? null : keys.keySet().iterator().next();
+
+        if (enabled && signingKeyId == null) {
+            throw new IllegalStateException("auth.mode=token needs at least one key in auth.tokens.keys");
+        }
+    }
+
+    // Is stateless token mode on? (otherwise login uses the HttpSession as before)
+    public boolean enabled() {
+        return enabled;
+    }
+
+    // New signed token for "user", valid for auth.tokens.ttl
+    public String issue(User user) {
+        long expires = clock.instant().plus(ttl).getEpochSecond();
+        String payload = signingKeyId + "." + user.getId() + "." + expires + "."
+                + Base64.getUrlEncoder().withoutPadding().encodeToString(user.getUsername().getBytes(StandardCharsets.UTF_8));
+        return payload + "." + sign(keys.get(signingKeyId), payload);
+    }
+
+    // The user in a token, or null if it is malformed, signed with an unknown key, forged or expired
+    public TokenUser verify(String token) {
+        if (token == null) {
+            return null;
+        }
+        String[] parts = token.split("\\.", -1);
+        if (parts.length != 5) {
+            return null;
+        }
+        Mac key = keys.get(parts[0]);
+        if (key == null) {
+            return null;
+        }
+
+        String payload = token.substring(0, token.lastIndexOf('.'));
+        byte[] expected = sign(key, payload).getBytes(StandardCharsets.US_ASCII);
+        if (!MessageDigest.isEqual(expected, parts[4].getBytes(StandardCharsets.US_ASCII))) {
+            return null;
+        }
+
+        try {
+            if (Long.parseLong(parts[2]) <= clock.instant().getEpochSecond()) {
+                return null;
+            }
+            return new TokenUser(Long.valueOf(parts[1]),
+                    new String(Base64.getUrlDecoder().decode(parts[3]), StandardCharsets.UTF_8));
+        } catch (IllegalArgumentException e) {
+            return null; // bad number or base64 (can only happen with a valid signature if we wrote it)
+        }
+    }
+
+    // The user authenticated by this request's token (Bearer header first, then cookie), or null.
+    // Always null when token mode is off.
+    public TokenUser authenticate(HttpServletRequest request) {
+        if (!enabled) {
+            return null;
+        }
+        Object cached = request.getAttribute(VERIFIED);
+        if (cached instanceof TokenUser user) {
+            return user;
+        }
+
+        TokenUser user = verify(tokenOf(request));
+        if (user != null) {
+            request.setAttribute(VERIFIED, user);
+        }
+        return user;
+    }
+
+    // Set-Cookie value carrying the token (same flags as the session cookie: cross-site, HTTPS only)
+    public String cookie(String token) {
+        return ResponseCookie.from(COOKIE, token)
+                .httpOnly(true).secure(true).sameSite("None").path("/")
+                .maxAge(ttl)
+                .build().toString();
+    }
+
+    // Set-Cookie value that deletes the token cookie (logout)
+    public String clearCookie() {
+        return ResponseCookie.from(COOKIE, "")
+                .httpOnly(true).secure(true).sameSite("None").path("/")
+                .maxAge(0)
+                .build().toString();
+    }
+
+    private static String tokenOf(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header != null && header.regionMatches(true, 0, "Bearer ", 0, 7)) {
+            return header.substring(7).trim();
+        }
+        Cookie[] cookies = request.getCookies();
+        if (cookies != null) {
+            for (Cookie cookie : cookies) {
+                if (COOKIE.equals(cookie.getName())) {
+                    return cookie.getValue();
+                }
+            }
+        }
+        return null;
+    }
+
+    private static Mac mac(byte[] secret) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(new SecretKeySpec(secret, ALGORITHM));
+            return mac;
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static String sign(Mac key, String payload) {
+        try {
+            Mac mac = (Mac) key.clone();
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(mac.doFinal(payload.getBytes(StandardCharsets.UTF_8)));
+        } catch (CloneNotSupportedException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
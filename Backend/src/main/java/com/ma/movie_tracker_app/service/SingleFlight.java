@@ -0,0 +1,73 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Concurrency helpers
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// SingleFlight makes sure only ONE caller does the work for a given key at a time.
+//
+// Example: 300 requests add the same trending movie at once. Without this, all 300 run
+// findByTmdbId, all miss, and all try to INSERT the same row. With this, the first caller
+// runs the work and the other 299 wait for (and share) its result.
+//
+// The in-flight map is a ConcurrentHashMap, which locks per hash bin, so callers working on
+// different keys (different tmdbIds) never block each other.
+public class SingleFlight<K, V> {
+
+    // One running call: the result the "leader" caller is computing, and how many callers joined it
+    private record Call<V>(CompletableFuture<V> result, AtomicInteger followers) {}
+
+    // key → the call currently running for it
+    private final ConcurrentHashMap<K, Call<V>> inFlight = new ConcurrentHashMap<>();
+
+    // Run "work" for "key", or join the call that is already running for that key
+    public V execute(K key, Supplier<V> work) {
+        Call<V> mine = new Call<>(new CompletableFuture<>(), new AtomicInteger());
+        Call<V> running = inFlight.putIfAbsent(key, mine);
+
+        // Someone else is already working on this key → wait for their result
+        if (running != null) {
+            running.followers.incrementAndGet();
+            return await(running.result);
+        }
+
+        // We are the leader: do the work and hand the result to everyone waiting. Errors (e.g. an
+        // OutOfMemoryError) are handed on too, or the followers would wait forever.
+        try {
+            V value = work.get();
+            mine.result.complete(value);
+            return value;
+        } catch (Throwable e) {
+            mine.result.completeExceptionally(e);
+            throw e;
+        } finally {
+            // Remove the entry so the next call (after this one finishes) starts fresh
+            inFlight.remove(key, mine);
+        }
+    }
+
+    // Number of callers waiting for the running call for "key" (0 if none is running)
+    public int followers(K key) {
+        Call<V> running = inFlight.get(key);
+        return running == null ? 0 : running.followers.get();
+    }
+
+    // Wait for another caller's result, re-throwing its exception unchanged
+    private static <V> V await(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,325 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Collections + locking
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+
+// TitleSearchIndex is an in-memory search index over titles (used for Movies and Shows).
+//
+// It keeps these structures:
+//   1. "titleStarts": sorted maps from each whole title to the ids with that title, one map per
+//      title length. Typing "dark kn" finds "dark knight" with a sorted-map range lookup.
+//   2. "wordStarts": the same for the later word-starts of a title, per title length:
+//      "the dark knight" is also stored under "dark knight" and "knight", so "knig" finds it.
+//   3. "trigrams": every 3-letter chunk of a title → ids. A query with a typo ("inceptoin")
+//      still shares most trigrams with the real title, which gives us fuzzy candidates.
+//
+// Results are ranked by kind of match, then shorter titles first, then alphabetically. Walking
+// the per-length maps from the shortest length up meets the matches in exactly that order, so a
+// search stops as soon as it has "limit" hits: a one-letter query costs about as much as a full
+// word, instead of visiting every title starting with that letter.
+//
+// Titles are normalized first (lowercase, accents removed, punctuation → spaces), so
+// matching is case-insensitive. Reads share a read lock; updates take the write lock.
+public class TitleSearchIndex<T> {
+
+    // One fuzzy hit: the item and how well it matched (higher = better)
+    private record Hit<T>(T item, String title, double score) {}
+
+    // At most this many later-word matches of one title length are ranked per search (only
+    // reached by very short queries on a huge catalog; past it the order is approximate)
+    private static final int MAX_BUCKET_MATCHES = 5000;
+
+    // How to read the id and title from an item
+    private final Function<T, Long> idOf;
+    private final Function<T, String> titleOf;
+
+    // id → item, and id → normalized title
+    private final Map<Long, T> items = new HashMap<>();
+    private final Map<Long, String> titles = new HashMap<>();
+
+    // title length → (title → ids), and title length → (later word-start suffix → ids)
+    // (see class comment)
+    private final TreeMap<Integer, TreeMap<String, Set<Long>>> titleStarts = new TreeMap<>();
+    private final TreeMap<Integer, TreeMap<String, Set<Long>>> wordStarts = new TreeMap<>();
+
+    // trigram → ids
+    private final Map<String, Set<Long>> trigrams = new HashMap<>();
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TitleSearchIndex(Function<T, Long> idOf, Function<T, String> titleOf) {
+        this.idOf = idOf;
+        this.titleOf = titleOf;
+    }
+
+    // Add an item, or replace it if the id is already indexed (e.g. its title changed)
+    public void put(T item) {
+        Long id = idOf.apply(item);
+        String title = normalize(titleOf.apply(item));
+        if (id == null) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            remove(id);
+            items.put(id, item);
+            if (title.isEmpty()) {
+                return;
+            }
+            titles.put(id, title);
+            List<String> suffixes = wordSuffixes(title);
+            for (int i = 0; i < suffixes.size(); i++) {
+                (i == 0 ? titleStarts : wordStarts)
+                        .computeIfAbsent(title.length(), k -> new TreeMap<>())
+                        .computeIfAbsent(suffixes.get(i), k -> new HashSet<>()).add(id);
+            }
+            for (String gram : trigramsOf(title)) {
+                trigrams.computeIfAbsent(gram, k -> new HashSet<>()).add(id);
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Drop everything (used before a full rebuild)
+    public void clear() {
+        lock.writeLock().lock();
+        try {
+            items.clear();
+            titles.clear();
+            titleStarts.clear();
+            wordStarts.clear();
+            trigrams.clear();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Number of indexed items
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return items.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Look up an indexed item by id (null if it isn't indexed)
+    public T get(long id) {
+        lock.readLock().lock();
+        try {
+            return items.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Return up to "limit" items ranked by how well their title matches "query":
+    //   exact title  >  title starts with query  >  a later word starts with query  >  fuzzy (typo) match
+    // and within each kind, shorter titles first, then alphabetical.
+    public List<T> search(String query, int limit) {
+        String q = normalize(query);
+        if (q.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        // Insertion order = rank order
+        LinkedHashMap<Long, T> found = new LinkedHashMap<>();
+        String end = q + Character.MAX_VALUE; // every key in [q, end) starts with q
+
+        lock.readLock().lock();
+        try {
+            // 1. Titles starting with q (the exact title is the only one of q's own length).
+            //    Within one length the keys are the titles themselves, already alphabetical.
+            for (TreeMap<String, Set<Long>> sameLength : titleStarts.tailMap(q.length(), true).values()) {
+                for (Set<Long> ids : sameLength.subMap(q, true, end, false).values()) {
+                    if (addAll(found, ids, limit)) {
+                        return List.copyOf(found.values());
+                    }
+                }
+            }
+
+            // 2. Titles with a later word starting with q. Here the keys are suffixes, so each
+            //    length's matches are put in title order first.
+            for (TreeMap<String, Set<Long>> sameLength : wordStarts.tailMap(q.length(), true).values()) {
+                List<Long> matches = new ArrayList<>();
+                for (Set<Long> ids : sameLength.subMap(q, true, end, false).values()) {
+                    matches.addAll(ids);
+                    if (matches.size() >= MAX_BUCKET_MATCHES) {
+                        break;
+                    }
+                }
+                matches.sort(Comparator.comparing(titles::get));
+                if (addAll(found, matches, limit)) {
+                    return List.copyOf(found.values());
+                }
+            }
+
+            // 3. Fuzzy matches, only when prefix matching didn't fill the page (and not for one or
+            //    two letters, where "one typo" would match nearly anything)
+            if (q.length() >= 3) {
+                fuzzyMatches(q, found, limit);
+            }
+            return List.copyOf(found.values());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---- helpers (called with the lock held) ----
+
+    // Add the items not found yet; true once there are "limit" of them
+    private boolean addAll(LinkedHashMap<Long, T> found, Collection<Long> ids, int limit) {
+        for (Long id : ids) {
+            found.putIfAbsent(id, items.get(id));
+            if (found.size() >= limit) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void fuzzyMatches(String q, LinkedHashMap<Long, T> found, int limit) {
+        Set<String> queryGrams = trigramsOf(q);
+
+        // Count how many trigrams each candidate shares with the query
+        Map<Long, Integer> shared = new HashMap<>();
+        for (String gram : queryGrams) {
+            Set<Long> ids = trigrams.get(gram);
+            if (ids != null) {
+                for (Long id : ids) {
+                    shared.merge(id, 1, Integer::sum);
+                }
+            }
+        }
+
+        // Allow roughly one typo per 4 characters
+        int maxEdits = Math.max(1, q.length() / 4);
+        List<Hit<T>> hits = new ArrayList<>();
+        for (Map.Entry<Long, Integer> candidate : shared.entrySet()) {
+            Long id = candidate.getKey();
+            // Skip prefix matches, and candidates that share too few trigrams to be close
+            // (cheap filter before edit distance)
+            if (found.containsKey(id) || candidate.getValue() * 3 < queryGrams.size()) {
+                continue;
+            }
+            String title = titles.get(id);
+            int edits = bestWordWindowDistance(q, title, maxEdits);
+            if (edits <= maxEdits) {
+                hits.add(new Hit<>(items.get(id), title, 1.0 - (double) edits / (maxEdits + 1)));
+            }
+        }
+
+        // Fewest edits first; for equal scores, shorter (closer) titles first, then alphabetical
+        hits.stream()
+                .sorted(Comparator.comparingDouble((Hit<T> h) -> -h.score())
+                        .thenComparingInt(h -> h.title().length())
+                        .thenComparing(Hit::title))
+                .limit(limit - found.size())
+                .forEach(hit -> found.put(idOf.apply(hit.item()), hit.item()));
+    }
+
+    private void remove(Long id) {
+        items.remove(id);
+        String old = titles.remove(id);
+        if (old == null) {
+            return;
+        }
+        List<String> suffixes = wordSuffixes(old);
+        for (int i = 0; i < suffixes.size(); i++) {
+            TreeMap<Integer, TreeMap<String, Set<Long>>> byLength = i == 0 ? titleStarts : wordStarts;
+            TreeMap<String, Set<Long>> sameLength = byLength.get(old.length());
+            removeFrom(sameLength, suffixes.get(i), id);
+            if (sameLength.isEmpty()) {
+                byLength.remove(old.length());
+            }
+        }
+        for (String gram : trigramsOf(old)) {
+            removeFrom(trigrams, gram, id);
+        }
+    }
+
+    private static void removeFrom(Map<String, Set<Long>> map, String key, Long id) {
+        Set<Long> ids = map.get(key);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                map.remove(key);
+            }
+        }
+    }
+
+    // Smallest edit distance between the query and any run of words in the title with the
+    // same word count (so "dark nite" matches inside "the dark knight").
+    private static int bestWordWindowDistance(String q, String title, int maxEdits) {
+        int best = levenshtein(q, title, maxEdits);
+        String[] words = title.split(" ");
+        int n = q.split(" ").length;
+        for (int start = 0; start + n <= words.length && best > 0; start++) {
+            String window = String.join(" ", Arrays.copyOfRange(words, start, start + n));
+            best = Math.min(best, levenshtein(q, window, maxEdits));
+        }
+        return best;
+    }
+
+    // Classic edit distance, giving up early once every cell in a row is over "max"
+    static int levenshtein(String a, String b, int max) {
+        if (Math.abs(a.length() - b.length()) > max) {
+            return max + 1;
+        }
+        int[] prev = new int[b.length() + 1];
+        int[] curr = new int[b.length() + 1];
+        for (int j = 0; j <= b.length(); j++) {
+            prev[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            curr[0] = i;
+            int rowMin = curr[0];
+            for (int j = 1; j <= b.length(); j++) {
+                int cost = a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1;
+                curr[j] = Math.min(Math.min(curr[j - 1] + 1, prev[j] + 1), prev[j - 1] + cost);
+                rowMin = Math.min(rowMin, curr[j]);
+            }
+            if (rowMin > max) {
+                return max + 1;
+            }
+            int[] tmp = prev;
+            prev = curr;
+            curr = tmp;
+        }
+        return prev[b.length()];
+    }
+
+    // "The Dark Knight" → ["the dark knight", "dark knight", "knight"]
+    private static List<String> wordSuffixes(String title) {
+        List<String> suffixes = new ArrayList<>();
+        suffixes.add(title);
+        for (int i = title.indexOf(' '); i >= 0; i = title.indexOf(' ', i + 1)) {
+            suffixes.add(title.substring(i + 1));
+        }
+        return suffixes;
+    }
+
+    // "dune" → [" du", "dun", "une", "ne "] (padded so word starts/ends count too)
+    private static Set<String> trigramsOf(String text) {
+        String padded = " " + text + " ";
+        Set<String> grams = new HashSet<>();
+        for (int i = 0; i + 3 <= padded.length(); i++) {
+            grams.add(padded.substring(i, i + 3));
+        }
+        return grams;
+    }
+
+    // Lowercase, strip accents ("Amélie" → "amelie"), turn punctuation into single spaces
+    static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String noAccents = Normalizer.normalize(text, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return noAccents.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim();
+    }
+}
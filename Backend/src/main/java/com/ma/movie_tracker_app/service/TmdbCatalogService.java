@@ -0,0 +1,144 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring annotations for registering this class as a bean and reading properties
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// JDK HTTP client used to talk to TMDB
+import java.io.IOException;
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+
+// TmdbCatalogService is the server-side proxy for TMDB.
+// The browser used to call TMDB directly; now it calls /api/catalog/** and we:
+//   1. Build a cache key from the TMDB path + query parameters (never the API key)
+//   2. Return the cached JSON if we have a fresh copy (memory first, then disk)
+//   3. Otherwise call TMDB once (concurrent misses share that call), cache the body with the
+//      TTL of that endpoint, and return it
+@Service
+public class TmdbCatalogService {
+
+    // The kinds of TMDB endpoints we proxy. Each kind has its own TTL because
+    // trending lists change much faster than top-rated lists.
+    public enum Endpoint {
+        TRENDING, POPULAR, TOP_RATED, SEARCH
+    }
+
+    // Thrown when TMDB answers with an error or can't be reached.
+    // "status" is the HTTP status we should send back to our client.
+    public static class UpstreamException extends RuntimeException {
+        private final int status;
+
+        public UpstreamException(int status, String message) {
+            super(message);
+            this.status = status;
+        }
+
+        public int getStatus() {
+            return status;
+        }
+    }
+
+    private final HttpClient http = HttpClient.newBuilder()
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+
+    private final CatalogCache cache;
+    private final String baseUrl;
+    private final String apiKey;
+    private final Map<Endpoint, Duration> ttls;
+
+    // Concurrent misses for the same cache key share one TMDB call
+    private final SingleFlight<String, String> inFlight = new SingleFlight<>();
+
+    public TmdbCatalogService(
+            CatalogCache cache,
+            @Value("${tmdb.base-url:https://api.themoviedb.org/3}") String baseUrl,
+            @Value("${tmdb.api-key:}") String apiKey,
+            @Value("${catalog.cache.ttl.trending:PT10M}") Duration trendingTtl,
+            @Value("${catalog.cache.ttl.popular:PT30M}") Duration popularTtl,
+            @Value("${catalog.cache.ttl.top-rated:PT6H}") Duration topRatedTtl,
+            @Value("${catalog.cache.ttl.search:PT5M}") Duration searchTtl
+    ) {
+        this.cache = cache;
+        this.baseUrl = baseUrl;
+        this.apiKey = apiKey;
+        this.ttls = Map.of(
+                Endpoint.TRENDING, trendingTtl,
+                Endpoint.POPULAR, popularTtl,
+                Endpoint.TOP_RATED, topRatedTtl,
+                Endpoint.SEARCH, searchTtl
+        );
+    }
+
+    // Fetch a TMDB path (e.g. "/trending/movie/week") and return the raw JSON body
+    public String fetch(Endpoint endpoint, String apiPath, Map<String, String> queryParameters) {
+        // TreeMap sorts the parameters, so "?a=1&b=2" and "?b=2&a=1" share one cache entry
+        String query = buildQuery(new TreeMap<>(queryParameters));
+        String key = apiPath + "?" + query;
+
+        String cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        // Cache miss: only one caller per key goes to TMDB, the rest wait for its body
+        return inFlight.execute(key, () -> {
+            // The previous leader may have filled the cache while we were queuing up
+            String fresh = cache.get(key);
+            if (fresh != null) {
+                return fresh;
+            }
+            String body = callTmdb(apiPath, query);
+            cache.put(key, body, ttls.get(endpoint));
+            return body;
+        });
+    }
+
+    // Call TMDB and return the body, or throw UpstreamException on failure
+    private String callTmdb(String apiPath, String query) {
+        String url = baseUrl + apiPath + "?api_key=" + encode(apiKey) + (query.isEmpty() ? "" : "&" + query);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(10))
+                .header("Accept", "application/json")
+                .GET()
+                .build();
+        try {
+            HttpResponse<String> response = http.send(request, HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() / 100 != 2) {
+                // Pass TMDB's status through (e.g. 401 for a bad key, 404 for an unknown path)
+                throw new UpstreamException(response.statusCode(), "TMDB returned " + response.statusCode());
+            }
+            return response.body();
+        } catch (IOException e) {
+            throw new UpstreamException(502, "TMDB is unreachable");
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamException(503, "Interrupted while calling TMDB");
+        }
+    }
+
+    // Turn {page=1, query=abc} into "page=1&query=abc" (URL-encoded)
+    private static String buildQuery(Map<String, String> parameters) {
+        StringBuilder sb = new StringBuilder();
+        for (Map.Entry<String, String> p : parameters.entrySet()) {
+            if (sb.length() > 0) {
+                sb.append('&');
+            }
+            sb.append(encode(p.getKey())).append('=').append(encode(p.getValue()));
+        }
+        return sb.toString();
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+}
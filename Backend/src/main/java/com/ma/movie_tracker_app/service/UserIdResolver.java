@@ -0,0 +1,135 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserRepository;
+
+// For reading the logged-in user from the HTTP session
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpSession;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// UserIdResolver turns a username into a user id without hitting user_table on every request.
+//
+// Lookup order:
+//   0. In stateless mode (auth.mode=token): the signed token carries the id, so a logged-in user's
+//      own requests are answered from it, with no session or database lookup (see SessionTokens).
+//   1. The session: login/register store USERNAME and USER_ID, so a logged-in user's own
+//      requests need no query at all.
+//   2. A size-bounded LRU map (username → id) for any other username lookups.
+//   3. The database (SELECT id only); the result is remembered in the LRU map.
+//
+// Usernames never change and users are never deleted today, so a cached id can't go stale, even when
+// several app instances each keep their own map.
+// evict(username) is there for the code paths that will change that.
+@Service
+public class UserIdResolver {
+
+    // Session attribute names (USERNAME was already used by AuthenticationController)
+    public static final String SESSION_USERNAME = "USERNAME";
+    public static final String SESSION_USER_ID = "USER_ID";
+
+    @Autowired
+    private UserRepository userRepo;
+
+    @Autowired
+    private SessionTokens tokens;
+
+    @Autowired
+    private ReadYourWrites readYourWrites;
+
+    // Max number of usernames kept in memory
+    private final int maxEntries;
+
+    // LinkedHashMap with accessOrder = true → least recently used entry is dropped when full
+    private final LinkedHashMap<String, Long> ids;
+
+    public UserIdResolver(@Value("${users.id-cache.max-entries:10000}") int maxEntries) {
+        this.maxEntries = maxEntries;
+        this.ids = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > UserIdResolver.this.maxEntries;
+            }
+        };
+    }
+
+    // Store the user in the session and the cache (called on login/register)
+    public void remember(HttpSession session, User user) {
+        session.setAttribute(SESSION_USERNAME, user.getUsername());
+        session.setAttribute(SESSION_USER_ID, user.getId());
+        put(user.getUsername(), user.getId());
+    }
+
+    // Return the id of "username", or null if there is no such user
+    public Long resolve(String username, HttpServletRequest request) {
+        Long id = lookup(username, request);
+        // This request is about that user's lists: read them from the primary if they just changed
+        readYourWrites.pinIfRecentlyWritten(id);
+        return id;
+    }
+
+    private Long lookup(String username, HttpServletRequest request) {
+        if (username == null) {
+            return null;
+        }
+
+        // 0. Logged-in user with a valid token → straight from the token
+        SessionTokens.TokenUser tokenUser = tokens.authenticate(request);
+        if (tokenUser != null && username.equals(tokenUser.username())) {
+            return tokenUser.userId();
+        }
+
+        // 1. Logged-in user acting on their own lists → straight from the session
+        HttpSession session = request.getSession(false); // don't create sessions for anonymous calls
+        if (session != null && username.equals(session.getAttribute(SESSION_USERNAME))) {
+            Object id = session.getAttribute(SESSION_USER_ID);
+            if (id instanceof Long userId) {
+                return userId;
+            }
+        }
+
+        // 2. Recently resolved
+        synchronized (ids) {
+            Long id = ids.get(username);
+            if (id != null) {
+                return id;
+            }
+        }
+
+        // 3. Database (unknown usernames are not cached, so a later sign-up is seen right away)
+        Long id = userRepo.findIdByUsername(username);
+        if (id != null) {
+            put(username, id);
+        }
+        return id;
+    }
+
+    // Forget a username (call this if a user is ever renamed or deleted)
+    public void evict(String username) {
+        synchronized (ids) {
+            ids.remove(username);
+        }
+    }
+
+    // Number of cached usernames
+    public int size() {
+        synchronized (ids) {
+            return ids.size();
+        }
+    }
+
+    private void put(String username, Long id) {
+        synchronized (ids) {
+            ids.put(username, id);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+// Package: puts this class in the "service" folder of your project
+package com.ma.movie_tracker_app.service;
+
+// Spring imports
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+// Import models and repositories
+import com.ma.movie_tracker_app.model.*;
+
+import java.util.*;
+
+// UserListBulkService applies many add/remove operations to one user's list at once
+// (backs POST /api/user/movielist/{type}/bulk and /api/user/showlist/{type}/bulk).
+//
+// Steps for a batch:
+//   1. Resolve every title with one IN query and create the missing ones (batched, see CatalogService)
+//   2. In ONE transaction:
+//      - one IN query to find which titles are already in the list
+//      - saveAll for the new entries → Hibernate sends them as JDBC batches (hibernate.jdbc.batch_size)
+//      - one DELETE ... WHERE user_id = ? AND type = ? AND movie_id IN (...) (show_id for shows)
+//        for all removals, by the titles' ids resolved in step 1
+@Service
+public class UserListBulkService {
+
+    // What happened: how many entries were added and removed
+    public record BulkResult(int added, int removed) {}
+
+    @Autowired
+    private CatalogService catalogService;
+    @Autowired
+    private UserRepository userRepo;
+    @Autowired
+    private UserMovieListRepository userMovieListRepo;
+    @Autowired
+    private UserShowListRepository userShowListRepo;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Autowired
+    private ListVersions listVersions;
+    @Autowired
+    private ListChangeFeed changeFeed;
+
+    // Max add + remove operations accepted in one request
+    @Value("${lists.bulk.max-operations:500}")
+    private int maxOperations;
+
+    public int getMaxOperations() {
+        return maxOperations;
+    }
+
+    // Apply adds, then removes, to the user's movie list of the given type
+    public BulkResult applyMovieChanges(Long userId, String type, List<UserMovieListDTO> adds, List<Long> removes) {
+        // Step 1 (outside the transaction): resolve/create catalog rows
+        Map<Long, Movies> movies = catalogService.findOrCreateMovies(adds, removes);
+
+        // Step 2: all list changes in one transaction
+        List<UserListItem> added = new ArrayList<>(); // for the change feed
+        BulkResult result = transactionTemplate.execute(status -> {
+            // Reference to the user row without loading it (the new rows only need its id)
+            User user = userRepo.getReferenceById(userId);
+
+            // New entries keyed by movie id (duplicates in the request collapse into one)
+            Map<Long, Movies> toAdd = new LinkedHashMap<>();
+            for (var dto : adds) {
+                Movies title = movies.get(dto.tmdbId());
+                if (title != null) {
+                    toAdd.put(title.getId(), title);
+                }
+            }
+            // Skip the ones that are already in the list (one IN query)
+            if (!toAdd.isEmpty()) {
+                toAdd.keySet().removeAll(userMovieListRepo.findMovieIdsInList(userId, type, toAdd.keySet()));
+            }
+
+            List<UserMovieList> rows = new ArrayList<>();
+            for (Movies title : toAdd.values()) {
+                UserMovieList row = new UserMovieList();
+                row.setUser(user);
+                row.setMovie(title);
+                row.setType(type);
+                rows.add(row);
+                added.add(UserListItem.of(title));
+            }
+            userMovieListRepo.saveAll(rows);
+
+            Set<Long> removeIds = new HashSet<>();
+            removes.forEach(tmdbId -> addIfPresent(removeIds, movies.get(tmdbId)));
+            int removed = removeIds.isEmpty() ? 0
+                    : userMovieListRepo.deleteByUserIdAndTypeAndMovieIdIn(userId, type, removeIds);
+
+            return new BulkResult(rows.size(), removed);
+        });
+
+        // After the commit: cached copies of this list are now stale
+        if (result.added() + result.removed() > 0) {
+            listVersions.bump(userId, "movie", type);
+            changeFeed.publish(userId, new ListChange("movie", type, added,
+                    result.removed() > 0 ? knownIds(removes, movies) : List.of()));
+        }
+        return result;
+    }
+
+    // Apply adds, then removes, to the user's show list of the given type
+    public BulkResult applyShowChanges(Long userId, String type, List<UserShowListDTO> adds, List<Long> removes) {
+        Map<Long, Shows> shows = catalogService.findOrCreateShows(adds, removes);
+
+        List<UserListItem> added = new ArrayList<>();
+        BulkResult result = transactionTemplate.execute(status -> {
+            User user = userRepo.getReferenceById(userId);
+
+            // New entries keyed by show id (duplicates in the request collapse into one)
+            Map<Long, Shows> toAdd = new LinkedHashMap<>();
+            for (var dto : adds) {
+                Shows title = shows.get(dto.tmdbId());
+                if (title != null) {
+                    toAdd.put(title.getId(), title);
+                }
+            }
+            // Skip the ones that are already in the list (one IN query)
+            if (!toAdd.isEmpty()) {
+                toAdd.keySet().removeAll(userShowListRepo.findShowIdsInList(userId, type, toAdd.keySet()));
+            }
+
+            List<UserShowList> rows = new ArrayList<>();
+            for (Shows title : toAdd.values()) {
+                UserShowList row = new UserShowList();
+                row.setUser(user);
+                row.setShow(title);
+                row.setType(type);
+                rows.add(row);
+                added.add(UserListItem.of(title));
+            }
+            userShowListRepo.saveAll(rows);
+
+            Set<Long> removeIds = new HashSet<>();
+            removes.forEach(tmdbId -> addIfPresent(removeIds, shows.get(tmdbId)));
+            int removed = removeIds.isEmpty() ? 0
+                    : userShowListRepo.deleteByUserIdAndTypeAndShowIdIn(userId, type, removeIds);
+
+            return new BulkResult(rows.size(), removed);
+        });
+
+        // After the commit: cached copies of this list are now stale
+        if (result.added() + result.removed() > 0) {
+            listVersions.bump(userId, "show", type);
+            changeFeed.publish(userId, new ListChange("show", type, added,
+                    result.removed() > 0 ? knownIds(removes, shows) : List.of()));
+        }
+        return result;
+    }
+
+    // The requested removals that name a known title (removing one that wasn't in the list is a no-op
+    // for clients too)
+    private static List<Long> knownIds(List<Long> tmdbIds, Map<Long, ?> titles) {
+        return tmdbIds.stream().filter(titles::containsKey).distinct().toList();
+    }
+
+    private static void addIfPresent(Set<Long> ids, Movies movie) {
+        if (movie != null) {
+            ids.add(movie.getId());
+        }
+    }
+
+    private static void addIfPresent(Set<Long> ids, Shows show) {
+        if (show != null) {
+            ids.add(show.getId());
+        }
+    }
+}
@@ -0,0 +1,24 @@
+-- One-time migration for existing databases (PostgreSQL).
+--
+-- The list entities now declare a unique (user_id, movie_id|show_id, type) constraint.
+-- Hibernate (ddl-auto=update) adds it on startup, but that fails if duplicate rows already
+-- exist from the old find-then-save race. Run this script once before deploying to remove
+-- the duplicates (keeping the oldest row) and create the constraints.
+
+BEGIN;
+
+DELETE FROM user_movie_list a
+USING user_movie_list b
+WHERE a.user_id = b.user_id AND a.movie_id = b.movie_id AND a.type = b.type AND a.id > b.id;
+
+DELETE FROM user_show_list a
+USING user_show_list b
+WHERE a.user_id = b.user_id AND a.show_id = b.show_id AND a.type = b.type AND a.id > b.id;
+
+ALTER TABLE user_movie_list
+    ADD CONSTRAINT uk_user_movie_list_user_movie_type UNIQUE (user_id, movie_id, type);
+
+ALTER TABLE user_show_list
+    ADD CONSTRAINT uk_user_show_list_user_show_type UNIQUE (user_id, show_id, type);
+
+COMMIT;
@@ -0,0 +1,38 @@
+-- One-time migration for existing databases (PostgreSQL).
+--
+-- The entities now take their ids from sequences (pooled optimizer) instead of IDENTITY columns,
+-- so Hibernate can batch INSERTs. Run this script once before deploying: it creates the
+-- sequences with the same increment as the entities' allocationSize, moves them past the
+-- existing ids, and removes the old identity/serial defaults from the id columns.
+--
+-- With the pooled optimizer a nextval() of N means "ids N-49 .. N are mine", so each sequence
+-- is set one full pool above MAX(id).
+
+BEGIN;
+
+CREATE SEQUENCE IF NOT EXISTS user_table_seq INCREMENT BY 10;
+CREATE SEQUENCE IF NOT EXISTS movies_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS shows_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_movie_list_seq INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS user_show_list_seq INCREMENT BY 50;
+
+SELECT setval('user_table_seq', COALESCE(MAX(id), 0) + 10) FROM user_table;
+SELECT setval('movies_seq', COALESCE(MAX(id), 0) + 50) FROM movies;
+SELECT setval('shows_seq', COALESCE(MAX(id), 0) + 50) FROM shows;
+SELECT setval('user_movie_list_seq', COALESCE(MAX(id), 0) + 50) FROM user_movie_list;
+SELECT setval('user_show_list_seq', COALESCE(MAX(id), 0) + 50) FROM user_show_list;
+
+-- Ids are now always supplied by the application (or nextval() in native INSERTs)
+ALTER TABLE user_table ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE movies ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE shows ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_movie_list ALTER COLUMN id DROP IDENTITY IF EXISTS;
+ALTER TABLE user_show_list ALTER COLUMN id DROP IDENTITY IF EXISTS;
+
+ALTER TABLE user_table ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE movies ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE shows ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE user_movie_list ALTER COLUMN id DROP DEFAULT;
+ALTER TABLE user_show_list ALTER COLUMN id DROP DEFAULT;
+
+COMMIT;
@@ -0,0 +1,80 @@
+package com.ma.movie_tracker_app.config;
+
+import com.ma.movie_tracker_app.service.QueryStats;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Login attempts are limited per IP, and (more loosely) per submitted username across all IPs
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:auth-rate-limit;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"rate-limit.auth.capacity=2",
+		"rate-limit.auth.per-second=0.001",
+		"rate-limit.login-username.capacity=3",
+		"rate-limit.login-username.per-second=0.001"
+})
+@AutoConfigureMockMvc
+class AuthRateLimitTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Test
+	void oneUsernameIsLimitedAcrossIpAddresses() throws Exception {
+		login("victim", "10.0.0.1").andExpect(status().isUnauthorized());
+		login("victim", "10.0.0.2").andExpect(status().isUnauthorized());
+		login("victim", "10.0.0.3").andExpect(status().isUnauthorized());
+
+		// A fresh IP doesn't help: the username is out of attempts, and nothing is looked up
+		QueryStats.Scope scope = QueryStats.start();
+		login("victim", "10.0.0.4")
+				.andExpect(status().isTooManyRequests())
+				.andExpect(header().exists("Retry-After"));
+		assertEquals(0, QueryStats.stop(scope).statements());
+
+		// Other usernames have their own limit
+		login("someone-else", "10.0.0.5").andExpect(status().isUnauthorized());
+	}
+
+	@Test
+	void registrationIsOnlyLimitedPerIp() throws Exception {
+		post("/api/user/register", "taken", "10.0.2.1").andExpect(status().isOk());
+		for (int i = 2; i <= 5; i++) {
+			post("/api/user/register", "taken", "10.0.2." + i).andExpect(status().isConflict());
+		}
+	}
+
+	@Test
+	void oneIpIsLimitedAcrossUsernames() throws Exception {
+		login("first", "10.0.1.1").andExpect(status().isUnauthorized());
+		login("second", "10.0.1.1").andExpect(status().isUnauthorized());
+		login("third", "10.0.1.1").andExpect(status().isTooManyRequests());
+	}
+
+	private ResultActions login(String username, String ip) throws Exception {
+		return post("/api/user/login", username, ip);
+	}
+
+	private ResultActions post(String url, String username, String ip) throws Exception {
+		return mvc.perform(MockMvcRequestBuilders.post(url)
+				.with(request -> {
+					request.setRemoteAddr(ip);
+					return request;
+				})
+				.contentType(MediaType.APPLICATION_JSON)
+				.content("{\"username\":\"" + username + "\",\"password\":\"wrong\"}"));
+	}
+}
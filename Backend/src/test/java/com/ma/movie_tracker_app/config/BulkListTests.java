@@ -0,0 +1,164 @@
+package com.ma.movie_tracker_app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserMovieList;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import com.ma.movie_tracker_app.model.UserRepository;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.reset;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// POST /api/user/{movie,show}list/{type}/bulk against a real (embedded, PostgreSQL-mode) database
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:bulk-lists;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"lists.bulk.max-operations=5"
+})
+@AutoConfigureMockMvc
+class BulkListTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private JdbcTemplate jdbc;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@SpyBean
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	private MockHttpSession session;
+
+	@BeforeEach
+	void setUp() {
+		reset(movieRepo);
+		userMovieListRepo.deleteAll();
+		movieRepo.deleteAll();
+		userRepo.deleteAll();
+
+		User user = new User();
+		user.setUsername("bulk");
+		user.setPassword("unused");
+		user = userRepo.save(user);
+
+		// Movie 1 is already in the watchlist
+		Movies movie = new Movies();
+		movie.setTmdbId(1L);
+		movie.setTitle("Movie 1");
+		movie = movieRepo.save(movie);
+		UserMovieList entry = new UserMovieList();
+		entry.setUser(user);
+		entry.setMovie(movie);
+		entry.setType("watchlist");
+		userMovieListRepo.save(entry);
+
+		session = new MockHttpSession();
+		session.setAttribute(UserIdResolver.SESSION_USERNAME, "bulk");
+		session.setAttribute(UserIdResolver.SESSION_USER_ID, user.getId());
+	}
+
+	private ResultActions bulk(List<Long> add, List<Long> remove) throws Exception {
+		List<Object> adds = new ArrayList<>();
+		add.forEach(tmdbId -> adds.add(Map.of("tmdbId", tmdbId, "title", "Movie " + tmdbId)));
+		String body = json.writeValueAsString(Map.of("username", "bulk", "add", adds, "remove", remove));
+		return mvc.perform(post("/api/user/movielist/watchlist/bulk").session(session)
+				.contentType(MediaType.APPLICATION_JSON).content(body));
+	}
+
+	private List<Long> watchlist() throws Exception {
+		String body = mvc.perform(get("/api/user/movielist/watchlist").param("username", "bulk").session(session))
+				.andExpect(status().isOk()).andReturn().getResponse().getContentAsString();
+		List<Long> tmdbIds = new ArrayList<>();
+		for (JsonNode item : json.readTree(body)) {
+			tmdbIds.add(item.get("tmdbId").asLong());
+		}
+		tmdbIds.sort(null);
+		return tmdbIds;
+	}
+
+	@Test
+	void addsAndRemovesInOneRequest() throws Exception {
+		// Movie 1 is already there and Movie 3 is named twice: only 2 and 3 are new
+		bulk(List.of(1L, 2L, 3L, 3L), List.of())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.added").value(2))
+				.andExpect(jsonPath("$.removed").value(0));
+		assertEquals(List.of(1L, 2L, 3L), watchlist());
+
+		// Unknown tmdbIds (99) and titles not in the list are ignored
+		bulk(List.of(4L), List.of(1L, 2L, 99L))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.added").value(1))
+				.andExpect(jsonPath("$.removed").value(2));
+		assertEquals(List.of(3L, 4L), watchlist());
+	}
+
+	@Test
+	void requestsOverTheCapAreRejectedWhole() throws Exception {
+		bulk(List.of(2L, 3L, 4L), List.of(1L, 5L, 6L))
+				.andExpect(status().isPayloadTooLarge())
+				.andExpect(jsonPath("$.message").value("Too many operations (max 5)"));
+		assertEquals(List.of(1L), watchlist());
+		assertEquals(1, movieRepo.count());
+
+		// Exactly at the cap is fine
+		bulk(List.of(2L, 3L, 4L), List.of(1L, 5L)).andExpect(status().isOk());
+		assertEquals(List.of(2L, 3L, 4L), watchlist());
+	}
+
+	@Test
+	void titleCreatedConcurrentlyFallsBackToTheExistingRow() throws Exception {
+		// Another instance inserts Movie 50 right after our IN query saw it missing, so the
+		// batched insert hits the unique tmdbId index and each title is resolved one at a time
+		// (neither title exists yet, so the real IN query would also find nothing)
+		doAnswer(call -> {
+			jdbc.update("insert into movies (id, tmdb_id, title) values (-50, 50, 'Inserted elsewhere')");
+			return List.of();
+		}).when(movieRepo).findByTmdbIdIn(anyCollection());
+
+		bulk(List.of(50L, 51L), List.of())
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.added").value(2));
+
+		assertEquals(List.of(1L, 50L, 51L), watchlist());
+		assertEquals(-50L, movieRepo.findByTmdbId(50L).getId());
+		assertEquals(3, movieRepo.count());
+	}
+}
@@ -0,0 +1,125 @@
+package com.ma.movie_tracker_app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ma.movie_tracker_app.model.CatalogPage;
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Keyset pagination of GET /api/movies (GET /api/shows is the same code over the shows table)
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:catalog-paging;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class CatalogPagingTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	@BeforeEach
+	void setUp() {
+		userMovieListRepo.deleteAll();
+		movieRepo.deleteAll();
+		// Saved in this order, so ids increase down the list
+		for (String title : new String[] {"Same", null, "Alpha", "Same", "Zed: Part 2", null, "Same"}) {
+			Movies movie = new Movies();
+			movie.setTmdbId((long) (movieRepo.count() + 1));
+			movie.setTitle(title);
+			movieRepo.save(movie);
+		}
+	}
+
+	@Test
+	void cursorsRoundTrip() {
+		for (CatalogPage.Cursor cursor : List.of(
+				new CatalogPage.Cursor("id", 42, null),
+				new CatalogPage.Cursor("title", 42, "Dune: Part Two"),
+				new CatalogPage.Cursor("title", 42, ""),
+				new CatalogPage.Cursor("title", 42, null))) {
+			assertEquals(cursor, CatalogPage.decodeCursor(CatalogPage.encodeCursor(cursor), cursor.sort()));
+		}
+	}
+
+	@Test
+	void everyRowIsReturnedOnceInIdOrder() throws Exception {
+		List<JsonNode> rows = walk("id", 3);
+		assertEquals(7, rows.size());
+		for (int i = 1; i < rows.size(); i++) {
+			assertTrue(rows.get(i - 1).get("id").asLong() < rows.get(i).get("id").asLong());
+		}
+	}
+
+	@Test
+	void titleOrderBreaksTiesByIdAndPutsUntitledRowsLast() throws Exception {
+		List<JsonNode> rows = walk("title", 2);
+
+		List<String> titles = rows.stream().map(row -> row.hasNonNull("title") ? row.get("title").asText() : null).toList();
+		assertEquals(java.util.Arrays.asList("Alpha", "Same", "Same", "Same", "Zed: Part 2", null, null), titles);
+		// Ties (the three "Same" and the two untitled rows) come in id order
+		assertTrue(rows.get(1).get("id").asLong() < rows.get(2).get("id").asLong());
+		assertTrue(rows.get(2).get("id").asLong() < rows.get(3).get("id").asLong());
+		assertTrue(rows.get(5).get("id").asLong() < rows.get(6).get("id").asLong());
+	}
+
+	@Test
+	void badCursorsAreRejected() throws Exception {
+		String idCursor = CatalogPage.encodeCursor(new CatalogPage.Cursor("id", 1, null));
+		String garbage = Base64.getUrlEncoder().encodeToString("title:not-a-number:x".getBytes());
+
+		mvc.perform(get("/api/movies").param("sort", "title").param("cursor", idCursor)).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/movies").param("cursor", garbage)).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/movies").param("sort", "title").param("cursor", garbage)).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/movies").param("cursor", "%%%")).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/movies").param("sort", "rating")).andExpect(status().isBadRequest());
+	}
+
+	// Follow nextCursor from the first page to the last (whose nextCursor is null)
+	private List<JsonNode> walk(String sort, int size) throws Exception {
+		List<JsonNode> rows = new ArrayList<>();
+		String cursor = null;
+		for (int page = 0; page < 20; page++) {
+			var request = get("/api/movies").param("sort", sort).param("size", String.valueOf(size));
+			if (cursor != null) {
+				request.param("cursor", cursor);
+			}
+			JsonNode body = json.readTree(mvc.perform(request).andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			body.get("items").forEach(rows::add);
+			if (!body.hasNonNull("nextCursor")) {
+				assertTrue(body.get("items").size() <= size);
+				return rows;
+			}
+			assertEquals(size, body.get("items").size());
+			cursor = body.get("nextCursor").asText();
+		}
+		throw new AssertionError("no last page");
+	}
+}
@@ -0,0 +1,82 @@
+package com.ma.movie_tracker_app.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.ma.movie_tracker_app.controller.MoviesController;
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.service.CatalogSearchService;
+import com.ma.movie_tracker_app.service.RecommendationService;
+import com.ma.movie_tracker_app.service.SessionTokens;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@WebMvcTest(MoviesController.class)
+@Import(ContentNegotiationConfig.class)
+class ContentNegotiationTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@MockBean
+	private MoviesRepository movieRepo;
+
+	@MockBean
+	private CatalogSearchService searchService;
+
+	@MockBean
+	private RecommendationService recommendations;
+
+	@MockBean
+	private SessionTokens tokens;
+
+	@BeforeEach
+	void setUp() {
+		Movies dune = new Movies();
+		dune.setTmdbId(438631L);
+		dune.setTitle("Dune");
+		when(searchService.searchMovies(eq("dune"), anyInt())).thenReturn(List.of(dune));
+	}
+
+	@Test
+	void jsonIsTheDefault() throws Exception {
+		mvc.perform(get("/api/movies").param("title", "dune"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/json"))
+				.andExpect(content().json("[{\"tmdbId\":438631,\"title\":\"Dune\"}]", true));
+	}
+
+	@Test
+	void cborAndSmileAreNegotiatedWithAccept() throws Exception {
+		MvcResult cbor = mvc.perform(get("/api/movies").param("title", "dune").header("Accept", "application/cbor"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/cbor"))
+				.andReturn();
+		List<Movies> fromCbor = ContentNegotiationConfig.cborMapper(Jackson2ObjectMapperBuilder.json())
+				.readValue(cbor.getResponse().getContentAsByteArray(), new TypeReference<>() {});
+		assertEquals("Dune", fromCbor.get(0).getTitle());
+
+		MvcResult smile = mvc.perform(get("/api/movies").param("title", "dune").header("Accept", "application/x-jackson-smile"))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith("application/x-jackson-smile"))
+				.andReturn();
+		List<Movies> fromSmile = ContentNegotiationConfig.smileMapper(Jackson2ObjectMapperBuilder.json())
+				.readValue(smile.getResponse().getContentAsByteArray(), new TypeReference<>() {});
+		assertEquals(438631L, fromSmile.get(0).getTmdbId());
+	}
+}
@@ -0,0 +1,177 @@
+package com.ma.movie_tracker_app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.Shows;
+import com.ma.movie_tracker_app.model.ShowsRepository;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserMovieList;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import com.ma.movie_tracker_app.model.UserRepository;
+import com.ma.movie_tracker_app.model.UserShowList;
+import com.ma.movie_tracker_app.model.UserShowListRepository;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// GET /api/user/library/export against a real (embedded, PostgreSQL-mode) database
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:library-export;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class LibraryExportTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private ShowsRepository showRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	@Autowired
+	private UserShowListRepository userShowListRepo;
+
+	private User user;
+	private MockHttpSession session;
+
+	@BeforeEach
+	void setUp() {
+		userMovieListRepo.deleteAll();
+		userShowListRepo.deleteAll();
+		movieRepo.deleteAll();
+		showRepo.deleteAll();
+		userRepo.deleteAll();
+
+		user = new User();
+		user.setUsername("exporter");
+		user.setPassword("unused");
+		user = userRepo.save(user);
+
+		session = new MockHttpSession();
+		session.setAttribute(UserIdResolver.SESSION_USERNAME, "exporter");
+		session.setAttribute(UserIdResolver.SESSION_USER_ID, user.getId());
+	}
+
+	private void addMovie(long tmdbId, String title, String type) {
+		Movies movie = new Movies();
+		movie.setTmdbId(tmdbId);
+		movie.setTitle(title);
+		movie.setReleaseYear(2010);
+		movie.setGenre("Drama");
+		UserMovieList entry = new UserMovieList();
+		entry.setUser(user);
+		entry.setMovie(movieRepo.save(movie));
+		entry.setType(type);
+		userMovieListRepo.save(entry);
+	}
+
+	private void addShow(long tmdbId, String title, String type) {
+		Shows show = new Shows();
+		show.setTmdbId(tmdbId);
+		show.setTitle(title);
+		UserShowList entry = new UserShowList();
+		entry.setUser(user);
+		entry.setShow(showRepo.save(show));
+		entry.setType(type);
+		userShowListRepo.save(entry);
+	}
+
+	// The body is a StreamingResponseBody, so it is written on an async dispatch
+	private MvcResult export(String format, String contentType) throws Exception {
+		MvcResult started = mvc.perform(get("/api/user/library/export")
+						.param("username", "exporter").param("format", format).session(session))
+				.andExpect(request().asyncStarted())
+				.andReturn();
+		return mvc.perform(asyncDispatch(started))
+				.andExpect(status().isOk())
+				.andExpect(content().contentTypeCompatibleWith(contentType))
+				.andExpect(header().string("Content-Disposition", "attachment; filename=\"library." + format + "\""))
+				.andReturn();
+	}
+
+	private static String body(MvcResult result) {
+		return new String(result.getResponse().getContentAsByteArray(), StandardCharsets.UTF_8);
+	}
+
+	@Test
+	void ndjsonHasOneObjectPerLineForBothKinds() throws Exception {
+		addMovie(27205, "Inception", "watched");
+		addMovie(157336, "Interstellar", "favourites");
+		addShow(1396, "Breaking Bad", "watchlist");
+
+		String body = body(export("ndjson", "application/x-ndjson"));
+		assertTrue(body.endsWith("\n"));
+
+		List<String> rows = new ArrayList<>();
+		for (String line : body.strip().split("\n")) {
+			JsonNode row = json.readTree(line);
+			rows.add(row.get("kind").asText() + " " + row.get("type").asText() + " "
+					+ row.get("tmdbId").asLong() + " " + row.get("title").asText());
+		}
+		// Movies, then shows; each ordered by list type
+		assertEquals(List.of("movie favourites 157336 Interstellar", "movie watched 27205 Inception",
+				"show watchlist 1396 Breaking Bad"), rows);
+	}
+
+	@Test
+	void csvQuotesFieldsThatNeedIt() throws Exception {
+		addMovie(1, "Plain", "watched");
+		addMovie(2, "Crazy, Stupid, Love.", "watched");
+		addMovie(3, "The \"Best\" Movie", "watched");
+		addShow(4, "Line one\nline two", "watchlist");
+
+		assertEquals("kind,type,tmdbId,title,releaseYear,genre,imageUrl\r\n"
+				+ "movie,watched,1,Plain,2010,Drama,\r\n"
+				+ "movie,watched,2,\"Crazy, Stupid, Love.\",2010,Drama,\r\n"
+				+ "movie,watched,3,\"The \"\"Best\"\" Movie\",2010,Drama,\r\n"
+				+ "show,watchlist,4,\"Line one\nline two\",,,\r\n",
+				body(export("csv", "text/csv")));
+	}
+
+	@Test
+	void emptyLibraryExportsNoRows() throws Exception {
+		assertEquals("", body(export("ndjson", "application/x-ndjson")).strip());
+		assertEquals("kind,type,tmdbId,title,releaseYear,genre,imageUrl\r\n", body(export("csv", "text/csv")));
+	}
+
+	@Test
+	void unknownFormatOrUserIsRejected() throws Exception {
+		mvc.perform(get("/api/user/library/export").param("username", "exporter").param("format", "xml").session(session))
+				.andExpect(status().isBadRequest());
+		mvc.perform(get("/api/user/library/export").param("username", "nobody"))
+				.andExpect(status().isNotFound());
+	}
+}
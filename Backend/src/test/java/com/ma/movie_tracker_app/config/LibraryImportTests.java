@@ -0,0 +1,167 @@
+package com.ma.movie_tracker_app.config;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.ShowsRepository;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserLibraryRow;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import com.ma.movie_tracker_app.model.UserRepository;
+import com.ma.movie_tracker_app.model.UserShowListRepository;
+import com.ma.movie_tracker_app.service.LibraryImportService;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.multipart;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// POST /api/user/library/import and its background job, against a real (embedded, PostgreSQL-mode) database
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:library-import;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"import.chunk-size=2"
+})
+@AutoConfigureMockMvc
+class LibraryImportTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private ObjectMapper json;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private ShowsRepository showRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	@Autowired
+	private UserShowListRepository userShowListRepo;
+
+	private Long userId;
+	private MockHttpSession session;
+
+	@BeforeEach
+	void setUp() {
+		userMovieListRepo.deleteAll();
+		userShowListRepo.deleteAll();
+		movieRepo.deleteAll();
+		showRepo.deleteAll();
+		userRepo.deleteAll();
+
+		User user = new User();
+		user.setUsername("importer");
+		user.setPassword("unused");
+		userId = userRepo.save(user).getId();
+
+		session = new MockHttpSession();
+		session.setAttribute(UserIdResolver.SESSION_USERNAME, "importer");
+		session.setAttribute(UserIdResolver.SESSION_USER_ID, userId);
+	}
+
+	// Upload, then poll the job until it has finished
+	private JsonNode importFile(String format, String content) throws Exception {
+		MockMultipartFile file = new MockMultipartFile("file", "library." + format, "text/plain",
+				content.getBytes(StandardCharsets.UTF_8));
+		String accepted = mvc.perform(multipart("/api/user/library/import").file(file)
+						.param("username", "importer").param("format", format).session(session))
+				.andExpect(status().isAccepted())
+				.andReturn().getResponse().getContentAsString();
+		String jobId = json.readTree(accepted).get("jobId").asText();
+
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		while (true) {
+			JsonNode status = json.readTree(mvc.perform(get("/api/user/library/import/" + jobId)
+							.param("username", "importer").session(session))
+					.andExpect(status().isOk())
+					.andReturn().getResponse().getContentAsString());
+			String state = status.get("state").asText();
+			if (state.equals(LibraryImportService.DONE) || state.equals(LibraryImportService.FAILED)) {
+				return status;
+			}
+			assertTrue(System.nanoTime() < deadline, "import still " + state);
+			Thread.sleep(20);
+		}
+	}
+
+	private List<String> movieRows() {
+		return userMovieListRepo.findLibraryRowsByUserId(userId).stream()
+				.map(row -> row.type() + " " + row.tmdbId() + " " + row.title()).sorted().toList();
+	}
+
+	private List<String> showRows() {
+		return userShowListRepo.findLibraryRowsByUserId(userId).stream()
+				.map(UserLibraryRow::tmdbId).map(String::valueOf).sorted().toList();
+	}
+
+	@Test
+	void csvImportAddsValidRowsAndCountsTheRest() throws Exception {
+		JsonNode status = importFile("csv", "kind,type,tmdbId,title,releaseYear\r\n"
+				+ "movie,watched,27205,\"Inception, the movie\",2010\r\n"
+				+ "movie,Watchlist,157336,Interstellar,2014\r\n"
+				+ "tv,favourites,1396,Breaking Bad,\r\n"
+				+ "movie,watched,27205,Inception again,2010\r\n"   // repeat → skipped
+				+ "movie,seen-it,603,The Matrix,1999\r\n"          // not one of the app's lists
+				+ "movie,watched,not-a-number,Broken,\r\n"         // bad tmdbId
+				+ "book,watched,1,A Book,\r\n");                   // unknown kind
+
+		assertEquals("done", status.get("state").asText());
+		assertEquals(7, status.get("processed").asLong());
+		assertEquals(3, status.get("added").asLong());
+		assertEquals(1, status.get("skipped").asLong());
+		assertEquals(3, status.get("failed").asLong());
+
+		assertEquals(List.of("watched 27205 Inception, the movie", "watchlist 157336 Interstellar"), movieRows());
+		assertEquals(List.of("1396"), showRows());
+	}
+
+	@Test
+	void jsonImportAcceptsNdjsonLikeTheExport() throws Exception {
+		JsonNode status = importFile("json",
+				"{\"kind\":\"movie\",\"type\":\"favourites\",\"tmdbId\":550,\"title\":\"Fight Club\"}\n"
+				+ "{\"kind\":\"show\",\"type\":\"watching\",\"tmdbId\":1399,\"title\":\"Game of Thrones\"}\n");
+
+		assertEquals("done", status.get("state").asText());
+		assertEquals(1, status.get("added").asLong());
+		assertEquals(1, status.get("failed").asLong());
+		assertEquals(List.of("favourites 550 Fight Club"), movieRows());
+		assertEquals(List.of(), showRows());
+	}
+
+	@Test
+	void unreadableCsvFailsTheJobButKeepsEarlierChunks() throws Exception {
+		JsonNode status = importFile("csv", "kind,type,tmdbId,title\n"
+				+ "movie,watched,1,One\n"
+				+ "movie,watched,2,Two\n"
+				+ "movie,watched,3,\"Never closed\n"
+				+ "movie,watched,4,Four\n");
+
+		assertEquals("failed", status.get("state").asText());
+		assertTrue(status.get("error").asText().startsWith("Could not read the file"));
+		assertEquals(List.of("watched 1 One", "watched 2 Two"), movieRows());
+	}
+}
@@ -0,0 +1,182 @@
+package com.ma.movie_tracker_app.config;
+
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserMovieList;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import com.ma.movie_tracker_app.model.UserRepository;
+import com.ma.movie_tracker_app.service.ListVersions;
+import com.ma.movie_tracker_app.service.QueryStats;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import static org.hamcrest.Matchers.hasItem;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// ETag / If-None-Match on the list GETs, against a real (embedded, PostgreSQL-mode) database
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:list-etags;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@AutoConfigureMockMvc
+class ListETagTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	private MockHttpSession session;
+
+	@BeforeEach
+	void setUp() {
+		userMovieListRepo.deleteAll();
+		movieRepo.deleteAll();
+		userRepo.deleteAll();
+
+		User user = new User();
+		user.setUsername("etag");
+		user.setPassword("unused");
+		user = userRepo.save(user);
+
+		Movies movie = new Movies();
+		movie.setTmdbId(1L);
+		movie.setTitle("Movie 1");
+		UserMovieList entry = new UserMovieList();
+		entry.setUser(user);
+		entry.setMovie(movieRepo.save(movie));
+		entry.setType("watchlist");
+		userMovieListRepo.save(entry);
+
+		session = new MockHttpSession();
+		session.setAttribute(UserIdResolver.SESSION_USERNAME, "etag");
+		session.setAttribute(UserIdResolver.SESSION_USER_ID, user.getId());
+	}
+
+	private String fetch(String url, String ifNoneMatch) throws Exception {
+		var request = get(url).param("username", "etag").session(session);
+		if (ifNoneMatch != null) {
+			request.header("If-None-Match", ifNoneMatch);
+		}
+		return mvc.perform(request).andExpect(status().isOk()).andExpect(header().exists("ETag"))
+				.andReturn().getResponse().getHeader("ETag");
+	}
+
+	private void assertNotModifiedWithoutQueries(String url, String eTag) throws Exception {
+		QueryStats.Scope scope = QueryStats.start();
+		mvc.perform(get(url).param("username", "etag").session(session).header("If-None-Match", eTag))
+				.andExpect(status().isNotModified())
+				.andExpect(header().string("ETag", eTag));
+		assertEquals(0, QueryStats.stop(scope).statements());
+	}
+
+	private void change(String action, long tmdbId) throws Exception {
+		mvc.perform(post("/api/user/movielist/watchlist/" + action).session(session)
+						.contentType(MediaType.APPLICATION_JSON)
+						.content("{\"username\":\"etag\",\"tmdbId\":" + tmdbId + ",\"title\":\"Movie " + tmdbId + "\"}"))
+				.andExpect(status().isOk());
+	}
+
+	@Test
+	void unchangedListIsNotModifiedWithoutQueries() throws Exception {
+		String list = fetch("/api/user/movielist/watchlist", null);
+		assertNotModifiedWithoutQueries("/api/user/movielist/watchlist", list);
+
+		String library = fetch("/api/user/library", null);
+		assertNotModifiedWithoutQueries("/api/user/library", library);
+	}
+
+	@Test
+	void addAndRemoveChangeTheETag() throws Exception {
+		String before = fetch("/api/user/movielist/watchlist", null);
+		String libraryBefore = fetch("/api/user/library", null);
+
+		change("add", 2);
+		String afterAdd = fetch("/api/user/movielist/watchlist", before);
+		assertNotEquals(before, afterAdd);
+		assertNotEquals(libraryBefore, fetch("/api/user/library", libraryBefore));
+
+		change("remove", 1);
+		String afterRemove = fetch("/api/user/movielist/watchlist", afterAdd);
+		assertNotEquals(afterAdd, afterRemove);
+		assertNotModifiedWithoutQueries("/api/user/movielist/watchlist", afterRemove);
+
+		// A no-op (already removed) leaves the tag alone
+		change("remove", 1);
+		assertNotModifiedWithoutQueries("/api/user/movielist/watchlist", afterRemove);
+	}
+
+	@Test
+	void eachBodyFormatHasItsOwnETag() throws Exception {
+		// Accept header → the format Spring actually picks; the ETag must name the same one
+		String[][] cases = {
+				{"", "application/json"},
+				{"application/json", "application/json"},
+				{"*/*", "application/json"},
+				{"application/cbor", "application/cbor"},
+				{"application/x-jackson-smile", "application/x-jackson-smile"},
+				{"*/*, application/cbor", "application/cbor"},
+				{"application/cbor;q=0.5, application/json", "application/json"},
+				{"application/json;q=0.5, application/x-jackson-smile", "application/x-jackson-smile"},
+		};
+		String json = null;
+		for (String[] c : cases) {
+			MvcResult result = mvc.perform(get("/api/user/library").param("username", "etag").session(session)
+							.header("Accept", c[0]))
+					.andExpect(status().isOk())
+					.andExpect(header().stringValues("Vary", hasItem("Accept")))
+					.andReturn();
+			String contentType = result.getResponse().getContentType();
+			String eTag = result.getResponse().getHeader("ETag");
+			assertTrue(contentType.startsWith(c[1]), c[0] + " → " + contentType);
+			if (c[1].equals("application/json")) {
+				json = json == null ? eTag : json;
+				assertEquals(json, eTag, c[0]);
+			} else {
+				assertTrue(eTag.endsWith(c[1].contains("cbor") ? "-cbor\"" : "-smile\""), c[0] + " → " + eTag);
+			}
+		}
+
+		// The JSON tag doesn't validate a CBOR body, and the 304 also says what it varies on
+		mvc.perform(get("/api/user/library").param("username", "etag").session(session)
+						.header("Accept", "application/cbor").header("If-None-Match", json))
+				.andExpect(status().isOk());
+		mvc.perform(get("/api/user/library").param("username", "etag").session(session)
+						.header("If-None-Match", json))
+				.andExpect(status().isNotModified())
+				.andExpect(header().stringValues("Vary", hasItem("Accept")));
+	}
+
+	@Test
+	void eTagsFollowAuthModeUnlessSetExplicitly() {
+		// Stateless tokens → requests may reach any instance, whose in-memory versions don't agree
+		assertNull(new ListVersions("", "token").listETag(1L, "movie", "watchlist"));
+		assertNull(new ListVersions("", "token").libraryETag(1L));
+		assertNotNull(new ListVersions("", "session").listETag(1L, "movie", "watchlist"));
+		assertNotNull(new ListVersions("true", "token").libraryETag(1L));
+		assertNull(new ListVersions("false", "session").libraryETag(1L));
+	}
+}
@@ -0,0 +1,121 @@
+package com.ma.movie_tracker_app.config;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.UserListItem;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.GZIPOutputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Compares the response formats on representative payloads by bytes on the wire (raw and gzip).
+// Serialization CPU per format is measured in the benchmarks module (SerializationBenchmark).
+class PayloadFormatTests {
+
+	private static final Map<String, ObjectMapper> FORMATS = Map.of(
+			"json", Jackson2ObjectMapperBuilder.json().build(),
+			"cbor", ContentNegotiationConfig.cborMapper(Jackson2ObjectMapperBuilder.json()),
+			"smile", ContentNegotiationConfig.smileMapper(Jackson2ObjectMapperBuilder.json()));
+
+	private static final String[] GENRES = {"Action, Adventure", "Drama", "Comedy, Romance", "Science Fiction, Thriller"};
+
+	private static List<Movies> catalogPage(int size) {
+		List<Movies> movies = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			Movies movie = new Movies();
+			movie.setTmdbId(100_000L + i);
+			movie.setTitle("Movie title number " + i);
+			movie.setDescription(("A long overview of movie " + i + " that goes on for a while. ").repeat(30));
+			movie.setReleaseYear(1980 + i % 45);
+			movie.setGenre(GENRES[i % GENRES.length]);
+			movie.setImageUrl("https://image.tmdb.org/t/p/w500/poster" + i + ".jpg");
+			if (i % 3 == 0) {
+				movie.setDirector("Director " + i % 17); // director is often missing
+			}
+			movies.add(movie);
+		}
+		return movies;
+	}
+
+	private static List<UserListItem> userList(int size) {
+		List<UserListItem> items = new ArrayList<>();
+		for (int i = 0; i < size; i++) {
+			items.add(new UserListItem(200_000L + i, "Listed title " + i, i % 5 == 0 ? null : 1990 + i % 30,
+					GENRES[i % GENRES.length], "https://image.tmdb.org/t/p/w500/list" + i + ".jpg"));
+		}
+		return items;
+	}
+
+	@Test
+	void binaryFormatsAreSmallerAndRoundTrip() throws IOException {
+		List<UserListItem> items = userList(500);
+		int json = FORMATS.get("json").writeValueAsBytes(items).length;
+
+		for (String format : List.of("cbor", "smile")) {
+			ObjectMapper mapper = FORMATS.get(format);
+			byte[] body = mapper.writeValueAsBytes(items);
+			assertTrue(body.length < json, format + " (" + body.length + " bytes) should be smaller than JSON (" + json + ")");
+			assertEquals(items, mapper.readValue(body, new TypeReference<List<UserListItem>>() {}));
+		}
+	}
+
+	@Test
+	void nullFieldsAreLeftOut() throws IOException {
+		Movies movie = new Movies();
+		movie.setTmdbId(1L);
+		movie.setTitle("Dune");
+
+		String json = FORMATS.get("json").writeValueAsString(movie);
+
+		assertFalse(json.contains("director"), json);
+		assertFalse(json.contains("null"), json);
+	}
+
+	private static double ratio(ObjectMapper mapper, Object payload, boolean gzipped) throws IOException {
+		byte[] body = mapper.writeValueAsBytes(payload);
+		byte[] json = FORMATS.get("json").writeValueAsBytes(payload);
+		return gzipped ? (double) gzip(body).length / gzip(json).length : (double) body.length / json.length;
+	}
+
+	@Test
+	void binaryFormatsSaveOnRepeatedFieldNamesNotOnText() throws IOException {
+		// Short list items: field names are a large share of the bytes, which Smile back-references
+		List<UserListItem> items = userList(500);
+		assertTrue(ratio(FORMATS.get("smile"), items, false) < 0.6);
+		assertTrue(ratio(FORMATS.get("cbor"), items, false) < 0.95);
+
+		// Catalog pages are mostly overview text, which every format stores as-is
+		List<Movies> page = catalogPage(200);
+		for (String format : List.of("cbor", "smile")) {
+			double raw = ratio(FORMATS.get(format), page, false);
+			assertTrue(raw > 0.9 && raw < 1.0, format + " is " + raw + " of JSON");
+		}
+	}
+
+	@Test
+	void gzipMakesTheFormatsAlmostTheSameSize() throws IOException {
+		// Responses are compressed (server.compression), so on the wire the gap mostly disappears
+		for (Object payload : List.of(userList(500), catalogPage(200))) {
+			for (String format : List.of("cbor", "smile")) {
+				double gzipped = ratio(FORMATS.get(format), payload, true);
+				assertTrue(gzipped > 0.85 && gzipped < 1.15, format + " gzipped is " + gzipped + " of JSON gzipped");
+			}
+		}
+	}
+
+	private static byte[] gzip(byte[] body) throws IOException {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		}
+		return out.toByteArray();
+	}
+}
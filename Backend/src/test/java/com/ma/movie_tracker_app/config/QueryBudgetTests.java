@@ -0,0 +1,131 @@
+package com.ma.movie_tracker_app.config;
+
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserMovieList;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import com.ma.movie_tracker_app.model.UserRepository;
+import com.ma.movie_tracker_app.service.QueryStats;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Query budgets for the hot read endpoints, checked against a real (embedded, PostgreSQL-mode) database
+@SpringBootTest(properties = {
+		"spring.datasource.url=jdbc:h2:mem:query-budget;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"metrics.sql.statement-threshold=1"
+})
+@AutoConfigureMockMvc
+class QueryBudgetTests {
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private MeterRegistry registry;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	private MockHttpSession session;
+
+	@BeforeEach
+	void setUp() {
+		userMovieListRepo.deleteAll();
+		movieRepo.deleteAll();
+		userRepo.deleteAll();
+
+		User user = new User();
+		user.setUsername("budget");
+		user.setPassword("unused");
+		user = userRepo.save(user);
+
+		for (long tmdbId = 1; tmdbId <= 20; tmdbId++) {
+			Movies movie = new Movies();
+			movie.setTmdbId(tmdbId);
+			movie.setTitle("Movie " + tmdbId);
+			movie = movieRepo.save(movie);
+
+			UserMovieList entry = new UserMovieList();
+			entry.setUser(user);
+			entry.setMovie(movie);
+			entry.setType("watchlist");
+			userMovieListRepo.save(entry);
+		}
+
+		// Logged in, as after POST /api/user/login
+		session = new MockHttpSession();
+		session.setAttribute(UserIdResolver.SESSION_USERNAME, "budget");
+		session.setAttribute(UserIdResolver.SESSION_USER_ID, user.getId());
+	}
+
+	@Test
+	void getListIssuesOneQuery() throws Exception {
+		QueryStats.Scope scope = QueryStats.start();
+		mvc.perform(get("/api/user/movielist/watchlist").param("username", "budget").session(session))
+				.andExpect(status().isOk());
+		assertEquals(1, QueryStats.stop(scope).statements());
+
+		// The same number is exported per handler
+		DistributionSummary statements = registry.get("app.requests.sql.statements")
+				.tag("handler", "UserMovieListController.getList").summary();
+		assertTrue(statements.count() >= 1);
+		assertTrue(statements.max() <= 1);
+	}
+
+	@Test
+	void getLibraryIssuesOneQueryPerMediaKind() throws Exception {
+		double overBudget = registry.counter("app.requests.sql.over-budget",
+				"handler", "UserLibraryController.getLibrary").count();
+
+		QueryStats.Scope scope = QueryStats.start();
+		mvc.perform(get("/api/user/library").param("username", "budget").session(session))
+				.andExpect(status().isOk());
+		assertEquals(2, QueryStats.stop(scope).statements());
+
+		// Over the (test) threshold of 1 → counted as a possible N+1
+		assertEquals(overBudget + 1, registry.counter("app.requests.sql.over-budget",
+				"handler", "UserLibraryController.getLibrary").count());
+	}
+
+	@Test
+	void addingAHotTitleSkipsTheCatalogLookup() throws Exception {
+		String body = "{\"username\":\"budget\",\"tmdbId\":7,\"title\":\"Movie 7\"}";
+		mvc.perform(post("/api/user/movielist/favourites/add").session(session)
+				.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk());
+
+		// The movie now comes from the second-level cache (the native INSERT above must not have
+		// cleared it), so the add is just the INSERT ... ON CONFLICT DO NOTHING
+		QueryStats.Scope scope = QueryStats.start();
+		mvc.perform(post("/api/user/movielist/watched/add").session(session)
+				.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk());
+		assertEquals(1, QueryStats.stop(scope).statements());
+	}
+}
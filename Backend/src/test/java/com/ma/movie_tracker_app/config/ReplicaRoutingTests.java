@@ -0,0 +1,203 @@
+package com.ma.movie_tracker_app.config;
+
+import com.ma.movie_tracker_app.model.Movies;
+import com.ma.movie_tracker_app.model.MoviesRepository;
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.model.UserMovieList;
+import com.ma.movie_tracker_app.model.UserMovieListRepository;
+import com.ma.movie_tracker_app.model.UserRepository;
+import com.ma.movie_tracker_app.service.UserIdResolver;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.mock.web.MockHttpSession;
+import org.springframework.test.web.servlet.MockMvc;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Read/write routing with two embedded databases: "primary" and a "replica" that the test copies
+// from the primary by hand (replication), and can leave behind (lag) or shut down (outage)
+@SpringBootTest(properties = {
+		"spring.datasource.url=" + ReplicaRoutingTests.PRIMARY_URL,
+		"spring.datasource.username=sa",
+		"spring.datasource.password=",
+		"spring.jpa.database-platform=org.hibernate.dialect.H2Dialect",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		// The pool may only connect while the test keeps the replica database open
+		"datasource.replicas.urls=" + ReplicaRoutingTests.REPLICA_URL + ";IFEXISTS=TRUE",
+		"datasource.replicas.health-check-interval=PT1H",
+		"datasource.replicas.connection-timeout=PT0.5S",
+		"datasource.read-your-writes.window=PT1M"
+})
+@AutoConfigureMockMvc
+class ReplicaRoutingTests {
+
+	static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+	static final String REPLICA_URL = "jdbc:h2:mem:routing-replica;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH";
+
+	@Autowired
+	private MockMvc mvc;
+
+	@Autowired
+	private DataSource dataSource;
+
+	@Autowired
+	private UserRepository userRepo;
+
+	@Autowired
+	private MoviesRepository movieRepo;
+
+	@Autowired
+	private UserMovieListRepository userMovieListRepo;
+
+	// Keeps the in-memory replica alive (it exists before the app starts, as a real one would)
+	private static Connection replica;
+
+	private MockHttpSession reader;
+	private MockHttpSession writer;
+
+	@BeforeAll
+	static void startReplica() throws SQLException {
+		replica = DriverManager.getConnection(REPLICA_URL, "sa", "");
+	}
+
+	@AfterAll
+	static void stopReplica() throws SQLException {
+		replica.close();
+	}
+
+	@BeforeEach
+	void setUp() throws Exception {
+		userMovieListRepo.deleteAll();
+		movieRepo.deleteAll();
+		userRepo.deleteAll();
+
+		reader = login(user("reader"));
+		writer = login(user("writer"));
+		addToWatchlist("reader", 1);
+		addToWatchlist("writer", 2);
+
+		replicate();
+		awaitReplicaUp();
+
+		// Not replicated yet
+		addToWatchlist("reader", 3);
+	}
+
+	@Test
+	void listReadsAreServedByTheReplica() throws Exception {
+		mvc.perform(get("/api/user/movielist/watchlist").param("username", "reader").session(reader))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void usersReadTheirOwnWritesFromThePrimary() throws Exception {
+		String body = "{\"username\":\"writer\",\"tmdbId\":4,\"title\":\"Movie 4\"}";
+		mvc.perform(post("/api/user/movielist/watchlist/add").session(writer)
+						.contentType(MediaType.APPLICATION_JSON).content(body))
+				.andExpect(status().isOk());
+
+		mvc.perform(get("/api/user/movielist/watchlist").param("username", "writer").session(writer))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2));
+
+		// Other users still read from the (lagging) replica
+		mvc.perform(get("/api/user/movielist/watchlist").param("username", "reader").session(reader))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(1));
+	}
+
+	@Test
+	void readsFallBackToThePrimaryWhenTheReplicaIsDown() throws Exception {
+		try (Statement statement = replica.createStatement()) {
+			statement.execute("SHUTDOWN");
+		}
+		routing().checkReplicas();
+		assertEquals(0, routing().healthyReplicas());
+
+		mvc.perform(get("/api/user/movielist/watchlist").param("username", "reader").session(reader))
+				.andExpect(status().isOk())
+				.andExpect(jsonPath("$.length()").value(2));
+	}
+
+	private ReplicaRoutingDataSource routing() throws SQLException {
+		return dataSource.unwrap(ReplicaRoutingDataSource.class);
+	}
+
+	// After an outage the pool may still be backing off from failed connection attempts
+	private void awaitReplicaUp() throws Exception {
+		long deadline = System.nanoTime() + 10_000_000_000L;
+		routing().checkReplicas();
+		while (routing().healthyReplicas() == 0 && System.nanoTime() < deadline) {
+			Thread.sleep(100);
+			routing().checkReplicas();
+		}
+		assertEquals(1, routing().healthyReplicas());
+	}
+
+	// Copy the primary (schema and rows) over the replica
+	private void replicate() throws SQLException {
+		List<String> script = new ArrayList<>();
+		try (Connection primary = DriverManager.getConnection(PRIMARY_URL, "sa", "");
+			 Statement statement = primary.createStatement();
+			 ResultSet rows = statement.executeQuery("SCRIPT")) {
+			while (rows.next()) {
+				script.add(rows.getString(1));
+			}
+		}
+		if (replica.isClosed()) {
+			replica = DriverManager.getConnection(REPLICA_URL, "sa", ""); // back after an outage
+		}
+		try (Statement statement = replica.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+			for (String sql : script) {
+				statement.execute(sql);
+			}
+		}
+	}
+
+	private User user(String username) {
+		User user = new User();
+		user.setUsername(username);
+		user.setPassword("unused");
+		return userRepo.save(user);
+	}
+
+	private MockHttpSession login(User user) {
+		MockHttpSession session = new MockHttpSession();
+		session.setAttribute(UserIdResolver.SESSION_USERNAME, user.getUsername());
+		session.setAttribute(UserIdResolver.SESSION_USER_ID, user.getId());
+		return session;
+	}
+
+	private void addToWatchlist(String username, long tmdbId) {
+		Movies movie = new Movies();
+		movie.setTmdbId(tmdbId);
+		movie.setTitle("Movie " + tmdbId);
+
+		UserMovieList entry = new UserMovieList();
+		entry.setUser(userRepo.findByUsername(username));
+		entry.setMovie(movieRepo.save(movie));
+		entry.setType("watchlist");
+		userMovieListRepo.save(entry);
+	}
+}
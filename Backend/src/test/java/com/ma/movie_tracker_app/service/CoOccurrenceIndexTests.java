@@ -0,0 +1,97 @@
+package com.ma.movie_tracker_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static com.ma.movie_tracker_app.service.CoOccurrenceIndex.FAVOURITES;
+import static com.ma.movie_tracker_app.service.CoOccurrenceIndex.WATCHED;
+import static org.junit.jupiter.api.Assertions.*;
+
+class CoOccurrenceIndexTests {
+
+	@Test
+	void ranksByHowOftenTitlesAreLikedTogether() {
+		CoOccurrenceIndex index = new CoOccurrenceIndex.Builder(100)
+				.add(1, 10, FAVOURITES).add(1, 20, FAVOURITES).add(1, 30, WATCHED)
+				.add(2, 10, FAVOURITES).add(2, 20, WATCHED)
+				.add(3, 10, WATCHED).add(3, 20, FAVOURITES).add(3, 30, FAVOURITES)
+				.add(4, 30, FAVOURITES).add(4, 40, FAVOURITES)
+				.build();
+
+		assertArrayEquals(new long[] {20, 30}, index.top(10, 10, 2));
+		assertArrayEquals(new long[] {20}, index.top(10, 1, 2));
+		// 40 is liked with 30 only once, but it's rare: 1/sqrt(1*3) vs 2/sqrt(3*3) (ties → lower id)
+		assertArrayEquals(new long[] {10, 20, 40}, index.top(30, 10, 1));
+		assertArrayEquals(new long[0], index.top(99, 10, 1));
+	}
+
+	@Test
+	void aTitleInBothListsCountsOnce() {
+		CoOccurrenceIndex index = new CoOccurrenceIndex.Builder(100).build();
+		index.add(1, 10, FAVOURITES);
+		index.add(1, 10, WATCHED);
+		index.add(1, 20, WATCHED);
+		assertEquals(1, index.together(10, 20));
+
+		index.remove(1, 10, FAVOURITES); // still watched
+		assertEquals(1, index.together(10, 20));
+		index.remove(1, 10, WATCHED);
+		assertEquals(0, index.together(10, 20));
+		assertEquals(1, index.titles());
+	}
+
+	@Test
+	void onlyTheFirstTitlesOfAUserCount() {
+		CoOccurrenceIndex index = new CoOccurrenceIndex.Builder(2).build();
+		index.add(1, 10, FAVOURITES);
+		index.add(1, 20, FAVOURITES);
+		index.add(1, 30, FAVOURITES);
+		assertEquals(1, index.together(10, 20));
+		assertEquals(0, index.together(10, 30));
+
+		// A place is free again: the title beyond the limit takes it
+		index.remove(1, 20, FAVOURITES);
+		assertEquals(0, index.together(10, 20));
+		assertEquals(1, index.together(10, 30));
+		assertEquals(1, index.together(30, 10));
+	}
+
+	@Test
+	void updatesGiveTheSameCountsAsARebuild() {
+		Random random = new Random(42);
+		CoOccurrenceIndex live = new CoOccurrenceIndex.Builder(Integer.MAX_VALUE).build();
+		// user → title → lists, as the list tables would hold them
+		Map<Long, Map<Long, Integer>> lists = new HashMap<>();
+
+		for (int i = 0; i < 20_000; i++) {
+			long user = 1 + random.nextInt(50);
+			long title = 1 + random.nextInt(40);
+			int list = random.nextBoolean() ? FAVOURITES : WATCHED;
+			Map<Long, Integer> titles = lists.computeIfAbsent(user, id -> new HashMap<>());
+			if (random.nextInt(3) > 0) {
+				live.add(user, title, list);
+				live.add(user, title, list); // replayed change
+				titles.merge(title, list, (a, b) -> a | b);
+			} else {
+				live.remove(user, title, list);
+				titles.computeIfPresent(title, (id, flags) -> (flags & ~list) == 0 ? null : flags & ~list);
+			}
+		}
+
+		CoOccurrenceIndex.Builder builder = new CoOccurrenceIndex.Builder(Integer.MAX_VALUE);
+		lists.forEach((user, titles) -> titles.forEach((title, flags) -> builder.add(user, title, flags)));
+		CoOccurrenceIndex rebuilt = builder.build();
+
+		for (long a = 1; a <= 40; a++) {
+			for (long b = 1; b <= 40; b++) {
+				assertEquals(rebuilt.together(a, b), live.together(a, b), a + "/" + b);
+			}
+			assertArrayEquals(rebuilt.top(a, 5, 2), live.top(a, 5, 2));
+		}
+		assertEquals(rebuilt.pairs(), live.pairs());
+		assertEquals(rebuilt.titles(), live.titles());
+	}
+}
@@ -0,0 +1,64 @@
+package com.ma.movie_tracker_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CsvReaderTests {
+
+	private static List<List<String>> read(String text) throws IOException {
+		CsvReader csv = new CsvReader(new StringReader(text));
+		List<List<String>> records = new ArrayList<>();
+		for (List<String> record = csv.next(); record != null; record = csv.next()) {
+			records.add(record);
+		}
+		return records;
+	}
+
+	@Test
+	void plainRecordsWithEitherLineEnding() throws IOException {
+		assertEquals(List.of(List.of("a", "b", "c"), List.of("1", "", "3")), read("a,b,c\r\n1,,3\n"));
+		assertEquals(List.of(List.of("last", "")), read("last,"));
+	}
+
+	@Test
+	void quotedFieldsKeepCommasLineBreaksAndQuotes() throws IOException {
+		assertEquals(List.of(
+						List.of("Crazy, Stupid, Love.", "2011"),
+						List.of("Line one\r\nline two", "x"),
+						List.of("The \"Best\" Movie", ""),
+						List.of("", "end")),
+				read("\"Crazy, Stupid, Love.\",2011\r\n"
+						+ "\"Line one\r\nline two\",x\r\n"
+						+ "\"The \"\"Best\"\" Movie\",\"\"\r\n"
+						+ "\"\",end"));
+	}
+
+	@Test
+	void blankLinesAreSkipped() throws IOException {
+		assertEquals(List.of(List.of("a"), List.of("b")), read("\r\na\n\n\r\nb\n\n"));
+		assertNull(new CsvReader(new StringReader("")).next());
+	}
+
+	@Test
+	void malformedRowsAreReadLeniently() throws IOException {
+		// A quote inside an unquoted field is just a character; it must not swallow the next record
+		assertEquals(List.of(List.of("12\" Vinyl", "x"), List.of("next", "row")), read("12\" Vinyl,x\nnext,row\n"));
+		// Text after a closing quote is kept
+		assertEquals(List.of(List.of("quoted tail", "y")), read("\"quoted\" tail,y\n"));
+		// Short and long records come back as they are (the importer checks the columns)
+		assertEquals(List.of(List.of("a"), List.of("a", "b", "c", "d")), read("a\na,b,c,d\n"));
+	}
+
+	@Test
+	void unterminatedQuoteIsAnError() {
+		CsvReader csv = new CsvReader(new StringReader("ok,1\n\"never closed,2\nmore,3\n"));
+		assertDoesNotThrow(csv::next);
+		assertThrows(IOException.class, csv::next);
+	}
+}
@@ -0,0 +1,208 @@
+package com.ma.movie_tracker_app.service;
+
+import com.ma.movie_tracker_app.model.ListChange;
+import com.ma.movie_tracker_app.model.UserListItem;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+class ListChangeFeedTests {
+
+	private ListChangeFeed feed;
+	private MockMvc mvc;
+
+	@AfterEach
+	void tearDown() {
+		feed.shutdown();
+	}
+
+	@Test
+	void changesGoToTheUsersOwnFeedsOnly() throws Exception {
+		start(100, 2);
+		MockHttpServletResponse alice = open(1L, null);
+		MockHttpServletResponse bob = open(2L, null);
+		await(alice, "event:ready");
+		await(bob, "event:ready");
+
+		feed.publish(1L, added(7));
+		feed.publish(2L, added(8));
+
+		await(alice, "\"tmdbId\":7");
+		await(bob, "\"tmdbId\":8");
+		assertFalse(alice.getContentAsString().contains("\"tmdbId\":8"));
+		assertFalse(bob.getContentAsString().contains("\"tmdbId\":7"));
+	}
+
+	@Test
+	void reconnectReplaysOnlyTheMissedEvents() throws Exception {
+		start(100, 2);
+		MockHttpServletResponse first = open(1L, null);
+		await(first, "event:ready");
+
+		feed.publish(1L, added(1));
+		feed.publish(1L, added(2));
+		feed.publish(2L, added(9)); // someone else's
+		feed.publish(1L, new ListChange("movie", "watchlist", List.of(), List.of(1L)));
+		await(first, "\"removed\":[1]");
+
+		// The connection dropped after the first change
+		MockHttpServletResponse resumed = open(1L, idOf(first, "\"tmdbId\":1"));
+		await(resumed, "event:ready");
+		String replayed = resumed.getContentAsString();
+		assertFalse(replayed.contains("\"tmdbId\":1,"));
+		assertFalse(replayed.contains("\"tmdbId\":9"));
+		assertTrue(replayed.indexOf("\"tmdbId\":2") < replayed.indexOf("\"removed\":[1]"));
+		assertTrue(replayed.indexOf("\"removed\":[1]") < replayed.indexOf("event:ready"));
+	}
+
+	@Test
+	void unknownOrExpiredIdsGetAReset() throws Exception {
+		start(2, 2);
+		MockHttpServletResponse first = open(1L, null);
+		await(first, "event:ready");
+		String bootId = idOf(first, "event:ready").split("-")[0];
+
+		for (long tmdbId = 1; tmdbId <= 5; tmdbId++) {
+			feed.publish(1L, added(tmdbId));
+		}
+
+		await(open(1L, bootId + "-1"), "event:reset"); // no longer buffered
+		await(open(1L, "0badb00t-4"), "event:reset"); // from before a restart
+		MockHttpServletResponse recent = open(1L, bootId + "-4");
+		await(recent, "event:ready");
+		assertTrue(recent.getContentAsString().contains("\"tmdbId\":5"));
+	}
+
+	@Test
+	void replayBufferIsBoundedByItems() throws Exception {
+		start(100, 5, 2);
+		MockHttpServletResponse first = open(1L, null);
+		await(first, "event:ready");
+		String bootId = idOf(first, "event:ready").split("-")[0];
+
+		// 2 items each: the third change pushes the buffer over 5 items, so the first is dropped
+		feed.publish(1L, added(1, 2));
+		feed.publish(2L, added(3, 4));
+		feed.publish(1L, added(5, 6));
+
+		await(open(1L, bootId + "-0"), "event:reset");
+		MockHttpServletResponse resumed = open(1L, bootId + "-1");
+		await(resumed, "event:ready");
+		assertTrue(resumed.getContentAsString().contains("\"tmdbId\":6"));
+		assertFalse(resumed.getContentAsString().contains("\"tmdbId\":3"));
+	}
+
+	@Test
+	void largeChangesAreSentLiveButReplayedAsAReset() throws Exception {
+		start(100, 2);
+		MockHttpServletResponse live = open(1L, null);
+		await(live, "event:ready");
+		String bootId = idOf(live, "event:ready").split("-")[0];
+
+		feed.publish(1L, added(LongStream.rangeClosed(1, 101).toArray()));
+		await(live, "\"tmdbId\":101");
+
+		MockHttpServletResponse resumed = open(1L, bootId + "-0");
+		await(resumed, "event:reset");
+		assertFalse(resumed.getContentAsString().contains("\"tmdbId\""));
+	}
+
+	@Test
+	void oldestFeedIsClosedWhenAUserOpensTooMany() throws Exception {
+		start(100, 2);
+		MockHttpServletResponse oldest = open(1L, null);
+		open(1L, null);
+		open(1L, null);
+		assertEquals(2, feed.size());
+
+		await(oldest, "event:ready");
+		feed.publish(1L, added(7));
+		Thread.sleep(200);
+		assertFalse(oldest.getContentAsString().contains("\"tmdbId\":7"));
+	}
+
+	@Test
+	void feedsMayNotTakeMostOfTheServersConnections() {
+		feed = new ListChangeFeed(100, 1000, 64, 2, 5000, Duration.ofMinutes(1), Duration.ofMinutes(1), 10000);
+		IllegalStateException e = assertThrows(IllegalStateException.class, () ->
+				new ListChangeFeed(100, 1000, 64, 2, 5001, Duration.ofMinutes(1), Duration.ofMinutes(1), 10000));
+		assertTrue(e.getMessage().contains("server.tomcat.max-connections"));
+	}
+
+	private void start(int replaySize, int maxPerUser) {
+		start(replaySize, 100_000, maxPerUser);
+	}
+
+	private void start(int replaySize, int replayMaxItems, int maxPerUser) {
+		feed = new ListChangeFeed(replaySize, replayMaxItems, 64, maxPerUser, 100, Duration.ofMinutes(1), Duration.ofMinutes(1), 10000);
+		mvc = MockMvcBuilders.standaloneSetup(new FeedController(feed)).build();
+	}
+
+	private MockHttpServletResponse open(Long userId, String lastEventId) throws Exception {
+		var builder = get("/events/{userId}", userId);
+		if (lastEventId != null) {
+			builder.header("Last-Event-ID", lastEventId);
+		}
+		return mvc.perform(builder).andExpect(request().asyncStarted()).andReturn().getResponse();
+	}
+
+	private static ListChange added(long... tmdbIds) {
+		List<UserListItem> items = LongStream.of(tmdbIds)
+				.mapToObj(tmdbId -> new UserListItem(tmdbId, "Movie " + tmdbId, null, null, null))
+				.toList();
+		return new ListChange("movie", "watchlist", items, List.of());
+	}
+
+	// Events are written by the feed's sender threads
+	private static void await(MockHttpServletResponse response, String fragment) throws Exception {
+		long deadline = System.nanoTime() + 5_000_000_000L;
+		while (!response.getContentAsString().contains(fragment)) {
+			assertTrue(System.nanoTime() < deadline, "no " + fragment + " in: " + response.getContentAsString());
+			Thread.sleep(10);
+		}
+	}
+
+	// The id of the first event containing "fragment"
+	private static String idOf(MockHttpServletResponse response, String fragment) throws Exception {
+		for (String event : response.getContentAsString().split("\n\n")) {
+			if (event.contains(fragment)) {
+				for (String line : event.split("\n")) {
+					if (line.startsWith("id:")) {
+						return line.substring(3);
+					}
+				}
+			}
+		}
+		throw new AssertionError("no event with " + fragment);
+	}
+
+	@RestController
+	static class FeedController {
+		private final ListChangeFeed feed;
+
+		FeedController(ListChangeFeed feed) {
+			this.feed = feed;
+		}
+
+		@GetMapping("/events/{userId}")
+		SseEmitter events(@PathVariable Long userId,
+						  @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+			return feed.subscribe(userId, lastEventId);
+		}
+	}
+}
@@ -0,0 +1,52 @@
+package com.ma.movie_tracker_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongIntHashMapTests {
+
+	@Test
+	void countsDropOutWhenTheyReachZero() {
+		LongIntHashMap map = new LongIntHashMap();
+		assertEquals(2, map.addTo(7, 2));
+		assertEquals(1, map.addTo(7, -1));
+		assertEquals(0, map.addTo(7, -1));
+		assertEquals(0, map.size());
+		assertEquals(0, map.get(7));
+	}
+
+	@Test
+	void behavesLikeAHashMapUnderRandomUpdates() {
+		Random random = new Random(7);
+		LongIntHashMap map = new LongIntHashMap();
+		Map<Long, Integer> expected = new HashMap<>();
+
+		for (int i = 0; i < 200_000; i++) {
+			// Few distinct keys, so entries are removed and re-added often (collisions included)
+			long key = 1 + random.nextInt(2_000) * 1024L;
+			int delta = random.nextInt(3) - 1;
+			int value = map.addTo(key, delta);
+			Integer now = expected.merge(key, delta, Integer::sum);
+			if (now == 0) {
+				expected.remove(key);
+			}
+			assertEquals(now, value);
+		}
+
+		assertEquals(expected.size(), map.size());
+		expected.forEach((key, value) -> assertEquals(value, map.get(key)));
+		Map<Long, Integer> seen = new HashMap<>();
+		map.forEach(seen::put);
+		assertEquals(expected, seen);
+	}
+
+	@Test
+	void zeroIsNotAKey() {
+		assertThrows(IllegalArgumentException.class, () -> new LongIntHashMap().addTo(0, 1));
+	}
+}
@@ -0,0 +1,126 @@
+package com.ma.movie_tracker_app.service;
+
+import com.ma.movie_tracker_app.service.PasswordHasher.HashingBusyException;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PasswordHasherTests {
+
+	@Test
+	void hashesAreSaltedAndVerify() {
+		PasswordHasher hasher = new PasswordHasher(4, 1, 8, Duration.ofSeconds(5));
+		try {
+			String first = hasher.hash("secret");
+			String second = hasher.hash("secret");
+			assertNotEquals(first, second);
+			assertTrue(hasher.matches("secret", first));
+			assertFalse(hasher.matches("wrong", first));
+			assertFalse(hasher.matches(null, first));
+			assertFalse(hasher.needsRehash(first));
+		} finally {
+			hasher.shutdown();
+		}
+	}
+
+	@Test
+	void plaintextAndWeakerHashesAreFlaggedForRehash() {
+		PasswordHasher weak = new PasswordHasher(4, 1, 8, Duration.ofSeconds(5));
+		PasswordHasher strong = new PasswordHasher(5, 1, 8, Duration.ofSeconds(5));
+		try {
+			assertTrue(strong.matches("secret", "secret"));
+			assertFalse(strong.matches("secret", "Secret"));
+			assertTrue(strong.needsRehash("secret"));
+
+			String weakHash = weak.hash("secret");
+			assertTrue(strong.matches("secret", weakHash));
+			assertTrue(strong.needsRehash(weakHash));
+		} finally {
+			weak.shutdown();
+			strong.shutdown();
+		}
+	}
+
+	@Test
+	void missingOrPlaintextPasswordsCostABcryptCheckToo() {
+		PasswordHasher hasher = new PasswordHasher(10, 1, 8, Duration.ofSeconds(30));
+		try {
+			String hash = hasher.hash("secret");
+			assertFalse(hasher.matches("secret", null));
+			assertFalse(hasher.matches(null, null));
+
+			// Fastest of a few runs each, so a slow CI machine doesn't skew one side
+			long real = fastest(() -> hasher.matches("wrong", hash));
+			long unknownUser = fastest(() -> hasher.matches("wrong", null));
+			long plaintext = fastest(() -> hasher.matches("wrong", "secret"));
+			assertTrue(unknownUser * 4 > real, unknownUser + " ns vs " + real + " ns");
+			assertTrue(plaintext * 4 > real, plaintext + " ns vs " + real + " ns");
+		} finally {
+			hasher.shutdown();
+		}
+	}
+
+	private static long fastest(Runnable check) {
+		long best = Long.MAX_VALUE;
+		for (int i = 0; i < 3; i++) {
+			long start = System.nanoTime();
+			check.run();
+			best = Math.min(best, System.nanoTime() - start);
+		}
+		return best;
+	}
+
+	@Test
+	void saturatedPoolFailsFastInsteadOfQueueing() throws Exception {
+		// One thread + one queue slot: of 6 simultaneous slow hashes at most 2 can be accepted
+		PasswordHasher hasher = new PasswordHasher(12, 1, 1, Duration.ofSeconds(30));
+		ExecutorService callers = Executors.newFixedThreadPool(6);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 6; i++) {
+				results.add(callers.submit(() -> {
+					start.await();
+					return hasher.hash("secret");
+				}));
+			}
+			start.countDown();
+
+			int busy = 0;
+			List<String> hashes = new ArrayList<>();
+			for (Future<String> result : results) {
+				try {
+					hashes.add(result.get(30, TimeUnit.SECONDS));
+				} catch (ExecutionException e) {
+					assertInstanceOf(HashingBusyException.class, e.getCause());
+					busy++;
+				}
+			}
+			assertTrue(busy >= 4, "expected rejected callers, got " + busy);
+			assertFalse(hashes.isEmpty());
+			for (String hash : hashes) {
+				assertTrue(hasher.matches("secret", hash));
+			}
+		} finally {
+			callers.shutdownNow();
+			hasher.shutdown();
+		}
+	}
+
+	@Test
+	void callersStopWaitingAfterTheTimeout() {
+		PasswordHasher hasher = new PasswordHasher(16, 1, 1, Duration.ofMillis(50));
+		try {
+			long start = System.nanoTime();
+			assertThrows(HashingBusyException.class, () -> hasher.hash("secret"));
+			assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 2000);
+		} finally {
+			hasher.shutdown();
+		}
+	}
+}
@@ -0,0 +1,109 @@
+package com.ma.movie_tracker_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTests {
+
+	private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+	@Test
+	void burstThenRefillAtTheConfiguredRate() {
+		RateLimiter limiter = new RateLimiter(3, 2.0, 100, now::get);
+
+		for (int i = 0; i < 3; i++) {
+			assertTrue(limiter.tryAcquire("ip").allowed());
+		}
+		RateLimiter.Decision rejected = limiter.tryAcquire("ip");
+		assertFalse(rejected.allowed());
+		assertEquals(500, rejected.retryAfterMillis());
+
+		// Other keys have their own bucket
+		assertTrue(limiter.tryAcquire("other").allowed());
+
+		// 2 per second → one new token every 500 ms
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+		assertTrue(limiter.tryAcquire("ip").allowed());
+		assertFalse(limiter.tryAcquire("ip").allowed());
+
+		// A long pause refills the bucket, but never beyond its capacity
+		now.addAndGet(TimeUnit.MINUTES.toNanos(1));
+		for (int i = 0; i < 3; i++) {
+			assertTrue(limiter.tryAcquire("ip").allowed());
+		}
+		assertFalse(limiter.tryAcquire("ip").allowed());
+	}
+
+	@Test
+	void idleKeysAreEvictedAndMemoryStaysBounded() {
+		RateLimiter limiter = new RateLimiter(1, 1.0, 2, now::get);
+		assertTrue(limiter.tryAcquire("a").allowed());
+		assertTrue(limiter.tryAcquire("b").allowed());
+		assertEquals(2, limiter.size());
+
+		// Once "a" and "b" have refilled they are dropped to make room
+		now.addAndGet(TimeUnit.SECONDS.toNanos(2));
+		assertTrue(limiter.tryAcquire("c").allowed());
+		assertEquals(1, limiter.size());
+	}
+
+	@Test
+	void whenNobodyIsIdleTheLeastRecentlyUsedKeyIsEvicted() {
+		RateLimiter limiter = new RateLimiter(1, 1.0, 2, now::get);
+		assertTrue(limiter.tryAcquire("a").allowed());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+		assertTrue(limiter.tryAcquire("b").allowed());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+		// "a" comes back (rejected, but that still counts as use), so "b" is now the oldest
+		assertFalse(limiter.tryAcquire("a").allowed());
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+
+		// New keys get a bucket of their own instead of sharing one
+		assertTrue(limiter.tryAcquire("c").allowed());
+		assertEquals(2, limiter.size());
+		assertFalse(limiter.tryAcquire("a").allowed(), "a's bucket was kept");
+		assertFalse(limiter.tryAcquire("c").allowed());
+
+		// "b" was evicted, so it starts over with a full bucket (evicting the oldest, "a")
+		now.addAndGet(TimeUnit.MILLISECONDS.toNanos(10));
+		assertTrue(limiter.tryAcquire("b").allowed());
+		assertEquals(2, limiter.size());
+		assertFalse(limiter.tryAcquire("c").allowed(), "c's bucket was kept");
+	}
+
+	@Test
+	void concurrentCallersNeverExceedTheBurst() throws Exception {
+		RateLimiter limiter = new RateLimiter(50, 0.001, 100, now::get);
+		AtomicInteger allowed = new AtomicInteger();
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		try {
+			CountDownLatch start = new CountDownLatch(1);
+			List<Future<?>> calls = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				calls.add(pool.submit(() -> {
+					start.await();
+					for (int j = 0; j < 100; j++) {
+						if (limiter.tryAcquire("shared").allowed()) {
+							allowed.incrementAndGet();
+						}
+					}
+					return null;
+				}));
+			}
+			start.countDown();
+			for (Future<?> call : calls) {
+				call.get(10, TimeUnit.SECONDS);
+			}
+			assertEquals(50, allowed.get());
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+}
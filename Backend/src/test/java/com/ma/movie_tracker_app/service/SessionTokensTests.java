@@ -0,0 +1,97 @@
+package com.ma.movie_tracker_app.service;
+
+import com.ma.movie_tracker_app.model.User;
+import com.ma.movie_tracker_app.service.SessionTokens.TokenUser;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+
+import jakarta.servlet.http.Cookie;
+import java.lang.reflect.Field;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionTokensTests {
+
+	private static final String OLD = "k1:" + secret('a');
+	private static final String NEW = "k2:" + secret('b');
+	private static final Clock NOW = Clock.fixed(Instant.parse("2024-01-01T00:00:00Z"), ZoneOffset.UTC);
+
+	@Test
+	void issuedTokensVerifyToTheirUser() throws Exception {
+		SessionTokens tokens = new SessionTokens("token", OLD, Duration.ofHours(1), NOW);
+		String token = tokens.issue(user(17L, "ana.maria"));
+
+		assertEquals(new TokenUser(17L, "ana.maria"), tokens.verify(token));
+		assertTrue(token.startsWith("k1.17."));
+	}
+
+	@Test
+	void tamperedOrExpiredTokensAreRejected() throws Exception {
+		SessionTokens tokens = new SessionTokens("token", OLD, Duration.ofHours(1), NOW);
+		String token = tokens.issue(user(17L, "ana"));
+
+		assertNull(tokens.verify(token.replace("k1.17.", "k1.18.")));
+		assertNull(tokens.verify(token.substring(0, token.length() - 2)));
+		assertNull(tokens.verify("garbage"));
+		assertNull(tokens.verify(null));
+
+		SessionTokens later = new SessionTokens("token", OLD, Duration.ofHours(1),
+				Clock.offset(NOW, Duration.ofHours(2)));
+		assertNull(later.verify(token));
+	}
+
+	@Test
+	void rotatedKeysStillVerifyUntilRemoved() throws Exception {
+		String oldToken = new SessionTokens("token", OLD, Duration.ofHours(1), NOW).issue(user(1L, "u"));
+
+		SessionTokens rotated = new SessionTokens("token", NEW + "," + OLD, Duration.ofHours(1), NOW);
+		assertEquals(new TokenUser(1L, "u"), rotated.verify(oldToken));
+		assertTrue(rotated.issue(user(1L, "u")).startsWith("k2."));
+
+		SessionTokens retired = new SessionTokens("token", NEW, Duration.ofHours(1), NOW);
+		assertNull(retired.verify(oldToken));
+	}
+
+	@Test
+	void requestsAuthenticateWithBearerHeaderOrCookieOnlyInTokenMode() throws Exception {
+		SessionTokens tokens = new SessionTokens("token", OLD, Duration.ofHours(1), NOW);
+		String token = tokens.issue(user(5L, "u"));
+
+		MockHttpServletRequest bearer = new MockHttpServletRequest();
+		bearer.addHeader("Authorization", "Bearer " + token);
+		assertEquals(5L, tokens.authenticate(bearer).userId());
+
+		MockHttpServletRequest cookie = new MockHttpServletRequest();
+		cookie.setCookies(new Cookie(SessionTokens.COOKIE, token));
+		assertEquals(5L, tokens.authenticate(cookie).userId());
+
+		SessionTokens sessionMode = new SessionTokens("session", OLD, Duration.ofHours(1), NOW);
+		assertNull(sessionMode.authenticate(cookie));
+	}
+
+	@Test
+	void tokenModeNeedsAStrongKey() {
+		assertThrows(IllegalStateException.class, () -> new SessionTokens("token", "", Duration.ofHours(1), NOW));
+		assertThrows(IllegalStateException.class, () -> new SessionTokens("token",
+				"short:" + Base64.getEncoder().encodeToString(new byte[8]), Duration.ofHours(1), NOW));
+		assertFalse(new SessionTokens("session", "", Duration.ofHours(1), NOW).enabled());
+	}
+
+	private static String secret(char fill) {
+		return Base64.getEncoder().encodeToString(String.valueOf(fill).repeat(32).getBytes());
+	}
+
+	private static User user(Long id, String username) throws Exception {
+		User user = new User();
+		user.setUsername(username);
+		Field field = User.class.getDeclaredField("id");
+		field.setAccessible(true);
+		field.set(user, id);
+		return user;
+	}
+}
@@ -0,0 +1,93 @@
+package com.ma.movie_tracker_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTests {
+
+	@Test
+	void concurrentCallersForOneKeyShareOneExecution() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>();
+		AtomicInteger executions = new AtomicInteger();
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(16);
+		try {
+			List<Future<String>> results = new ArrayList<>();
+			for (int i = 0; i < 16; i++) {
+				results.add(pool.submit(() -> flight.execute(42L, () -> {
+					executions.incrementAndGet();
+					try {
+						release.await();
+					} catch (InterruptedException e) {
+						throw new IllegalStateException(e);
+					}
+					return "row-42";
+				})));
+			}
+			// Hold the leader until all 15 other callers have joined its call
+			long deadline = System.nanoTime() + 5_000_000_000L;
+			while (flight.followers(42L) < 15) {
+				assertTrue(System.nanoTime() < deadline, "only " + flight.followers(42L) + " callers joined");
+				Thread.sleep(5);
+			}
+			release.countDown();
+			for (Future<String> result : results) {
+				assertEquals("row-42", result.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals(1, executions.get());
+	}
+
+	@Test
+	void failureIsSharedAndNextCallStartsFresh() {
+		SingleFlight<Long, String> flight = new SingleFlight<>();
+
+		assertThrows(IllegalStateException.class, () -> flight.execute(1L, () -> {
+			throw new IllegalStateException("boom");
+		}));
+		assertEquals("ok", flight.execute(1L, () -> "ok"));
+	}
+
+	@Test
+	void errorsReachTheFollowersToo() throws Exception {
+		SingleFlight<Long, String> flight = new SingleFlight<>();
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		ExecutorService pool = Executors.newFixedThreadPool(2);
+		try {
+			Future<String> leader = pool.submit(() -> flight.execute(1L, () -> {
+				started.countDown();
+				try {
+					release.await();
+				} catch (InterruptedException e) {
+					throw new IllegalStateException(e);
+				}
+				throw new StackOverflowError("boom");
+			}));
+			assertTrue(started.await(5, TimeUnit.SECONDS));
+			Future<String> follower = pool.submit(() -> flight.execute(1L, () -> "not run"));
+			long deadline = System.nanoTime() + 5_000_000_000L;
+			while (flight.followers(1L) < 1) {
+				assertTrue(System.nanoTime() < deadline, "the follower never joined");
+				Thread.sleep(5);
+			}
+			release.countDown();
+
+			for (Future<String> call : List.of(leader, follower)) {
+				ExecutionException e = assertThrows(ExecutionException.class, () -> call.get(5, TimeUnit.SECONDS));
+				assertInstanceOf(StackOverflowError.class, e.getCause());
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+		assertEquals("ok", flight.execute(1L, () -> "ok"));
+	}
+}
@@ -0,0 +1,76 @@
+package com.ma.movie_tracker_app.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class TitleSearchIndexTests {
+
+	private record Title(Long id, String name) {}
+
+	private TitleSearchIndex<Title> index(String... names) {
+		TitleSearchIndex<Title> index = new TitleSearchIndex<>(Title::id, Title::name);
+		for (int i = 0; i < names.length; i++) {
+			index.put(new Title((long) i + 1, names[i]));
+		}
+		return index;
+	}
+
+	private static List<String> names(List<Title> titles) {
+		return titles.stream().map(Title::name).toList();
+	}
+
+	@Test
+	void prefixMatchIsCaseInsensitiveAndRanksExactFirst() {
+		TitleSearchIndex<Title> index = index("Dune: Part Two", "Dune", "Dunkirk", "The Dark Knight");
+
+		assertEquals(List.of("Dune", "Dune: Part Two"), names(index.search("DUNE", 10)));
+		assertEquals(List.of("Dune", "Dunkirk", "Dune: Part Two"), names(index.search("dun", 10)));
+	}
+
+	@Test
+	void laterWordsAreSearchable() {
+		TitleSearchIndex<Title> index = index("The Dark Knight", "Knives Out");
+
+		assertEquals(List.of("Knives Out", "The Dark Knight"), names(index.search("kn", 10)));
+	}
+
+	@Test
+	void typosStillMatch() {
+		TitleSearchIndex<Title> index = index("Inception", "Interstellar", "Amélie");
+
+		assertEquals(List.of("Inception"), names(index.search("incpetion", 10)));
+		assertEquals(List.of("Amélie"), names(index.search("amelie", 10)));
+	}
+
+	@Test
+	void reindexingReplacesTheOldTitle() {
+		TitleSearchIndex<Title> index = index("Old Name");
+		index.put(new Title(1L, "New Name"));
+
+		assertTrue(index.search("old", 10).isEmpty());
+		assertEquals(List.of("New Name"), names(index.search("new", 10)));
+		assertEquals(1, index.size());
+	}
+
+	@Test
+	void shortQueryOnALargeCatalogReturnsTheBestMatchesFirst() {
+		TitleSearchIndex<Title> index = new TitleSearchIndex<>(Title::id, Title::name);
+		long id = 1;
+		for (int i = 0; i < 20_000; i++) {
+			index.put(new Title(id++, "Movie " + i));
+			index.put(new Title(id++, "A Movie Sequel " + i));
+		}
+		index.put(new Title(id++, "M"));
+		index.put(new Title(id++, "Mo"));
+		index.put(new Title(id, "I M"));
+
+		// Exact, then title prefixes shortest first, then later words; never more than the limit
+		assertEquals(List.of("M", "Mo", "Movie 0", "Movie 1", "Movie 2"), names(index.search("m", 5)));
+		assertEquals(List.of("I M", "A Movie Sequel 0"),
+				names(index.search("m", 20_004)).subList(20_002, 20_004));
+		assertEquals(List.of("Movie 19999"), names(index.search("movie 19999", 1)));
+	}
+}
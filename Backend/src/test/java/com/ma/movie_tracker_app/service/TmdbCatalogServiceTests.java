@@ -0,0 +1,157 @@
+package com.ma.movie_tracker_app.service;
+
+import com.ma.movie_tracker_app.controller.CatalogController;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Runs the TMDB proxy against a local stub HTTP server instead of the real TMDB
+class TmdbCatalogServiceTests {
+
+	private HttpServer stub;
+	private final AtomicInteger hits = new AtomicInteger();
+
+	@BeforeEach
+	void startStub() throws Exception {
+		stub = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		stub.createContext("/", exchange -> {
+			hits.incrementAndGet();
+			int status = exchange.getRequestURI().getPath().startsWith("/missing") ? 404 : 200;
+			byte[] body = ("{\"path\":\"" + exchange.getRequestURI() + "\"}").getBytes(StandardCharsets.UTF_8);
+			exchange.sendResponseHeaders(status, body.length);
+			try (OutputStream out = exchange.getResponseBody()) {
+				out.write(body);
+			}
+		});
+		stub.start();
+	}
+
+	@AfterEach
+	void stopStub() {
+		stub.stop(0);
+	}
+
+	private TmdbCatalogService service(CatalogCache cache, Duration ttl) {
+		String baseUrl = "http://127.0.0.1:" + stub.getAddress().getPort();
+		return new TmdbCatalogService(cache, baseUrl, "test-key", ttl, ttl, ttl, ttl);
+	}
+
+	@Test
+	void repeatedFetchIsServedFromCache() {
+		TmdbCatalogService service = service(new CatalogCache(10, ""), Duration.ofMinutes(5));
+
+		String first = service.fetch(TmdbCatalogService.Endpoint.TRENDING, "/trending/movie/week", Map.of("page", "1"));
+		String second = service.fetch(TmdbCatalogService.Endpoint.TRENDING, "/trending/movie/week", Map.of("page", "1"));
+
+		assertEquals(first, second);
+		assertTrue(first.contains("api_key=test-key"));
+		assertEquals(1, hits.get());
+	}
+
+	@Test
+	void expiredEntryIsFetchedAgain() {
+		TmdbCatalogService service = service(new CatalogCache(10, ""), Duration.ZERO);
+
+		service.fetch(TmdbCatalogService.Endpoint.POPULAR, "/movie/popular", Map.of("page", "1"));
+		service.fetch(TmdbCatalogService.Endpoint.POPULAR, "/movie/popular", Map.of("page", "1"));
+
+		assertEquals(2, hits.get());
+	}
+
+	@Test
+	void leastRecentlyUsedEntryIsEvicted() {
+		CatalogCache cache = new CatalogCache(2, "");
+		TmdbCatalogService service = service(cache, Duration.ofMinutes(5));
+
+		service.fetch(TmdbCatalogService.Endpoint.POPULAR, "/movie/popular", Map.of("page", "1"));
+		service.fetch(TmdbCatalogService.Endpoint.POPULAR, "/movie/popular", Map.of("page", "2"));
+		service.fetch(TmdbCatalogService.Endpoint.POPULAR, "/movie/popular", Map.of("page", "3"));
+		service.fetch(TmdbCatalogService.Endpoint.POPULAR, "/movie/popular", Map.of("page", "1"));
+
+		assertEquals(2, cache.size());
+		assertEquals(4, hits.get());
+	}
+
+	@Test
+	void diskTierSurvivesRestart(@TempDir Path dir) {
+		service(new CatalogCache(10, dir.toString()), Duration.ofMinutes(5))
+				.fetch(TmdbCatalogService.Endpoint.TOP_RATED, "/tv/top_rated", Map.of("page", "1"));
+
+		// A fresh cache over the same directory behaves like the app after a restart
+		service(new CatalogCache(10, dir.toString()), Duration.ofMinutes(5))
+				.fetch(TmdbCatalogService.Endpoint.TOP_RATED, "/tv/top_rated", Map.of("page", "1"));
+
+		assertEquals(1, hits.get());
+	}
+
+	@Test
+	void upstreamErrorsAreNotCached() {
+		TmdbCatalogService service = service(new CatalogCache(10, ""), Duration.ofMinutes(5));
+
+		for (int i = 0; i < 2; i++) {
+			TmdbCatalogService.UpstreamException e = assertThrows(TmdbCatalogService.UpstreamException.class,
+					() -> service.fetch(TmdbCatalogService.Endpoint.SEARCH, "/missing", Map.of()));
+			assertEquals(404, e.getStatus());
+		}
+		assertEquals(2, hits.get());
+	}
+
+	@Test
+	void diskTierKeepsAtMostMaxFiles(@TempDir Path dir) throws Exception {
+		CatalogCache cache = new CatalogCache(100, dir.toString(), 10, Duration.ofHours(1));
+		try {
+			for (int page = 1; page <= 30; page++) {
+				cache.put("/movie/popular?page=" + page, "{}", Duration.ofMinutes(5));
+				Thread.sleep(5); // distinct modification times
+			}
+			cache.put("/expired", "{}", Duration.ZERO);
+
+			// Writes over the limit already queued a cleanup; run one more to be sure it's done
+			cache.cleanUpDisk();
+			try (var files = Files.list(dir)) {
+				long count = files.count();
+				assertTrue(count <= 10, count + " files");
+				assertEquals(count, cache.diskSize());
+			}
+
+			// The most recently written entries are the ones kept
+			cache.clearMemory();
+			assertNotNull(cache.get("/movie/popular?page=30"));
+			assertNull(cache.get("/movie/popular?page=1"));
+		} finally {
+			// Waits for a sweep still running, before @TempDir deletes the directory
+			cache.shutdown();
+		}
+	}
+
+	@Test
+	void pagesOutsideTmdbsRangeAreRejected() throws Exception {
+		CatalogController controller = new CatalogController();
+		ReflectionTestUtils.setField(controller, "catalogService", service(new CatalogCache(10, ""), Duration.ofMinutes(5)));
+		MockMvc mvc = MockMvcBuilders.standaloneSetup(controller).build();
+
+		mvc.perform(get("/api/catalog/movie/popular").param("page", "0")).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/catalog/movie/popular").param("page", "501")).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/catalog/search/movie").param("query", "x".repeat(101))).andExpect(status().isBadRequest());
+		mvc.perform(get("/api/catalog/trending/movie/week").param("page", "500")).andExpect(status().isOk());
+		assertEquals(1, hits.get());
+	}
+}
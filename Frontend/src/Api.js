@@ -48,6 +48,7 @@ export function userLogin(username, password) { // Log in an existing user
 }
 
 export function userLogout() { // Log out current user
+    invalidateLibrary(); // Don't keep the previous user's lists around
     return fetchApi(`${USER_URL}/logout`, "POST"); // Calls POST /api/user/logout
 }
 
@@ -58,10 +59,11 @@ export function fetchMe() { // Fetch information about the currently logged in u
 // Movies
 /**
  * @param {string} title - optional search term
+ * @param {string} cursor - optional nextCursor from the previous page (only used without a title)
  */
-export function fetchMovies(title = "") { // Fetch movies from the backend, optionally filtred by title
+export function fetchMovies(title = "", cursor = "") { // Fetch movies from the backend, optionally filtred by title
     // Build URL differently depending on whether title is provided
-    const url = title ? `${URL}/movies?title=${encodeURIComponent(title)}` : `${URL}/movies`; // If searching, add ?title= query parameter and if there is no title, fetch all movies
+    const url = title ? `${URL}/movies?title=${encodeURIComponent(title)}` : `${URL}/movies${cursor ? `?cursor=${encodeURIComponent(cursor)}` : ""}`; // If searching, add ?title= query parameter and if there is no title, fetch one page of movies ({items, nextCursor})
     return fetchApi(url); // Make GET request
 }
 /**
@@ -72,9 +74,9 @@ export function addMovie(object) { // Add a new movie to the backend
 }
 
 // Shows
-export function fetchShows(title = "") { // Fetch shows from the backend, optionally filtred by title
-    // Build URL depending on if title provided
-    const url = title ? `${URL}/shows?title=${encodeURIComponent(title)}` : `${URL}/shows`; // EncodeURIComponent ensures safe query string
+export function fetchShows(title = "", cursor = "") { // Fetch shows from the backend, optionally filtred by title
+    // Build URL depending on if title provided (without a title the backend returns one page: {items, nextCursor})
+    const url = title ? `${URL}/shows?title=${encodeURIComponent(title)}` : `${URL}/shows${cursor ? `?cursor=${encodeURIComponent(cursor)}` : ""}`; // EncodeURIComponent ensures safe query string
     return fetchApi(url); // Make GET request
 }
 export function addShow(object) { // Add a new show to backend
@@ -93,24 +95,137 @@ export function addShow(object) { // Add a new show to backend
  */
 
 export function addMovieList(username, tmdbId, type, entertainementObject) {
-    return fetchApi(`${URL}/user/movielist/${type}/add`, "POST", {username, tmdbId, type, ...entertainementObject,}); // POST /api/user/movielist/{type}/add and spread operator merges all fields
+    return fetchApi(`${URL}/user/movielist/${type}/add`, "POST", {username, tmdbId, type, ...entertainementObject,}) // POST /api/user/movielist/{type}/add and spread operator merges all fields
+        .then(afterListChange); // The cached library is now stale
 }
 // Reemove a movie from user's list
 export function removeMovieList(username, tmdbId, type) {
-    return fetchApi(`${URL}/user/movielist/${type}/remove`, "POST", {username, tmdbId, type}); // POST /api/user/movielist/{type}/remove
+    return fetchApi(`${URL}/user/movielist/${type}/remove`, "POST", {username, tmdbId, type}) // POST /api/user/movielist/{type}/remove
+        .then(afterListChange);
 }
 // Fetch movies from a user's list
 export function fetchMovieList(username, type) {
-    return fetchApi(`${URL}/user/movielist/${type}?username=${encodeURIComponent(username)}`); // GET /api/user/movielist/{type}?username=user
+    return fetchApi(`${URL}/user/movielist/${type}?username=${encodeURIComponent(username)}`) // GET /api/user/movielist/{type}?username=user
+        .then(items => items.map(movie => ({id: `movie-${movie.tmdbId}`, movie}))); // Backend returns compact items; wrap as {id, movie} for the list pages
+}
+// Add and/or remove many movies in one request (adds = array of movie objects with tmdbId, removes = array of tmdbIds)
+export function bulkMovieList(username, type, adds = [], removes = []) {
+    return fetchApi(`${URL}/user/movielist/${type}/bulk`, "POST", {username, add: adds, remove: removes}) // POST /api/user/movielist/{type}/bulk
+        .then(afterListChange);
 }
 
 // Add a show to user's list
 export function addShowList(username, tmdbId, type, entertainementObject) {
-    return fetchApi(`${URL}/user/showlist/${type}/add`, "POST", {username, tmdbId, type, ...entertainementObject,}); // POST /api/user/showlist/{type}/add
+    return fetchApi(`${URL}/user/showlist/${type}/add`, "POST", {username, tmdbId, type, ...entertainementObject,}) // POST /api/user/showlist/{type}/add
+        .then(afterListChange);
 }
 export function removeShowList(username, tmdbId, type) { // Remove a show from user's list
-    return fetchApi(`${URL}/user/showlist/${type}/remove`, "POST", {username, tmdbId, type}); // POST /api/user/showlist/{type}/remove
+    return fetchApi(`${URL}/user/showlist/${type}/remove`, "POST", {username, tmdbId, type}) // POST /api/user/showlist/{type}/remove
+        .then(afterListChange);
 }
 export function fetchShowList(username, type) { // Fetch shows from a user's list
-    return fetchApi(`${URL}/user/showlist/${type}?username=${encodeURIComponent(username)}`); // GET /api/user/showlist/{type}?username=user
-}
\ No newline at end of file
+    return fetchApi(`${URL}/user/showlist/${type}?username=${encodeURIComponent(username)}`) // GET /api/user/showlist/{type}?username=user
+        .then(items => items.map(show => ({id: `show-${show.tmdbId}`, show}))); // Wrap compact items as {id, show} for the list pages
+}
+export function bulkShowList(username, type, adds = [], removes = []) { // Add and/or remove many shows in one request
+    return fetchApi(`${URL}/user/showlist/${type}/bulk`, "POST", {username, add: adds, remove: removes}) // POST /api/user/showlist/{type}/bulk
+        .then(afterListChange);
+}
+
+// Whole library (all list types, movies + shows) in ONE request
+// The last copy is kept per username together with its ETag, but every call still asks the backend
+// (If-None-Match): when nothing changed — in this tab, another tab or another device — the answer is an
+// empty 304 and the kept copy is reused. Without an ETag (lists.etag.enabled off) nothing is kept.
+let libraryCache = null; // {username, etag, library}
+let libraryGeneration = 0; // Bumped by invalidateLibrary, so a fetch that started before a change isn't kept
+
+export async function fetchLibrary(username) {
+    const generation = libraryGeneration;
+    const cached = libraryCache && libraryCache.username === username ? libraryCache : null;
+    const response = await fetch(`${USER_URL}/library?username=${encodeURIComponent(username)}`, { // GET /api/user/library?username=user
+        headers: cached ? {"If-None-Match": cached.etag} : {},
+        credentials: "include",
+        cache: "no-store", // We revalidate ourselves; the browser's HTTP cache stays out of it
+    });
+    if (response.status === 304 && cached) {
+        return cached.library; // Unchanged since our copy
+    }
+    if (!response.ok) {
+        throw new Error(await response.text());
+    }
+    const body = await response.json();
+    const library = {
+        movies: wrapLists(body.movies, "movie"), // Same {id, movie} shape as fetchMovieList
+        shows: wrapLists(body.shows, "show"),    // Same {id, show} shape as fetchShowList
+    };
+    const etag = response.headers.get("ETag");
+    if (etag && generation === libraryGeneration) {
+        libraryCache = {username, etag, library};
+    }
+    return library;
+}
+
+// Live changes to the user's lists (Server-Sent Events, GET /api/user/library/events), made here, in
+// another tab or on another device. Each "change" is applied to the kept library and onLibrary gets
+// the updated copy, so open list pages stay current without refetching. A "reset" (changes missed that
+// couldn't be replayed) fetches the library again. EventSource reconnects by itself (sending the last
+// event id, so nothing is missed). Returns a function that closes the feed.
+export function subscribeLibrary(username, onLibrary) {
+    const source = new EventSource(`${USER_URL}/library/events?username=${encodeURIComponent(username)}`, {withCredentials: true});
+    const refetch = () => fetchLibrary(username).then(onLibrary).catch(() => {}); // Keep what's shown on errors
+
+    source.addEventListener("change", event => {
+        if (!libraryCache || libraryCache.username !== username) {
+            refetch(); // Nothing kept to apply it to (e.g. ETags are off)
+            return;
+        }
+        // The kept ETag is now outdated, so the next fetchLibrary still downloads the real thing
+        libraryCache = {...libraryCache, library: applyChange(libraryCache.library, JSON.parse(event.data))};
+        onLibrary(libraryCache.library);
+    });
+    source.addEventListener("reset", () => {
+        invalidateLibrary();
+        refetch();
+    });
+    return () => source.close();
+}
+
+// Items of one list type, filtered like the list pages do ("All", "Movies", "TV Shows")
+export function libraryItems(library, type, filterType = "All") {
+    const movies = library.movies[type] || [];
+    const shows = library.shows[type] || [];
+    if (filterType === "Movies") return movies;
+    if (filterType === "TV Shows") return shows;
+    return [...movies, ...shows];
+}
+
+export function invalidateLibrary() { // Forget the cached library (next fetchLibrary downloads it again)
+    libraryCache = null;
+    libraryGeneration++; // A fetch still in flight may carry the old lists: don't keep its result
+}
+
+function afterListChange(response) { // Used after add/remove/bulk: drop the stale library, pass the response through
+    invalidateLibrary();
+    return response;
+}
+
+function applyChange(library, change) { // ListChange {kind, type, added, removed} → a new library object
+    const key = change.kind === "movie" ? "movies" : "shows";
+    const removed = new Set(change.removed);
+    const items = (library[key][change.type] || []).filter(entry => !removed.has(entry[change.kind].tmdbId));
+    const present = new Set(items.map(entry => entry[change.kind].tmdbId));
+    for (const item of change.added) {
+        if (!present.has(item.tmdbId)) { // Our own adds may already be in the list we fetched
+            items.push({id: `${change.kind}-${item.tmdbId}`, [change.kind]: item});
+        }
+    }
+    return {...library, [key]: {...library[key], [change.type]: items}};
+}
+
+function wrapLists(lists, kind) { // {type: [item...]} → {type: [{id, movie|show: item}...]}
+    const wrapped = {};
+    for (const [type, items] of Object.entries(lists || {})) {
+        wrapped[type] = items.map(item => ({id: `${kind}-${item.tmdbId}`, [kind]: item}));
+    }
+    return wrapped;
+}
@@ -4,7 +4,7 @@
 import React, {useState, useEffect} from "react";
 
 // Import backend API helpers to fetch/remove items from the user's lists
-import { fetchMovieList, fetchShowList, removeMovieList, removeShowList} from "../Api";
+import { fetchLibrary, libraryItems, removeMovieList, removeShowList, subscribeLibrary} from "../Api";
 
 // Import the card UI component that renders one item and exposes add/remove buttons
 import MediaCard from "./MediaCard";
@@ -29,24 +29,10 @@ function UserFavourites({username}) {
         // Define an async loader so we can use await
         async function load() {
             try {
-                // When filter is "All", fetch movies and shows in parallel
-                if (filterType === "All") {
-                    // Promise.all runs both requests simultaneously for speed
-                    const [m, s] = await Promise.all([
-                        fetchMovieList(username, "favourites"), // User's favourite MOVIES
-                        fetchShowList(username, "favourites"),  // User's favourite TV SHOWS
-                    ]);
-                    // Merge the arrays (fallback to empty arrays if either is null/undefined)
-                    setFavourites([...(m || []), ...(s || [])]);
-                // When filter is "Movies" only, fetch just favourite movies
-                } else if (filterType === "Movies") {
-                    const m = await fetchMovieList(username, "favourites");
-                    setFavourites(m || []);
-                // Otherwise, "TV Shows": fetch just favourite shows
-                } else {
-                    const s = await fetchShowList(username, "favourites");
-                    setFavourites(s || []);
-                }
+                // One request for the whole library (a cheap 304 when nothing changed),
+                // then pick this page's list for the current filter
+                const library = await fetchLibrary(username);
+                setFavourites(libraryItems(library, "favourites", filterType));
             } catch {
                 // On any error (network, server), show a safe empty list
                 setFavourites([]);
@@ -56,6 +42,14 @@ function UserFavourites({username}) {
         // Execute the loader
         load();
     }, [username, filterType]); // Re-run when username changes (login/logout) or the filter changes
+
+    // Live updates: changes made in other tabs or on other devices show up while this page is open
+    useEffect(() => {
+        if (!username) {
+            return;
+        }
+        return subscribeLibrary(username, library => setFavourites(libraryItems(library, "favourites", filterType))); // Closes the feed on leave
+    }, [username, filterType]);
         
 
     // Handle removing an item (movie or show) from favourites
@@ -77,21 +71,9 @@ function UserFavourites({username}) {
             : removeShowList(username, tmdbId, "favourites"); // Remove SHOW from favourites
 
         // After the removal API resolves, refresh the list according to current filter
-        remove.then(() => {
-            if (filterType === "All") {
-                // Re-fetch both lists and merge again
-                Promise.all([
-                    fetchMovieList(username, "favourites"),
-                    fetchShowList(username, "favourites"),
-                ]).then(([m, s]) => setFavourites([...(m || []), ...(s || [])]));
-            } else if (filterType === "Movies") {
-                // Re-fetch just movies
-                fetchMovieList(username, "favourites").then(m => setFavourites(m || []));
-            } else {
-                // Re-fetch just shows
-                fetchShowList(username, "favourites").then(s => setFavourites(s || []));
-            }
-        });
+        remove
+            .then(() => fetchLibrary(username)) // The remove call invalidated the cached library → fresh copy
+            .then(library => setFavourites(libraryItems(library, "favourites", filterType)));
     }
 
     // Render the page UI
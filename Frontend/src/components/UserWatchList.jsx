@@ -6,7 +6,7 @@ import React, {useState, useEffect} from "react";
 // Import backend API helpers:
 // - fetchMovieList / fetchShowList: get items from the user's lists
 // - removeMovieList / removeShowList: remove an item from a list
-import { fetchMovieList, fetchShowList, removeMovieList, removeShowList} from "../Api";
+import { fetchLibrary, libraryItems, removeMovieList, removeShowList, subscribeLibrary} from "../Api";
 
 // Import the presentational card that displays a single movie/show with action buttons
 import MediaCard from "./MediaCard";
@@ -31,24 +31,10 @@ function UserWatchList({username}) {
         // Define an async function so we can await API calls
         async function load() {
             try {
-                // If user wants to see ALL items (movies + TV)
-                if (filterType === "All") {
-                    // Fetch both lists in parallel for speed
-                    const [m, s] = await Promise.all([
-                        fetchMovieList(username, "watchlist"), // user's movie watchlist
-                        fetchShowList(username, "watchlist"),  // user's TV watchlist
-                    ]);
-                    // Merge the arrays (fallback to empty arrays if API returns null/undefined)
-                    setWatchlist([...(m || []), ...(s || [])]);
-                // If user wants only Movies
-                } else if (filterType === "Movies") {
-                    const m = await fetchMovieList(username, "watchlist");
-                    setWatchlist(m || []);
-                // Otherwise, user wants only TV Shows
-                } else {
-                    const s = await fetchShowList(username, "watchlist");
-                    setWatchlist(s || []);
-                }
+                // One request for the whole library (a cheap 304 when nothing changed),
+                // then pick this page's list for the current filter
+                const library = await fetchLibrary(username);
+                setWatchlist(libraryItems(library, "watchlist", filterType));
             } catch {
                 // On any error (network/server), show a safe empty list
                 setWatchlist([]);
@@ -58,6 +44,14 @@ function UserWatchList({username}) {
         // Execute the loader
         load();
     }, [username, filterType]); // Re-run effect when username or filter changes
+
+    // Live updates: changes made in other tabs or on other devices show up while this page is open
+    useEffect(() => {
+        if (!username) {
+            return;
+        }
+        return subscribeLibrary(username, library => setWatchlist(libraryItems(library, "watchlist", filterType))); // Closes the feed on leave
+    }, [username, filterType]);
         
 
     // Remove an item (movie or show) from the watchlist
@@ -79,21 +73,9 @@ function UserWatchList({username}) {
             : removeShowList(username, tmdbId, "watchlist");
 
         // Once the server confirms removal, it refreshes the list matching the current filter
-        remove.then(() => {
-            if (filterType === "All") {
-                // Re-fetch both lists then merge
-                Promise.all([
-                    fetchMovieList(username, "watchlist"),
-                    fetchShowList(username, "watchlist"),
-                ]).then(([m, s]) => setWatchlist([...(m || []), ...(s || [])]));
-            } else if (filterType === "Movies") {
-                // Re-fetch just movies
-                fetchMovieList(username, "watchlist").then(m => setWatchlist(m || []));
-            } else {
-                // Re-fetch just shows
-                fetchShowList(username, "watchlist").then(s => setWatchlist(s || []));
-            }
-        });
+        remove
+            .then(() => fetchLibrary(username)) // The remove call invalidated the cached library → fresh copy
+            .then(library => setWatchlist(libraryItems(library, "watchlist", filterType)));
     }
 
     // Render the page UI
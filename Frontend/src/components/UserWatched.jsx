@@ -4,7 +4,7 @@
 import React, {useState, useEffect} from "react";
 
 // Import backend API helpers for fetching/removing watched movies/shows
-import { fetchMovieList, fetchShowList, removeMovieList, removeShowList} from "../Api";
+import { fetchLibrary, libraryItems, removeMovieList, removeShowList, subscribeLibrary} from "../Api";
 
 // Import the card UI component to render each movie/show with action buttons
 import MediaCard from "./MediaCard";
@@ -29,23 +29,10 @@ function UserWatched({username}) {
         // Async loader function
         async function load() {
             try {
-                if (filterType === "All") {
-                    // Fetch both movies and shows in parallel
-                    const [m, s] = await Promise.all([
-                        fetchMovieList(username, "watched"),
-                        fetchShowList(username, "watched"),
-                    ]);
-                    // Merge arrays
-                    setWatched([...(m || []), ...(s || [])]);
-                } else if (filterType === "Movies") {
-                    // Only movies
-                    const m = await fetchMovieList(username, "watched");
-                    setWatched(m || []);
-                } else {
-                    // Only TV shows
-                    const s = await fetchShowList(username, "watched");
-                    setWatched(s || []);
-                }
+                // One request for the whole library (a cheap 304 when nothing changed),
+                // then pick this page's list for the current filter
+                const library = await fetchLibrary(username);
+                setWatched(libraryItems(library, "watched", filterType));
             } catch {
                 // On any error (e.g., API down), clear the list safely
                 setWatched([]);
@@ -54,6 +41,14 @@ function UserWatched({username}) {
 
         load();
     }, [username, filterType]); // Runs when username logs in/out or filter changes
+
+    // Live updates: changes made in other tabs or on other devices show up while this page is open
+    useEffect(() => {
+        if (!username) {
+            return;
+        }
+        return subscribeLibrary(username, library => setWatched(libraryItems(library, "watched", filterType))); // Closes the feed on leave
+    }, [username, filterType]);
         
 
     // Handle removing an item from watched list
@@ -72,18 +67,9 @@ function UserWatched({username}) {
             : removeShowList(username, tmdbId, "watched");
 
         // Once removal completes, refresh list according to filter
-        remove.then(() => {
-            if (filterType === "All") {
-                Promise.all([
-                    fetchMovieList(username, "watched"),
-                    fetchShowList(username, "watched"),
-                ]).then(([m, s]) => setWatched([...(m || []), ...(s || [])]));
-            } else if (filterType === "Movies") {
-                fetchMovieList(username, "watched").then(m => setWatched(m || []));
-            } else {
-                fetchShowList(username, "watched").then(s => setWatched(s || []));
-            }
-        });
+        remove
+            .then(() => fetchLibrary(username)) // The remove call invalidated the cached library → fresh copy
+            .then(library => setWatched(libraryItems(library, "watched", filterType)));
     }
 
     // JSX rendering
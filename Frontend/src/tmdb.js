@@ -1,10 +1,11 @@
 // Provides functions to call The Movie Database (TMDB) API
 
-// API key is read from environment variables (must start with REACT_APP_ for create-react-app)
-const API_KEY = process.env.REACT_APP_TMDB_API_KEY;
+// TMDB requests go through our backend proxy (/api/catalog), which holds the API key
+// and caches responses, so popular pages are not fetched from TMDB by every browser.
+const API_BASE = process.env.REACT_APP_API_BASE || "http://localhost:8080";
 
-// Base URL for TMDB API requests
-const URL = "https://api.themoviedb.org/3";
+// Base URL for TMDB API requests (the backend mirrors TMDB's paths under /api/catalog)
+const URL = `${API_BASE}/api/catalog`;
 
 // Base URL for TMDB images (w500 means width = 500px)
 const IMAGE_BASE = "https://image.tmdb.org/t/p/w500";
@@ -15,22 +16,22 @@ const IMAGE_BASE = "https://image.tmdb.org/t/p/w500";
  * @param {object} queryParameters - Extra query parameters (like page, query text, etc.)
  */
 async function tmdbFetch(apiPath, queryParameters = {}) {
-    // Start building the query string by including the API key
-    let query = "?api_key=" + API_KEY;
+    // Start building the query string (the backend adds the API key)
+    let query = "";
 
     // Loops through all provided query parameters and adds them to the query string
     for (const key in queryParameters) {
         // Only adds the property if it belongs directly to the object (not inherited)
         if (queryParameters.hasOwnProperty(key)) {
             // Append key=value to the query string, ensuring both are URL-encoded
-            query += `&${encodeURIComponent(key)}=${encodeURIComponent(queryParameters[key])}`;
+            query += `${query ? "&" : "?"}${encodeURIComponent(key)}=${encodeURIComponent(queryParameters[key])}`;
         }
     }
     
     // Combine base URL, API path, and query string into the final URL
     const url = URL + apiPath + query;
 
-    // Call the TMDB API using fetch
+    // Call the backend TMDB proxy using fetch
     const response = await fetch(url);
 
     // If the response status is not OK (e.g., 401 unauthorized), throw an error